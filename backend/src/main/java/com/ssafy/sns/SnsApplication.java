@@ -7,6 +7,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -19,6 +21,8 @@ import java.util.TimeZone;
 
 @RequiredArgsConstructor
 @EnableJpaAuditing
+@EnableScheduling
+@EnableAsync
 @SpringBootApplication
 public class SnsApplication implements WebMvcConfigurer {
 
@@ -49,6 +53,7 @@ public class SnsApplication implements WebMvcConfigurer {
 								"/users/login",
 								"/users/join",
 								"/users/check",
+								"/notice/stream", // 구독 토큰을 쿼리로 받아 직접 확인
 								"/swagger-ui",
 								"/swagger-ui.html/**")
 						);// 적용 제외 경로
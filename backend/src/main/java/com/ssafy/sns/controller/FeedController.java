@@ -3,6 +3,7 @@ package com.ssafy.sns.controller;
 import com.ssafy.sns.dto.clap.ClapResponseDto;
 import com.ssafy.sns.dto.comment.CommentRequestDto;
 import com.ssafy.sns.dto.comment.CommentResponseDto;
+import com.ssafy.sns.dto.comment.CommentSliceResponseDto;
 import com.ssafy.sns.jwt.JwtService;
 import com.ssafy.sns.service.CommentClapServiceImpl;
 import com.ssafy.sns.service.CommentServiceImpl;
@@ -169,6 +170,33 @@ public class FeedController {
         return new ResponseEntity<>(comments, status);
     }
 
+    @ApiOperation("뉴스피드 댓글 커서 조회")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "feedId", value = "피드 번호", required = true),
+            @ApiImplicitParam(name = "cursor", value = "이전 응답의 nextCursor (첫 페이지는 생략)")
+    })
+    @GetMapping(value = "/{feedId}/comments/scroll")
+    public ResponseEntity<CommentSliceResponseDto> getCommentSlice(@PathVariable("feedId") Long feedId,
+                                                                   @RequestParam(value = "cursor", required = false) String cursor,
+                                                                   HttpServletRequest request) {
+
+        HttpStatus status = HttpStatus.ACCEPTED;
+        CommentSliceResponseDto comments = null;
+        try {
+            comments = commentService.getSlice(jwtService.findId(request.getHeader("Authorization")), feedId, cursor);
+            logger.info("getCommentSlice - 뉴스피드 댓글 리스트 : {}", cursor);
+            status = HttpStatus.OK;
+        } catch (IllegalArgumentException e) {
+            logger.warn("getCommentSlice - 잘못된 커서 : {}", cursor);
+            status = HttpStatus.BAD_REQUEST;
+        } catch (Exception e) {
+            logger.warn("getCommentSlice - 뉴스피드 댓글 리스트 에러 : {}", e.getMessage());
+            status = HttpStatus.NOT_FOUND;
+        }
+
+        return new ResponseEntity<>(comments, status);
+    }
+
     @ApiOperation("뉴스피드 댓글 박수 토글")
     @ApiImplicitParams({
             @ApiImplicitParam(name = "commentId", value = "댓글 번호", required = true)
@@ -5,6 +5,7 @@ import com.ssafy.sns.dto.group.GroupReqDto;
 import com.ssafy.sns.dto.group.GroupCreateResDto;
 import com.ssafy.sns.dto.group.GroupResDto;
 import com.ssafy.sns.dto.newsfeed.FeedListResponseDto;
+import com.ssafy.sns.dto.newsfeed.FeedSliceResponseDto;
 import com.ssafy.sns.dto.newsfeed.InsiderReqDto;
 import com.ssafy.sns.dto.newsfeed.InsiderResDto;
 import com.ssafy.sns.jwt.JwtService;
@@ -191,6 +192,81 @@ public class GroupController {
         return new ResponseEntity(feedListResponseDto, status);
     }
 
+    @ApiOperation(value = "그룹 카테고리 내 모든 피드 커서 조회")
+    @GetMapping("/feeds/scroll")
+    public ResponseEntity<FeedSliceResponseDto> getGroupFeedSlice(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                  HttpServletRequest request) {
+        Long viewerId = jwtService.findId(request.getHeader("Authorization"));
+
+        HttpStatus status = HttpStatus.ACCEPTED;
+
+        FeedSliceResponseDto feedSliceResponseDto = null;
+        try {
+            feedSliceResponseDto = insiderService.findAllSlice(viewerId, cursor);
+            logger.info("getGroupFeedSlice = 핵인싸 그룹 게시글 리스트 가져오기 : {}", cursor);
+            status = HttpStatus.OK;
+        } catch (IllegalArgumentException e) {
+            logger.warn("getGroupFeedSlice - 핵인싸 잘못된 커서 : {}", cursor);
+            status = HttpStatus.BAD_REQUEST;
+        } catch (Exception e) {
+            logger.warn("getGroupFeedSlice - 핵인싸 에러 : {}", e.getMessage());
+            status = HttpStatus.NOT_FOUND;
+        }
+
+        return new ResponseEntity<>(feedSliceResponseDto, status);
+    }
+
+    @ApiOperation(value = "그룹 게시글 커서 조회")
+    @GetMapping("/{groupId}/feeds/scroll")
+    public ResponseEntity<FeedSliceResponseDto> getGroupFeedSliceByGroup(@PathVariable("groupId") Long groupId,
+                                                                         @RequestParam(value = "cursor", required = false) String cursor,
+                                                                         HttpServletRequest request) {
+        Long viewerId = jwtService.findId(request.getHeader("Authorization"));
+
+        HttpStatus status = HttpStatus.ACCEPTED;
+
+        FeedSliceResponseDto feedSliceResponseDto = null;
+        try {
+            feedSliceResponseDto = insiderService.findAllByGroupIdSlice(viewerId, groupId, cursor);
+            logger.info("getGroupFeedSliceByGroup = 핵인싸 그룹 게시글 리스트 가져오기 : {}", cursor);
+            status = HttpStatus.OK;
+        } catch (IllegalArgumentException e) {
+            logger.warn("getGroupFeedSliceByGroup - 핵인싸 잘못된 커서 : {}", cursor);
+            status = HttpStatus.BAD_REQUEST;
+        } catch (Exception e) {
+            logger.warn("getGroupFeedSliceByGroup - 핵인싸 에러 : {}", e.getMessage());
+            status = HttpStatus.NOT_FOUND;
+        }
+
+        return new ResponseEntity<>(feedSliceResponseDto, status);
+    }
+
+    @ApiOperation(value = "해당 유저가 작성한 그룹 게시글 커서 조회")
+    @GetMapping("/{groupId}/feeds/users/{userId}/scroll")
+    public ResponseEntity<FeedSliceResponseDto> getGroupFeedSliceByUser(@PathVariable("groupId") Long groupId,
+                                                                        @PathVariable("userId") Long userId,
+                                                                        @RequestParam(value = "cursor", required = false) String cursor,
+                                                                        HttpServletRequest request) {
+        Long viewerId = jwtService.findId(request.getHeader("Authorization"));
+
+        HttpStatus status = HttpStatus.ACCEPTED;
+
+        FeedSliceResponseDto feedSliceResponseDto = null;
+        try {
+            feedSliceResponseDto = insiderService.findAllByUserIdAndGroupIdSlice(viewerId, userId, groupId, cursor);
+            logger.info("getGroupFeedSliceByUser = 핵인싸 그룹 해당 유저 게시글 리스트 가져오기 : {}", cursor);
+            status = HttpStatus.OK;
+        } catch (IllegalArgumentException e) {
+            logger.warn("getGroupFeedSliceByUser - 핵인싸 잘못된 커서 : {}", cursor);
+            status = HttpStatus.BAD_REQUEST;
+        } catch (Exception e) {
+            logger.warn("getGroupFeedSliceByUser - 핵인싸 에러 : {}", e.getMessage());
+            status = HttpStatus.NOT_FOUND;
+        }
+
+        return new ResponseEntity<>(feedSliceResponseDto, status);
+    }
+
     @ApiOperation(value = "그룹 중 피드 디테일 조회", response = InsiderResDto.class)
     @GetMapping("/{groupId}/feeds/{feedId}")
     public ResponseEntity<InsiderResDto> getGroupFeedOne(@PathVariable("groupId") Long groupId,
@@ -1,115 +1,178 @@
 package com.ssafy.sns.controller;
 
-import com.ssafy.sns.domain.clap.FeedClap;
-import com.ssafy.sns.domain.comment.Comment;
-import com.ssafy.sns.domain.follow.Follow;
-import com.ssafy.sns.domain.notice.*;
-import com.ssafy.sns.domain.user.User;
-import com.ssafy.sns.dto.group.SimpleGroupResDto;
+import com.ssafy.sns.dto.notice.NoticeBadgeResponseDto;
 import com.ssafy.sns.dto.notice.NoticeListResponseDto;
-import com.ssafy.sns.dto.notice.NoticeResponseDto;
-import com.ssafy.sns.dto.user.SimpleUserDto;
+import com.ssafy.sns.dto.notice.NoticeSliceResponseDto;
+import com.ssafy.sns.jwt.JwtService;
+import com.ssafy.sns.service.NoticeBadgeService;
 import com.ssafy.sns.service.NoticeServiceImpl;
-import com.ssafy.sns.service.UserServiceImpl;
+import com.ssafy.sns.service.SseHub;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Comparator;
+import javax.servlet.http.HttpServletRequest;
 import java.util.List;
-import java.util.StringTokenizer;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/notice")
 public class NoticeController {
 
+    public static final Logger logger = LoggerFactory.getLogger(NoticeController.class);
     private final NoticeServiceImpl noticeService;
-    private final UserServiceImpl userService;
+    private final NoticeBadgeService noticeBadgeService;
+    private final SseHub sseHub;
+    private final JwtService jwtService;
 
     @ApiOperation(value = "알림 목록 불러오기")
     @GetMapping("/list/{userId}")
-    public ResponseEntity<NoticeListResponseDto> listAll(@PathVariable("userId") Long userId, @RequestParam("startNum") int startNum,
-                                                         @RequestParam(name = "createdDate", required = false) LocalDateTime createdDate) {
+    public ResponseEntity<NoticeListResponseDto> listAll(@PathVariable("userId") Long userId, @RequestParam("startNum") int startNum) {
         HttpStatus status = HttpStatus.ACCEPTED;
-        User me =  userService.findUserById(userId);
-        List<Notice> followList = noticeService.followList(me);
-        List<Notice> feedClabList = noticeService.feedClabList(me);
-        List<Notice> commentList = noticeService.commentList(me);
-        List<Notice> groupList = noticeService.groupList(me);
-        System.out.println("groupList.size() = " + groupList.size());
-        List<Notice> joined1 = Stream.concat(followList.stream(), feedClabList.stream())
-                .collect(Collectors.toList());
-        List<Notice> joined2 = Stream.concat(joined1.stream(), commentList.stream())
-                .collect(Collectors.toList());
-        List<Notice> joined3 = Stream.concat(joined2.stream(), groupList.stream())
-                .collect(Collectors.toList());
-        joined3.sort(new Comparator<Notice>() {
-            @Override
-            public int compare(Notice o1, Notice o2) {
-                return o2.getCreatedDate().compareTo(o1.getCreatedDate());
-            }
-        });
-        List<NoticeResponseDto> noticeResponseDto = new ArrayList<>();
-        createdDate = (createdDate == null) ? LocalDateTime.now() : createdDate;
-        int end = startNum+10 > joined3.size() ? joined3.size() : startNum+10;
-        for (int i = startNum; i < end; i++) {
-            Notice notice = joined3.get(i);
-            if(notice.getCreatedDate().compareTo(createdDate) > 0) {
-                continue;
-            }
-            System.out.println("notice.getCreatedDate() = " + notice.getCreatedDate());
-            Long fromId = null;
-            SimpleUserDto simpleOther = null;
-            Long feedId = null;
-            String category = null;
-            String commentContent = null;
-            StringTokenizer st = null;
-            if(notice instanceof NoticeFollow) {
-                Follow follow = noticeService.findFollow(((NoticeFollow) notice).getFollow_id());
-                fromId = follow.getFromUser().getId();
-                simpleOther = new SimpleUserDto(userService.findUserById(fromId));
-                noticeResponseDto.add(new NoticeResponseDto(1, simpleOther));
-            } else if(notice instanceof NoticeFeedClap) {
-                FeedClap feedClap = noticeService.findFeedClap(((NoticeFeedClap) notice).getFeed_clab_id());
-                fromId = feedClap.getUser().getId();
-                if(fromId != userId) {
-                    simpleOther = new SimpleUserDto(userService.findUserById(fromId));
-                    feedId = feedClap.getFeed().getId();
-                    st = new StringTokenizer(noticeService.findCategory(feedId).toString(),".");
-                    while (st.hasMoreTokens()) {
-                        category = st.nextToken();
-                    }
-                    noticeResponseDto.add(new NoticeResponseDto(2, simpleOther, feedId, category));
-                }
-            } else if(notice instanceof NoticeComment) {
-                Comment comment = noticeService.findComment(((NoticeComment) notice).getComment_id());
-                fromId = comment.getUser().getId();
-                if(fromId != userId) {
-                    simpleOther = new SimpleUserDto(userService.findUserById(fromId));
-                    feedId = comment.getFeed().getId();
-                    commentContent = comment.getContent();
-                    st = new StringTokenizer(noticeService.findCategory(feedId).toString(), ".");
-                    while (st.hasMoreTokens()) {
-                        category = st.nextToken();
-                    }
-                    noticeResponseDto.add(new NoticeResponseDto(3, simpleOther, feedId, category, commentContent));
-                }
-            } else if(notice instanceof NoticeGroup) {
-                fromId = ((NoticeGroup) notice).getMember_id();
-                simpleOther = new SimpleUserDto(userService.findUserById(fromId));
-                SimpleGroupResDto group = new SimpleGroupResDto(noticeService.findGroup(((NoticeGroup) notice).getGroup_id()));
-                noticeResponseDto.add(new NoticeResponseDto(4, simpleOther, group));
-            }
+
+        NoticeListResponseDto noticeListResponseDto = null;
+        try {
+            noticeListResponseDto = noticeService.list(userId, startNum);
+            logger.info("listAll = 알림 목록 가져오기 : {}", startNum);
+            status = HttpStatus.OK;
+        } catch (Exception e) {
+            logger.warn("listAll - 알림 목록 에러 : {}", e.getMessage());
+            status = HttpStatus.NOT_FOUND;
         }
-        NoticeListResponseDto noticeListResponseDto = new NoticeListResponseDto(noticeResponseDto, end);
+
         return new ResponseEntity<>(noticeListResponseDto, status);
     }
 
+    @ApiOperation(value = "내 알림함 (커서 기반)")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "cursor", value = "이전 응답의 nextCursor (첫 페이지는 생략)")
+    })
+    @GetMapping(value = "/inbox", produces = "application/json; charset=utf8")
+    public ResponseEntity<NoticeSliceResponseDto> inbox(@RequestParam(value = "cursor", required = false) Long cursor,
+                                                        HttpServletRequest request) {
+        HttpStatus status = HttpStatus.ACCEPTED;
+
+        NoticeSliceResponseDto noticeSliceResponseDto = null;
+        try {
+            noticeSliceResponseDto = noticeService.inbox(jwtService.findId(request.getHeader("Authorization")), cursor);
+            logger.info("inbox = 알림함 가져오기 : {}", cursor);
+            status = HttpStatus.OK;
+        } catch (Exception e) {
+            logger.warn("inbox - 알림함 에러 : {}", e.getMessage());
+            status = HttpStatus.NOT_FOUND;
+        }
+
+        return new ResponseEntity<>(noticeSliceResponseDto, status);
+    }
+
+    @ApiOperation(value = "안 읽은 알림 수 (배지)")
+    @GetMapping(value = "/badge", produces = "application/json; charset=utf8")
+    public ResponseEntity<NoticeBadgeResponseDto> badge(HttpServletRequest request) {
+        HttpStatus status = HttpStatus.ACCEPTED;
+
+        NoticeBadgeResponseDto noticeBadgeResponseDto = null;
+        try {
+            noticeBadgeResponseDto = noticeBadgeService.find(jwtService.findId(request.getHeader("Authorization")));
+            status = HttpStatus.OK;
+        } catch (Exception e) {
+            logger.warn("badge - 알림 배지 에러 : {}", e.getMessage());
+            status = HttpStatus.NOT_FOUND;
+        }
+
+        return new ResponseEntity<>(noticeBadgeResponseDto, status);
+    }
+
+    @ApiOperation(value = "알림 읽음 처리", notes = "lastReadId 까지 읽음 (생략하면 전부)")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "lastReadId", value = "마지막으로 본 알림 id")
+    })
+    @PutMapping(value = "/read", produces = "application/json; charset=utf8")
+    public ResponseEntity<NoticeBadgeResponseDto> markRead(@RequestParam(value = "lastReadId", required = false) Long lastReadId,
+                                                           HttpServletRequest request) {
+        HttpStatus status = HttpStatus.ACCEPTED;
+
+        NoticeBadgeResponseDto noticeBadgeResponseDto = null;
+        try {
+            noticeBadgeResponseDto = noticeBadgeService.markRead(jwtService.findId(request.getHeader("Authorization")), lastReadId);
+            logger.info("markRead = 알림 읽음 : {}", lastReadId);
+            status = HttpStatus.OK;
+        } catch (Exception e) {
+            logger.warn("markRead - 알림 읽음 에러 : {}", e.getMessage());
+            status = HttpStatus.NOT_FOUND;
+        }
+
+        return new ResponseEntity<>(noticeBadgeResponseDto, status);
+    }
+
+    @ApiOperation(value = "실시간 구독용 토큰 발급", notes = "EventSource 는 Authorization 헤더를 못 보내므로 /notice/stream?token= 으로 넘긴다 (1분 유효)")
+    @GetMapping("/stream/token")
+    public ResponseEntity<String> streamToken(HttpServletRequest request) {
+        HttpStatus status = HttpStatus.ACCEPTED;
+
+        String token = null;
+        try {
+            Long userId = jwtService.findId(request.getHeader("Authorization"));
+            token = jwtService.createStreamToken(userId);
+            logger.info("streamToken = 구독 토큰 발급 : {}", userId);
+            status = HttpStatus.OK;
+        } catch (Exception e) {
+            logger.warn("streamToken - 구독 토큰 발급 에러 : {}", e.getMessage());
+            status = HttpStatus.NOT_FOUND;
+        }
+
+        return new ResponseEntity<>(token, status);
+    }
+
+    @ApiOperation(value = "실시간 알림 / 카운트 구독 (SSE)", notes = "첫 이벤트(connected)의 data 가 연결 id")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "token", value = "/notice/stream/token 으로 받은 토큰 (없으면 Authorization 헤더)")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestParam(value = "token", required = false) String token,
+                                             HttpServletRequest request) {
+        try {
+            Long userId = token != null ? jwtService.findStreamId(token)
+                    : jwtService.findId(request.getHeader("Authorization"));
+            logger.info("stream = 실시간 구독 : {}", userId);
+            return new ResponseEntity<>(sseHub.connect(userId), HttpStatus.OK);
+        } catch (Exception e) {
+            logger.warn("stream - 실시간 구독 에러 : {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @ApiOperation(value = "연결에서 박수 / 댓글 수를 받을 피드 목록 바꾸기")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "connectionId", value = "connected 이벤트로 받은 연결 id"),
+            @ApiImplicitParam(name = "feedIds", value = "지금 화면에 보이는 피드 id 목록")
+    })
+    @PutMapping("/stream/{connectionId}/feeds")
+    public ResponseEntity<String> watch(@PathVariable("connectionId") Long connectionId,
+                                        @RequestBody List<Long> feedIds, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.ACCEPTED;
+
+        try {
+            if (sseHub.watch(jwtService.findId(request.getHeader("Authorization")), connectionId, feedIds)) {
+                logger.info("watch = 피드 구독 변경 : {}", connectionId);
+                status = HttpStatus.OK;
+            } else {
+                logger.warn("watch - 없는 연결 : {}", connectionId);
+                status = HttpStatus.NOT_FOUND;
+            }
+        } catch (Exception e) {
+            logger.warn("watch - 피드 구독 에러 : {}", e.getMessage());
+            status = HttpStatus.NOT_FOUND;
+        }
+
+        return new ResponseEntity<>(status);
+    }
+
 }
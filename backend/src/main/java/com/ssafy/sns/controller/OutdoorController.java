@@ -16,6 +16,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 @RequiredArgsConstructor
@@ -98,6 +99,123 @@ public class OutdoorController {
         return new ResponseEntity<>(feedListResponseDto, status);
     }
 
+    @ApiOperation("해당 유저 작성한 청산별곡 커서 조회")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "targetId", value = "사용자 ID", required = true),
+            @ApiImplicitParam(name = "cursor", value = "이전 응답의 nextCursor (첫 페이지는 생략)")
+    })
+    @GetMapping(value = "/user/{targetId}/scroll", produces = "application/json; charset=utf8")
+    public ResponseEntity<FeedSliceResponseDto> getFeedMySlice(@PathVariable("targetId") Long targetId,
+                                                               @RequestParam(value = "cursor", required = false) String cursor,
+                                                               HttpServletRequest request) {
+        HttpStatus status = HttpStatus.ACCEPTED;
+
+        FeedSliceResponseDto feedSliceResponseDto = null;
+        try {
+            feedSliceResponseDto = outdoorService.findMySlice(
+                    jwtService.findId(request.getHeader("Authorization")), targetId, cursor);
+            logger.info("getFeedMySlice = 청산별곡 내 글 리스트 가져오기 : {}", cursor);
+            status = HttpStatus.OK;
+        } catch (IllegalArgumentException e) {
+            logger.warn("getFeedMySlice - 청산별곡 잘못된 커서 : {}", cursor);
+            status = HttpStatus.BAD_REQUEST;
+        } catch (Exception e) {
+            logger.warn("getFeedMySlice - 청산별곡 에러 : {}", e.getMessage());
+            status = HttpStatus.NOT_FOUND;
+        }
+
+        return new ResponseEntity<>(feedSliceResponseDto, status);
+    }
+
+    @ApiOperation("청산별곡 커서 조회")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "cursor", value = "이전 응답의 nextCursor (첫 페이지는 생략)")
+    })
+    @GetMapping(value = "/scroll", produces = "application/json; charset=utf8")
+    public ResponseEntity<FeedSliceResponseDto> getFeedSlice(@RequestParam(value = "cursor", required = false) String cursor,
+                                                             HttpServletRequest request) {
+        HttpStatus status = HttpStatus.ACCEPTED;
+
+        FeedSliceResponseDto feedSliceResponseDto = null;
+        try {
+            feedSliceResponseDto = outdoorService.readSlice(
+                    jwtService.findId(request.getHeader("Authorization")), cursor);
+            logger.info("getFeedSlice = 청산별곡 글 리스트 가져오기 : {}", cursor);
+            status = HttpStatus.OK;
+        } catch (IllegalArgumentException e) {
+            logger.warn("getFeedSlice - 청산별곡 잘못된 커서 : {}", cursor);
+            status = HttpStatus.BAD_REQUEST;
+        } catch (Exception e) {
+            logger.warn("getFeedSlice - 청산별곡 에러 : {}", e.getMessage());
+            status = HttpStatus.NOT_FOUND;
+        }
+
+        return new ResponseEntity<>(feedSliceResponseDto, status);
+    }
+
+    @ApiOperation("주변 청산별곡 (가까운 순)")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "lat", value = "위도", required = true),
+            @ApiImplicitParam(name = "lng", value = "경도", required = true),
+            @ApiImplicitParam(name = "radius", value = "반경 (m)", required = true),
+            @ApiImplicitParam(name = "cursor", value = "이전 응답의 nextCursor (첫 페이지는 생략)")
+    })
+    @GetMapping(value = "/nearby", produces = "application/json; charset=utf8")
+    public ResponseEntity<FeedSliceResponseDto> getNearby(@RequestParam("lat") double lat,
+                                                          @RequestParam("lng") double lng,
+                                                          @RequestParam("radius") double radius,
+                                                          @RequestParam(value = "cursor", required = false) String cursor,
+                                                          HttpServletRequest request) {
+        HttpStatus status = HttpStatus.ACCEPTED;
+
+        FeedSliceResponseDto feedSliceResponseDto = null;
+        try {
+            feedSliceResponseDto = outdoorService.readNearby(
+                    jwtService.findId(request.getHeader("Authorization")), lat, lng, radius, cursor);
+            logger.info("getNearby = 주변 청산별곡 가져오기 : {}, {}, {}", lat, lng, radius);
+            status = HttpStatus.OK;
+        } catch (IllegalArgumentException e) {
+            logger.warn("getNearby - 주변 청산별곡 잘못된 요청 : {}", e.getMessage());
+            status = HttpStatus.BAD_REQUEST;
+        } catch (Exception e) {
+            logger.warn("getNearby - 주변 청산별곡 에러 : {}", e.getMessage());
+            status = HttpStatus.NOT_FOUND;
+        }
+
+        return new ResponseEntity<>(feedSliceResponseDto, status);
+    }
+
+    @ApiOperation("청산별곡 지도 핀 묶음")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "south", value = "화면 남쪽 위도", required = true),
+            @ApiImplicitParam(name = "west", value = "화면 서쪽 경도", required = true),
+            @ApiImplicitParam(name = "north", value = "화면 북쪽 위도", required = true),
+            @ApiImplicitParam(name = "east", value = "화면 동쪽 경도", required = true),
+            @ApiImplicitParam(name = "zoom", value = "지도 줌 레벨", required = true)
+    })
+    @GetMapping(value = "/clusters", produces = "application/json; charset=utf8")
+    public ResponseEntity<List<OutdoorClusterDto>> getClusters(@RequestParam("south") double south,
+                                                               @RequestParam("west") double west,
+                                                               @RequestParam("north") double north,
+                                                               @RequestParam("east") double east,
+                                                               @RequestParam("zoom") int zoom) {
+        HttpStatus status = HttpStatus.ACCEPTED;
+
+        List<OutdoorClusterDto> clusters = null;
+        try {
+            clusters = outdoorService.readClusters(south, west, north, east, zoom);
+            status = HttpStatus.OK;
+        } catch (IllegalArgumentException e) {
+            logger.warn("getClusters - 청산별곡 지도 잘못된 요청 : {}", e.getMessage());
+            status = HttpStatus.BAD_REQUEST;
+        } catch (Exception e) {
+            logger.warn("getClusters - 청산별곡 지도 에러 : {}", e.getMessage());
+            status = HttpStatus.NOT_FOUND;
+        }
+
+        return new ResponseEntity<>(clusters, status);
+    }
+
     @ApiOperation("청산별곡 상세 조회")
     @ApiImplicitParams({
             @ApiImplicitParam(name = "feedId", value = "피드 번호", required = true)
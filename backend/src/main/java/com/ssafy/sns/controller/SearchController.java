@@ -1,14 +1,17 @@
 package com.ssafy.sns.controller;
 
-import com.ssafy.sns.domain.hashtag.Hashtag;
 import com.ssafy.sns.dto.group.GroupResDto;
 import com.ssafy.sns.dto.newsfeed.FeedResponseDto;
+import com.ssafy.sns.dto.newsfeed.FeedSliceResponseDto;
 import com.ssafy.sns.dto.newsfeed.InsiderResDto;
+import com.ssafy.sns.dto.search.SearchBranchDto;
 import com.ssafy.sns.dto.search.SearchHashtagDto;
 import com.ssafy.sns.dto.search.SearchResponseDto;
 import com.ssafy.sns.dto.search.SearchUserDto;
 import com.ssafy.sns.dto.user.SimpleUserDto;
 import com.ssafy.sns.jwt.JwtService;
+import com.ssafy.sns.service.SearchAllService;
+import com.ssafy.sns.service.SearchResultCache;
 import com.ssafy.sns.service.SearchServiceImpl;
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiImplicitParams;
@@ -33,6 +36,8 @@ public class SearchController {
     public static final Logger logger = LoggerFactory.getLogger(IndoorController.class);
 
     private final SearchServiceImpl searchService;
+    private final SearchAllService searchAllService;
+    private final SearchResultCache searchResultCache;
     private final JwtService jwtService;
 
     @ApiOperation("키워드 검색을 통해 게시물 받아오기")
@@ -42,13 +47,22 @@ public class SearchController {
     @GetMapping("/all")
     public ResponseEntity<Map<String, Object>> searchAll(@RequestParam("keyword") String keyword,
                                                          HttpServletRequest request){
-        System.out.println("keyword: " + keyword);
         Map<String, Object> map = new HashMap<>();
+        Map<String, SearchBranchDto> meta = new LinkedHashMap<>();
         HttpStatus status = HttpStatus.ACCEPTED;
+        long start = System.currentTimeMillis();
         try {
-            map.put("feedList", searchFeed(keyword, request));
-            map.put("userList", searchUser(keyword));
-            map.put("groupList", searchGroup(keyword));
+            // 갈래마다 예전처럼 ResponseEntity 로 감싼다 (실패, 시간 초과한 갈래는 빈 목록)
+            for (SearchAllService.Branch branch : searchAllService.searchAll(request.getHeader("Authorization"), keyword)) {
+                HttpStatus branchStatus = SearchAllService.OK.equals(branch.getStatus()) ? HttpStatus.OK
+                        : SearchAllService.TIMEOUT.equals(branch.getStatus()) ? HttpStatus.GATEWAY_TIMEOUT
+                        : HttpStatus.NOT_FOUND;
+                map.put(branch.getName(), new ResponseEntity<>(branch.getResult(), branchStatus));
+                meta.put(branch.getName(), new SearchBranchDto(branch.getStatus(), branch.getElapsedMs()));
+            }
+            map.put("meta", meta);
+            map.put("elapsedMs", System.currentTimeMillis() - start);
+            logger.info("searchAll - 전체 검색 : {} {}", keyword, meta);
         } catch (Exception e) {
             logger.warn("전체 검색 에러 : {}", e.getMessage());
             status = HttpStatus.NOT_FOUND;
@@ -59,24 +73,66 @@ public class SearchController {
 
     @ApiOperation("피드 검색")
     @ApiImplicitParams({
-            @ApiImplicitParam(name = "keyword", value = "검색명", required = true)
+            @ApiImplicitParam(name = "keyword", value = "검색명", required = true),
+            @ApiImplicitParam(name = "page", value = "태그 페이지 (0 부터, 빈 목록이면 끝)")
     })
     @GetMapping("/feed")
     public ResponseEntity<List<SearchResponseDto>> searchFeed(@RequestParam("keyword") String keyword,
+                                                              @RequestParam(value = "page", defaultValue = "0") int page,
                                                               HttpServletRequest request) {
-        List<Hashtag> hashtagList = searchService.searchHashtags(keyword);
-        List<SearchResponseDto> searchResponseDto = new ArrayList<>(); //  태그명, 태그게시물 List
-        for (Hashtag h : hashtagList) {
-            List<InsiderResDto> feedResponseDtoList = searchService.searchFeeds(jwtService.findId(request.getHeader("Authorization")), h);
-            if(feedResponseDtoList.isEmpty()) {
-                continue;
-            } else {
-                searchResponseDto.add(new SearchResponseDto(h.getTagName(), searchService.searchFeeds(
-                        jwtService.findId(request.getHeader("Authorization")), h)));
-            }
+        HttpStatus status = HttpStatus.ACCEPTED;
+        List<SearchResponseDto> searchResponseDto = null; //  태그명, 태그게시물 List
+        try {
+            searchResponseDto = searchService.searchFeeds(jwtService.findId(request.getHeader("Authorization")), keyword, page);
+            status = HttpStatus.OK;
+        } catch (Exception e) {
+            logger.warn("searchFeed - 피드 검색 에러 : {}", e.getMessage());
+            status = HttpStatus.NOT_FOUND;
+        }
+        return new ResponseEntity<>(searchResponseDto, status);
+    }
 
+    @ApiOperation("태그 하나의 피드 더 보기")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "tagName", value = "태그명", required = true),
+            @ApiImplicitParam(name = "cursor", value = "이전 응답의 nextCursor", required = true)
+    })
+    @GetMapping("/feed/more")
+    public ResponseEntity<SearchResponseDto> searchFeedMore(@RequestParam("tagName") String tagName,
+                                                            @RequestParam("cursor") String cursor,
+                                                            HttpServletRequest request) {
+        HttpStatus status = HttpStatus.ACCEPTED;
+        SearchResponseDto searchResponseDto = null;
+        try {
+            searchResponseDto = searchService.searchFeedsMore(jwtService.findId(request.getHeader("Authorization")),
+                    tagName, cursor);
+            status = HttpStatus.OK;
+        } catch (Exception e) {
+            logger.warn("searchFeedMore - 피드 더 보기 에러 : {}", e.getMessage());
+            status = HttpStatus.NOT_FOUND;
+        }
+        return new ResponseEntity<>(searchResponseDto, status);
+    }
+
+    @ApiOperation("피드 본문 검색 (최신순)")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "keyword", value = "검색어", required = true),
+            @ApiImplicitParam(name = "cursor", value = "이전 응답의 nextCursor (첫 페이지는 생략)")
+    })
+    @GetMapping("/content")
+    public ResponseEntity<FeedSliceResponseDto<InsiderResDto>> searchContent(@RequestParam("keyword") String keyword,
+                                                                             @RequestParam(value = "cursor", required = false) String cursor,
+                                                                             HttpServletRequest request) {
+        HttpStatus status = HttpStatus.ACCEPTED;
+        FeedSliceResponseDto<InsiderResDto> slice = null;
+        try {
+            slice = searchService.searchContent(jwtService.findId(request.getHeader("Authorization")), keyword, cursor);
+            status = HttpStatus.OK;
+        } catch (Exception e) {
+            logger.warn("searchContent - 본문 검색 에러 : {}", e.getMessage());
+            status = HttpStatus.NOT_FOUND;
         }
-        return new ResponseEntity<>(searchResponseDto, HttpStatus.OK);
+        return new ResponseEntity<>(slice, status);
     }
 
     @ApiOperation("유저 검색")
@@ -142,4 +198,10 @@ public class SearchController {
 
         return new ResponseEntity<>(result, status);
     }
+
+    @ApiOperation("검색 결과 캐시 통계")
+    @GetMapping(value = "/cache/metrics", produces = "application/json; charset=utf8")
+    public ResponseEntity<Map<String, Object>> getCacheMetrics() {
+        return new ResponseEntity<>(searchResultCache.snapshot(), HttpStatus.OK);
+    }
 }
@@ -0,0 +1,58 @@
+package com.ssafy.sns.controller;
+
+import com.ssafy.sns.dto.newsfeed.FeedSliceResponseDto;
+import com.ssafy.sns.jwt.JwtService;
+import com.ssafy.sns.service.TimelineMetrics;
+import com.ssafy.sns.service.TimelineService;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
+import io.swagger.annotations.ApiOperation;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Map;
+
+@RequiredArgsConstructor
+@CrossOrigin(origins = { "*" })
+@RestController
+@RequestMapping("/timeline")
+public class TimelineController {
+
+    public static final Logger logger = LoggerFactory.getLogger(TimelineController.class);
+    private final TimelineService timelineService;
+    private final TimelineMetrics timelineMetrics;
+    private final JwtService jwtService;
+
+    @ApiOperation("팔로우한 사람들의 피드 (홈 타임라인)")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "cursor", value = "이전 응답의 nextCursor (첫 페이지는 생략)")
+    })
+    @GetMapping(produces = "application/json; charset=utf8")
+    public ResponseEntity<FeedSliceResponseDto> getTimeline(@RequestParam(value = "cursor", required = false) Long cursor,
+                                                            HttpServletRequest request) {
+        HttpStatus status = HttpStatus.ACCEPTED;
+
+        FeedSliceResponseDto feedSliceResponseDto = null;
+        try {
+            feedSliceResponseDto = timelineService.read(jwtService.findId(request.getHeader("Authorization")), cursor);
+            logger.info("getTimeline = 타임라인 가져오기 : {}", cursor);
+            status = HttpStatus.OK;
+        } catch (Exception e) {
+            logger.warn("getTimeline - 타임라인 에러 : {}", e.getMessage());
+            status = HttpStatus.NOT_FOUND;
+        }
+
+        return new ResponseEntity<>(feedSliceResponseDto, status);
+    }
+
+    @ApiOperation("타임라인 팬아웃 / 병합 통계")
+    @GetMapping(value = "/metrics", produces = "application/json; charset=utf8")
+    public ResponseEntity<Map<String, Object>> getMetrics() {
+        return new ResponseEntity<>(timelineMetrics.snapshot(), HttpStatus.OK);
+    }
+}
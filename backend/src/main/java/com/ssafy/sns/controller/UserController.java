@@ -6,6 +6,7 @@ import com.ssafy.sns.dto.mypage.ProfileRequestDto;
 import com.ssafy.sns.dto.mypage.ProfileResponseDto;
 import com.ssafy.sns.dto.mypage.UserProfileDto;
 import com.ssafy.sns.dto.newsfeed.FeedListResponseDto;
+import com.ssafy.sns.dto.newsfeed.FeedSliceResponseDto;
 import com.ssafy.sns.dto.newsfeed.InsiderResDto;
 import com.ssafy.sns.dto.user.*;
 import com.ssafy.sns.jwt.JwtService;
@@ -273,4 +274,28 @@ public class UserController {
         FeedListResponseDto feedListResponseDto =  insiderService.findAllByUser(viewer.getId(), userId, startNum);
         return new ResponseEntity(feedListResponseDto, HttpStatus.OK);
     }
+
+    @ApiOperation("유저가 그룹 카테고리에서 작성한 피드 커서 조회")
+    @GetMapping("/{userId}/groups/feeds/scroll")
+    public ResponseEntity<FeedSliceResponseDto> getGroupFeedSliceByUser(@PathVariable("userId") Long userId,
+                                                                        @RequestParam(value = "cursor", required = false) String cursor,
+                                                                        HttpServletRequest request) {
+        HttpStatus status = HttpStatus.ACCEPTED;
+
+        FeedSliceResponseDto feedSliceResponseDto = null;
+        try {
+            feedSliceResponseDto = insiderService.findAllByUserSlice(
+                    jwtService.findId(request.getHeader("Authorization")), userId, cursor);
+            logger.info("getGroupFeedSliceByUser = 유저 그룹 피드 리스트 가져오기 : {}", cursor);
+            status = HttpStatus.OK;
+        } catch (IllegalArgumentException e) {
+            logger.warn("getGroupFeedSliceByUser - 유저 그룹 피드 잘못된 커서 : {}", cursor);
+            status = HttpStatus.BAD_REQUEST;
+        } catch (Exception e) {
+            logger.warn("getGroupFeedSliceByUser - 유저 그룹 피드 에러 : {}", e.getMessage());
+            status = HttpStatus.NOT_FOUND;
+        }
+
+        return new ResponseEntity<>(feedSliceResponseDto, status);
+    }
 }
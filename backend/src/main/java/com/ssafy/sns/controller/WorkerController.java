@@ -78,6 +78,60 @@ public class WorkerController {
         return new ResponseEntity<>(feedListResponseDto, status);
     }
 
+    @ApiOperation("해당 유저 작성한 워커홀릭 커서 조회")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "targetId", value = "사용자 ID", required = true),
+            @ApiImplicitParam(name = "cursor", value = "이전 응답의 nextCursor (첫 페이지는 생략)")
+    })
+    @GetMapping(value = "/user/{targetId}/scroll", produces = "application/json; charset=utf8")
+    public ResponseEntity<FeedSliceResponseDto> getFeedMySlice(@PathVariable("targetId") Long targetId,
+                                                               @RequestParam(value = "cursor", required = false) String cursor,
+                                                               HttpServletRequest request) {
+        HttpStatus status = HttpStatus.ACCEPTED;
+
+        FeedSliceResponseDto feedSliceResponseDto = null;
+        try {
+            feedSliceResponseDto = workerService.findMySlice(
+                    jwtService.findId(request.getHeader("Authorization")), targetId, cursor);
+            logger.info("getFeedMySlice = 워커홀릭 내 글 리스트 가져오기 : {}", cursor);
+            status = HttpStatus.OK;
+        } catch (IllegalArgumentException e) {
+            logger.warn("getFeedMySlice - 워커홀릭 잘못된 커서 : {}", cursor);
+            status = HttpStatus.BAD_REQUEST;
+        } catch (Exception e) {
+            logger.warn("getFeedMySlice - 워커홀릭 에러 : {}", e.getMessage());
+            status = HttpStatus.NOT_FOUND;
+        }
+
+        return new ResponseEntity<>(feedSliceResponseDto, status);
+    }
+
+    @ApiOperation("워커홀릭 커서 조회")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "cursor", value = "이전 응답의 nextCursor (첫 페이지는 생략)")
+    })
+    @GetMapping(value = "/scroll", produces = "application/json; charset=utf8")
+    public ResponseEntity<FeedSliceResponseDto> getFeedSlice(@RequestParam(value = "cursor", required = false) String cursor,
+                                                             HttpServletRequest request) {
+        HttpStatus status = HttpStatus.ACCEPTED;
+
+        FeedSliceResponseDto feedSliceResponseDto = null;
+        try {
+            feedSliceResponseDto = workerService.readSlice(
+                    jwtService.findId(request.getHeader("Authorization")), cursor);
+            logger.info("getFeedSlice = 워커홀릭 글 리스트 가져오기 : {}", cursor);
+            status = HttpStatus.OK;
+        } catch (IllegalArgumentException e) {
+            logger.warn("getFeedSlice - 워커홀릭 잘못된 커서 : {}", cursor);
+            status = HttpStatus.BAD_REQUEST;
+        } catch (Exception e) {
+            logger.warn("getFeedSlice - 워커홀릭 에러 : {}", e.getMessage());
+            status = HttpStatus.NOT_FOUND;
+        }
+
+        return new ResponseEntity<>(feedSliceResponseDto, status);
+    }
+
     @ApiOperation("워커홀릭 상세 조회")
     @ApiImplicitParams({
             @ApiImplicitParam(name = "feedId", value = "피드 번호", required = true)
@@ -9,6 +9,8 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.ColumnDefault;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -17,6 +19,7 @@ import java.util.List;
 @Getter
 @NoArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_comment_feed_created", columnList = "feed_id, created_date, comment_id"))
 public class Comment extends BaseTimeEntity {
 
     @Id
@@ -37,6 +40,11 @@ public class Comment extends BaseTimeEntity {
     @Column(name = "content", nullable = false)
     private String content;
 
+    // 박수 수는 UPDATE 쿼리로만 증감한다 (CommentRepositoryImpl.addClapCnt)
+    @ColumnDefault("0")
+    @Column(name = "clap_cnt", insertable = false, updatable = false)
+    private int clapCnt;
+
     @OneToMany(mappedBy = "comment", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<CommentClap> commentClaps = new ArrayList<>();
 
@@ -56,7 +64,11 @@ public class Comment extends BaseTimeEntity {
     }
 
     public void deleteCommentClap(CommentClap commentClap) {
-        commentClaps.remove(commentClap);
+        if (Hibernate.isInitialized(commentClaps)) commentClaps.remove(commentClap);
         commentClap.setComment(null);
     }
+
+    public void applyClapCnt(int delta) {
+        this.clapCnt += delta;
+    }
 }
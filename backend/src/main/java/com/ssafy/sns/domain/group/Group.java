@@ -4,6 +4,7 @@ import com.ssafy.sns.domain.BaseTimeEntity;
 import com.ssafy.sns.domain.newsfeed.Insider;
 import com.ssafy.sns.dto.group.GroupReqDto;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -13,6 +14,7 @@ import java.util.List;
 @Setter
 @NoArgsConstructor
 @Table(name = "sns_group")
+@BatchSize(size = 100)
 @Entity
 public class Group extends BaseTimeEntity {
 
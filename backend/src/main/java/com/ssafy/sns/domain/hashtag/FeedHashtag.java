@@ -10,6 +10,8 @@ import javax.persistence.*;
 @Getter
 @NoArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_feed_hashtag_tag", columnList = "hashtag_id, feed_id"))
+@EntityListeners(FeedHashtagListener.class)
 public class FeedHashtag {
 
     @Id
@@ -26,4 +28,18 @@ public class FeedHashtag {
     @JoinColumn(name = "hashtag_id")
     @Setter
     private Hashtag hashtag;
+
+    // 읽어온 시점의 해쉬태그 id (수정할 때 hashtag 를 먼저 끊고 지우므로 삭제 시점에는 이 값을 쓴다)
+    @Transient
+    private Long loadedHashtagId;
+
+    @PostLoad
+    private void rememberHashtag() {
+        loadedHashtagId = hashtag == null ? null : hashtag.getId();
+    }
+
+    public Long getCountedHashtagId() {
+        if (loadedHashtagId != null) return loadedHashtagId;
+        return hashtag == null ? null : hashtag.getId();
+    }
 }
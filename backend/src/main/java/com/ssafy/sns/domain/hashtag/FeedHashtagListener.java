@@ -0,0 +1,34 @@
+package com.ssafy.sns.domain.hashtag;
+
+import com.ssafy.sns.event.HashtagUsageEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+
+/**
+ * 피드에 태그가 붙고 떨어지는 것(피드 작성, 수정, 삭제 cascade)을 한 곳에서 잡아 사용 수 변경 이벤트로 알린다.
+ * (Spring Boot 가 Hibernate 에 SpringBeanContainer 를 설정하므로 엔티티 리스너도 주입을 받는다)
+ */
+@Component
+@RequiredArgsConstructor
+public class FeedHashtagListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    public void onPersist(FeedHashtag feedHashtag) {
+        publish(feedHashtag.getCountedHashtagId(), 1);
+    }
+
+    @PostRemove
+    public void onRemove(FeedHashtag feedHashtag) {
+        publish(feedHashtag.getCountedHashtagId(), -1);
+    }
+
+    private void publish(Long hashtagId, int delta) {
+        if (hashtagId != null) eventPublisher.publishEvent(new HashtagUsageEvent(hashtagId, delta));
+    }
+}
@@ -4,6 +4,7 @@ import com.ssafy.sns.util.UnicodeHandler;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -11,6 +12,7 @@ import java.util.List;
 
 @Getter
 @NoArgsConstructor
+@BatchSize(size = 100)
 @Entity
 public class Hashtag {
 
@@ -7,6 +7,9 @@ import com.ssafy.sns.domain.file.File;
 import com.ssafy.sns.domain.hashtag.FeedHashtag;
 import com.ssafy.sns.domain.user.User;
 import lombok.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -17,6 +20,12 @@ import java.util.List;
 @Builder
 @AllArgsConstructor
 @Entity
+@Table(indexes = {
+        // 카테고리별 목록, 커서 스크롤 (작성시간, id 내림차순)
+        @Index(name = "idx_feed_category_created", columnList = "CATEGORY, created_date, feed_id"),
+        // 유저별 목록
+        @Index(name = "idx_feed_user_category_created", columnList = "user_id, CATEGORY, created_date, feed_id")
+})
 @Inheritance(strategy = InheritanceType.JOINED)
 @DiscriminatorColumn(name = "CATEGORY")
 public class Feed extends BaseTimeEntity {
@@ -35,11 +44,22 @@ public class Feed extends BaseTimeEntity {
     @Setter
     private User user;
 
+    // 박수 수, 댓글 수는 UPDATE 쿼리로만 증감한다 (OutboxProcessor 의 FEED_COUNT 처리)
+    @ColumnDefault("0")
+    @Column(name = "clap_cnt", insertable = false, updatable = false)
+    private int clapCnt;
+
+    @ColumnDefault("0")
+    @Column(name = "comment_cnt", insertable = false, updatable = false)
+    private int commentCnt;
+
     // casecade : 상태 전이
     // orphanRemoval : 고아 객체 삭제
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "feed", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<FeedHashtag> feedHashtagList = new ArrayList<>();
 
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "feed", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<File> fileList = new ArrayList<>();
 
@@ -95,10 +115,21 @@ public class Feed extends BaseTimeEntity {
     }
 
     public void deleteFeedClap(FeedClap feedClap) {
-        feedClapList.remove(feedClap);
+        // 박수 전체를 불러오지 않도록 로딩된 경우에만 리스트에서 제거
+        if (Hibernate.isInitialized(feedClapList)) feedClapList.remove(feedClap);
         feedClap.setFeed(null);
     }
 
+    // 메모리의 엔티티에만 증감을 반영한다 (컬럼은 updatable = false).
+    // DB 의 clap_cnt / comment_cnt 는 아웃박스에 쌓인 FEED_COUNT 를 OutboxProcessor 가 비울 때 모아서 더한다
+    public void applyClapCnt(int delta) {
+        this.clapCnt += delta;
+    }
+
+    public void applyCommentCnt(int delta) {
+        this.commentCnt += delta;
+    }
+
     public void addComment(Comment comment) {
         if (commentList == null) commentList = new ArrayList<>();
         commentList.add(comment);
@@ -106,7 +137,7 @@ public class Feed extends BaseTimeEntity {
     }
 
     public void deleteComment(Comment comment) {
-        commentList.remove(comment);
+        if (Hibernate.isInitialized(commentList)) commentList.remove(comment);
         comment.setFeed(null);
     }
 }
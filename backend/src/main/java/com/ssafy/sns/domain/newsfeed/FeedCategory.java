@@ -0,0 +1,44 @@
+package com.ssafy.sns.domain.newsfeed;
+
+import org.hibernate.Hibernate;
+
+// 피드 카테고리 (응답 dto 의 category 값)
+public enum FeedCategory {
+
+    INDOOR(1, Indoor.class), INSIDER(2, Insider.class), OUTDOOR(3, Outdoor.class), WORKER(4, Worker.class);
+
+    private final int code;
+    private final Class<? extends Feed> type;
+
+    FeedCategory(int code, Class<? extends Feed> type) {
+        this.code = code;
+        this.type = type;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public Class<? extends Feed> getType() {
+        return type;
+    }
+
+    public static FeedCategory of(Class<?> type) {
+        for (FeedCategory category : values()) {
+            if (category.type.isAssignableFrom(type)) {
+                return category;
+            }
+        }
+        throw new IllegalArgumentException("알 수 없는 피드 타입 : " + type);
+    }
+
+    public static FeedCategory of(Feed feed) {
+        Object target = Hibernate.unproxy(feed);
+        for (FeedCategory category : values()) {
+            if (category.type.isInstance(target)) {
+                return category;
+            }
+        }
+        throw new IllegalArgumentException("알 수 없는 피드 타입 : " + target.getClass());
+    }
+}
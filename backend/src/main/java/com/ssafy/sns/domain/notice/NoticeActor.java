@@ -0,0 +1,20 @@
+package com.ssafy.sns.domain.notice;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 묶음 알림에 이름이 보이는 사람 (최근 몇 명만 둔다)
+@Getter
+@NoArgsConstructor
+public class NoticeActor {
+
+    private Long id;
+    private String nickname;
+    private String img;
+
+    public NoticeActor(Long id, String nickname, String img) {
+        this.id = id;
+        this.nickname = nickname;
+        this.img = img;
+    }
+}
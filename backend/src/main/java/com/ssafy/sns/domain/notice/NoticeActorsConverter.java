@@ -0,0 +1,38 @@
+package com.ssafy.sns.domain.notice;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.ArrayList;
+import java.util.List;
+
+// List<NoticeActor> <-> JSON 문자열 (notification.actor_sample)
+@Converter
+public class NoticeActorsConverter implements AttributeConverter<List<NoticeActor>, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<NoticeActor>> TYPE = new TypeReference<List<NoticeActor>>() {};
+
+    @Override
+    public String convertToDatabaseColumn(List<NoticeActor> actors) {
+        if (actors == null || actors.isEmpty()) return null;
+        try {
+            return MAPPER.writeValueAsString(actors);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Override
+    public List<NoticeActor> convertToEntityAttribute(String json) {
+        if (json == null || json.isEmpty()) return new ArrayList<>();
+        try {
+            return MAPPER.readValue(json, TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
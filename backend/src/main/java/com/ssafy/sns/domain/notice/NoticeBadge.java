@@ -0,0 +1,27 @@
+package com.ssafy.sns.domain.notice;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * 유저별 안 읽은 알림 수와 마지막으로 읽은 알림 id. 알림이 만들어질 때 올리고 읽음 처리 때 다시 센다.
+ * 읽기 / 쓰기는 NoticeBadgeRepository (JDBC) 로만 하고, 엔티티는 테이블 정의용이다.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "notice_badge")
+public class NoticeBadge {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "unread_cnt", nullable = false)
+    private int unreadCnt;
+
+    @Column(name = "last_read_id", nullable = false)
+    private long lastReadId;
+}
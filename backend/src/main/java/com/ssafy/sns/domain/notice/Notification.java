@@ -0,0 +1,149 @@
+package com.ssafy.sns.domain.notice;
+
+import com.ssafy.sns.domain.BaseTimeEntity;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 받는 사람 기준 알림함의 한 행.
+ * 보여줄 내용(보낸 사람 닉네임 / 사진, 피드 카테고리, 댓글 앞부분, 그룹 이름 등)을 작성 시점에 같이 저장해서
+ * 목록 조회는 (recipient_id, notification_id) 인덱스 범위 스캔 한 번으로 끝낸다.
+ * 박수 / 댓글 알림은 같은 피드에 대해 일정 시간 안에 온 것을 한 행으로 묶는다. (actorCnt 명, 최근 몇 명만 actorSample)
+ * 행 크기를 일정하게 두려고 묶인 사람 전부는 들고 있지 않는다. actorSample 에 있는 사람이 다시 오면 세지 않고,
+ * 밖으로 밀려난 사람이 다시 오면 한 번 더 셀 수 있다. (취소가 맞는 것인지는 OutboxProcessor 가 박수 / 댓글이 남았는지로 본다)
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "notification",
+        indexes = {
+                @Index(name = "idx_notification_recipient", columnList = "recipient_id, notification_id"),
+                @Index(name = "idx_notification_target", columnList = "recipient_id, feed_id, type"),
+                @Index(name = "idx_notification_feed", columnList = "feed_id"),
+                @Index(name = "idx_notification_group", columnList = "group_id")
+        })
+public class Notification extends BaseTimeEntity {
+
+    // 응답 dto 의 type 값
+    public static final int FOLLOW = 1;
+    public static final int FEED_CLAP = 2;
+    public static final int COMMENT = 3;
+    public static final int GROUP_JOIN = 4;
+
+    public static final int SNIPPET_LENGTH = 100;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "notification_id")
+    private Long id;
+
+    @Column(name = "recipient_id", nullable = false)
+    private Long recipientId;
+
+    private int type;
+
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    @Column(name = "actor_nickname")
+    private String actorNickname;
+
+    @Column(name = "actor_img")
+    private String actorImg;
+
+    @Column(name = "feed_id")
+    private Long feedId;
+
+    private String category;
+
+    @Column(length = SNIPPET_LENGTH)
+    private String snippet;
+
+    @Column(name = "group_id")
+    private Long groupId;
+
+    @Column(name = "group_name")
+    private String groupName;
+
+    @Column(name = "group_img")
+    private String groupImg;
+
+    // 묶인 사람 수
+    @Column(name = "actor_cnt")
+    private int actorCnt;
+
+    // 최근 사람부터 (맨 앞이 actorId)
+    @Convert(converter = NoticeActorsConverter.class)
+    @Column(name = "actor_sample", columnDefinition = "TEXT")
+    private List<NoticeActor> actorSample = new ArrayList<>();
+
+    @Builder
+    public Notification(Long recipientId, int type, Long actorId, String actorNickname, String actorImg,
+                        Long feedId, String category, String snippet, Long groupId, String groupName, String groupImg) {
+        this.recipientId = recipientId;
+        this.type = type;
+        this.actorId = actorId;
+        this.actorNickname = actorNickname;
+        this.actorImg = actorImg;
+        this.feedId = feedId;
+        this.category = category;
+        this.snippet = snippet == null || snippet.length() <= SNIPPET_LENGTH ? snippet : snippet.substring(0, SNIPPET_LENGTH);
+        this.groupId = groupId;
+        this.groupName = groupName;
+        this.groupImg = groupImg;
+        this.actorCnt = 1;
+        this.actorSample.add(new NoticeActor(actorId, actorNickname, actorImg));
+    }
+
+    // 박수, 댓글 알림만 묶는다
+    public static boolean isCoalescing(int type) {
+        return type == FEED_CLAP || type == COMMENT;
+    }
+
+    public boolean inSample(Long id) {
+        return actorSample.stream().anyMatch(actor -> actor.getId().equals(id));
+    }
+
+    // actorSample 밖에도 묶인 사람이 있다
+    public boolean hasHiddenActors() {
+        return actorCnt > actorSample.size();
+    }
+
+    // actorSample 에 있는 사람이면 맨 앞으로 옮기기만 한다
+    public void addActor(Long id, String nickname, String img, String snippet, int sampleSize) {
+        if (!inSample(id)) actorCnt++;
+        List<NoticeActor> next = new ArrayList<>(actorSample);
+        next.removeIf(actor -> actor.getId().equals(id));
+        next.add(0, new NoticeActor(id, nickname, img));
+        while (next.size() > sampleSize) {
+            next.remove(next.size() - 1);
+        }
+        this.actorSample = next;
+        this.actorId = id;
+        this.actorNickname = nickname;
+        this.actorImg = img;
+        if (snippet != null) {
+            this.snippet = snippet.length() <= SNIPPET_LENGTH ? snippet : snippet.substring(0, SNIPPET_LENGTH);
+        }
+    }
+
+    // 취소. actorSample 에 있거나 밖에 묶인 사람이 있을 때만 뺀다. 남은 사람 수를 돌려준다 (0 이면 지운다)
+    public int removeActor(Long id) {
+        if (!inSample(id) && !hasHiddenActors()) return actorCnt;
+        this.actorCnt = Math.max(actorCnt - 1, 0);
+        List<NoticeActor> next = new ArrayList<>(actorSample);
+        next.removeIf(actor -> actor.getId().equals(id));
+        this.actorSample = next;
+        if (!next.isEmpty()) {
+            this.actorId = next.get(0).getId();
+            this.actorNickname = next.get(0).getNickname();
+            this.actorImg = next.get(0).getImg();
+        }
+        return actorCnt;
+    }
+}
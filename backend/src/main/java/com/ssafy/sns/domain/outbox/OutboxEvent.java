@@ -0,0 +1,61 @@
+package com.ssafy.sns.domain.outbox;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 요청 트랜잭션 안에서 한 줄만 넣어두고, 실제 작업(알림 저장, 카운터 갱신 등)은 OutboxDispatcher 가 묶어서 처리한다.
+ * 처리되면 지우고, 실패하면 attempts 를 올려 next_attempt_at 이후에 다시 시도한다. 끝까지 실패하면 DEAD 로 남긴다.
+ * 읽기 / 쓰기는 OutboxRepository (JDBC) 로만 하고, 엔티티는 테이블 정의용이다.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "outbox_event",
+        indexes = {@Index(name = "idx_outbox_status", columnList = "status, outbox_event_id"),
+                @Index(name = "idx_outbox_aggregate", columnList = "aggregate_id, status, next_attempt_at")})
+public class OutboxEvent {
+
+    public static final String READY = "READY";
+    public static final String DEAD = "DEAD";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_event_id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxType type;
+
+    // 같은 aggregate 의 작업은 같은 레인에서 id 순서대로 처리된다
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false, length = 10)
+    private String status;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_date", nullable = false)
+    private LocalDateTime createdDate;
+
+    public OutboxEvent(Long id, OutboxType type, Long aggregateId, String payload, int attempts, LocalDateTime nextAttemptAt) {
+        this.id = id;
+        this.type = type;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+        this.status = READY;
+        this.attempts = attempts;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+}
@@ -0,0 +1,9 @@
+package com.ssafy.sns.domain.outbox;
+
+// outbox 에 쌓이는 후속 작업 종류
+public enum OutboxType {
+
+    NOTICE,     // 알림 저장 + 실시간 전송 (aggregate : 받는 사람, 그룹 가입은 그룹)
+    FEED_COUNT  // 피드 박수 / 댓글 수 증감 (aggregate : 피드)
+
+}
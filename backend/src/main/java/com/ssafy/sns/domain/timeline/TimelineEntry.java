@@ -0,0 +1,33 @@
+package com.ssafy.sns.domain.timeline;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+// DB 타임라인 저장소의 한 행. 팬아웃 insert 를 가볍게 하려고 연관관계 없이 id 만 둔다.
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "timeline_entry",
+        uniqueConstraints = @UniqueConstraint(name = "uk_timeline_owner_feed", columnNames = {"owner_id", "feed_id"}),
+        indexes = {
+                @Index(name = "idx_timeline_owner_author", columnList = "owner_id, author_id"),
+                @Index(name = "idx_timeline_feed", columnList = "feed_id")
+        })
+public class TimelineEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "timeline_entry_id")
+    private Long id;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(name = "feed_id", nullable = false)
+    private Long feedId;
+
+    @Column(name = "author_id", nullable = false)
+    private Long authorId;
+}
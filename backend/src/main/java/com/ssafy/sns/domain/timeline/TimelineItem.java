@@ -0,0 +1,16 @@
+package com.ssafy.sns.domain.timeline;
+
+import lombok.Getter;
+
+// 타임라인 한 칸 (피드 id, 작성자 id)
+@Getter
+public class TimelineItem {
+
+    private final long feedId;
+    private final long authorId;
+
+    public TimelineItem(long feedId, long authorId) {
+        this.feedId = feedId;
+        this.authorId = authorId;
+    }
+}
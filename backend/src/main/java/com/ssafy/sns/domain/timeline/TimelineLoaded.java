@@ -0,0 +1,21 @@
+package com.ssafy.sns.domain.timeline;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+// DB 타임라인이 만들어진 유저. 팔로우도 글도 없어 timeline_entry 가 비어 있는 유저도 재구성을 반복하지 않게 따로 둔다
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "timeline_loaded")
+public class TimelineLoaded {
+
+    @Id
+    @Column(name = "owner_id")
+    private Long ownerId;
+}
@@ -9,6 +9,8 @@ import com.ssafy.sns.domain.clap.FeedClap;
 import com.ssafy.sns.domain.comment.Comment;
 import com.ssafy.sns.domain.newsfeed.Feed;
 import lombok.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -20,6 +22,7 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @ToString
+@BatchSize(size = 100)
 @Entity
 public class User extends BaseTimeEntity {
 
@@ -98,7 +101,7 @@ public class User extends BaseTimeEntity {
     }
 
     public void deleteFeedClap(FeedClap feedClap) {
-        feedClapList.remove(feedClap);
+        if (Hibernate.isInitialized(feedClapList)) feedClapList.remove(feedClap);
         feedClap.setUser(null);
 
     }
@@ -110,7 +113,7 @@ public class User extends BaseTimeEntity {
     }
 
     public void deleteComment(Comment comment) {
-        commentList.remove(comment);
+        if (Hibernate.isInitialized(commentList)) commentList.remove(comment);
         comment.setUser(null);
     }
 
@@ -121,7 +124,7 @@ public class User extends BaseTimeEntity {
     }
 
     public void deleteCommentClap(CommentClap commentClap) {
-        commentClaps.remove(commentClap);
+        if (Hibernate.isInitialized(commentClaps)) commentClaps.remove(commentClap);
         commentClap.setUser(null);
     }
 }
@@ -0,0 +1,26 @@
+package com.ssafy.sns.dto.comment;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+// 커서 기반 댓글 목록 응답
+@Getter
+@ToString
+@NoArgsConstructor
+public class CommentSliceResponseDto {
+
+    private List<CommentDto> comments;
+    private String nextCursor;
+    private boolean hasNext;
+
+    @Builder
+    public CommentSliceResponseDto(List<CommentDto> comments, String nextCursor, boolean hasNext) {
+        this.comments = comments;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+}
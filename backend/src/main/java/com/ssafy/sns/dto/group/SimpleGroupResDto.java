@@ -18,4 +18,10 @@ public class SimpleGroupResDto {
         this.name = group.getName();
         this.groupImg = group.getGroupImg();
     }
+
+    public SimpleGroupResDto(Long id, String name, String groupImg) {
+        this.id = id;
+        this.name = name;
+        this.groupImg = groupImg;
+    }
 }
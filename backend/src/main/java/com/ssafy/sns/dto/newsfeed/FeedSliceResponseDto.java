@@ -0,0 +1,26 @@
+package com.ssafy.sns.dto.newsfeed;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+// 커서 기반 목록 응답 (nextCursor 를 다음 요청의 cursor 로 넘긴다)
+@Getter
+@ToString
+@NoArgsConstructor
+public class FeedSliceResponseDto<T> {
+
+    private List<T> feedList;
+    private String nextCursor;
+    private boolean hasNext;
+
+    @Builder
+    public FeedSliceResponseDto(List<T> feedList, String nextCursor, boolean hasNext) {
+        this.feedList = feedList;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+}
@@ -0,0 +1,20 @@
+package com.ssafy.sns.dto.newsfeed;
+
+import com.ssafy.sns.domain.newsfeed.Outdoor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// 주변 청산별곡 (검색 위치에서의 거리, m)
+@Getter
+@ToString
+@NoArgsConstructor
+public class NearbyOutdoorResponseDto extends OutdoorResponseDto {
+
+    double distance;
+
+    public NearbyOutdoorResponseDto(Outdoor outdoor, int commentCnt, int likeCnt, boolean isClap, boolean isFollow, double distance) {
+        super(outdoor, commentCnt, likeCnt, isClap, isFollow);
+        this.distance = distance;
+    }
+}
@@ -0,0 +1,27 @@
+package com.ssafy.sns.dto.newsfeed;
+
+import com.ssafy.sns.util.TileClusterIndex;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// 지도 핀 묶음 하나 (평균 위치, 글 수, 박수가 가장 많은 글)
+@Getter
+@ToString
+@NoArgsConstructor
+public class OutdoorClusterDto {
+
+    private double lat;
+    private double lng;
+    private int count;
+    private Long feedId;
+    private int clapCnt;
+
+    public OutdoorClusterDto(TileClusterIndex.Cluster cluster) {
+        this.lat = cluster.getLat();
+        this.lng = cluster.getLng();
+        this.count = cluster.getCount();
+        this.feedId = cluster.getTopId();
+        this.clapCnt = cluster.getTopClap();
+    }
+}
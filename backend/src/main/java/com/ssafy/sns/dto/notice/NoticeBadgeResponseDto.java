@@ -0,0 +1,20 @@
+package com.ssafy.sns.dto.notice;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// 알림 배지 (안 읽은 수, 마지막으로 읽은 알림 id)
+@Getter
+@ToString
+@NoArgsConstructor
+public class NoticeBadgeResponseDto {
+
+    private int unreadCnt;
+    private long lastReadId;
+
+    public NoticeBadgeResponseDto(int unreadCnt, long lastReadId) {
+        this.unreadCnt = unreadCnt;
+        this.lastReadId = lastReadId;
+    }
+}
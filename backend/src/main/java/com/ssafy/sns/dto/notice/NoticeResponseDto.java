@@ -1,5 +1,7 @@
 package com.ssafy.sns.dto.notice;
 
+import com.ssafy.sns.domain.notice.NoticeActor;
+import com.ssafy.sns.domain.notice.Notification;
 import com.ssafy.sns.dto.group.SimpleGroupResDto;
 import com.ssafy.sns.dto.user.SimpleUserDto;
 import lombok.Builder;
@@ -7,6 +9,9 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Getter
 @ToString
 @NoArgsConstructor
@@ -18,6 +23,8 @@ public class NoticeResponseDto {
     private String category;
     private String commentContent;
     private SimpleGroupResDto group;
+    private int actorCnt;                // 묶음 알림의 전체 인원 (other 포함)
+    private List<SimpleUserDto> others;  // other 외에 이름을 보여줄 사람들
 
     @Builder
     public NoticeResponseDto(int type, SimpleUserDto other) {
@@ -48,4 +55,23 @@ public class NoticeResponseDto {
         this.other = other;
         this.group = group;
     }
+
+    // 알림함에 저장해둔 내용 그대로
+    public NoticeResponseDto(Notification notification) {
+        this.type = notification.getType();
+        this.other = new SimpleUserDto(notification.getActorId(), notification.getActorNickname(), notification.getActorImg());
+        this.feedId = notification.getFeedId();
+        this.category = notification.getCategory();
+        this.commentContent = notification.getSnippet();
+        this.actorCnt = notification.getActorCnt();
+        this.others = new ArrayList<>();
+        for (NoticeActor actor : notification.getActorSample()) {
+            if (!actor.getId().equals(notification.getActorId())) {
+                others.add(new SimpleUserDto(actor.getId(), actor.getNickname(), actor.getImg()));
+            }
+        }
+        if (notification.getGroupId() != null) {
+            this.group = new SimpleGroupResDto(notification.getGroupId(), notification.getGroupName(), notification.getGroupImg());
+        }
+    }
 }
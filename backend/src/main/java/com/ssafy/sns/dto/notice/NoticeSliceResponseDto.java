@@ -0,0 +1,26 @@
+package com.ssafy.sns.dto.notice;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+// 커서 기반 알림 목록 응답 (nextCursor 를 다음 요청의 cursor 로 넘긴다)
+@Getter
+@ToString
+@NoArgsConstructor
+public class NoticeSliceResponseDto {
+
+    private List<NoticeResponseDto> noticeList;
+    private String nextCursor;
+    private boolean hasNext;
+
+    @Builder
+    public NoticeSliceResponseDto(List<NoticeResponseDto> noticeList, String nextCursor, boolean hasNext) {
+        this.noticeList = noticeList;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+}
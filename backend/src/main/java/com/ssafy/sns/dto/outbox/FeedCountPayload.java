@@ -0,0 +1,20 @@
+package com.ssafy.sns.dto.outbox;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// FEED_COUNT outbox 내용
+@Getter
+@NoArgsConstructor
+public class FeedCountPayload {
+
+    private Long feedId;
+    private int clapDelta;
+    private int commentDelta;
+
+    public FeedCountPayload(Long feedId, int clapDelta, int commentDelta) {
+        this.feedId = feedId;
+        this.clapDelta = clapDelta;
+        this.commentDelta = commentDelta;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ssafy.sns.dto.outbox;
+
+import com.ssafy.sns.domain.notice.Notification;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// NOTICE outbox 내용. 요청 시점에 이미 읽어둔 값으로 채운다. (recipientId 가 없으면 groupId 의 그룹장들)
+@Getter
+@NoArgsConstructor
+public class NoticePayload {
+
+    private Long recipientId;
+    private int type;
+    private Long actorId;
+    private String actorNickname;
+    private String actorImg;
+    private Long feedId;
+    private String category;
+    private String snippet;
+    private Long groupId;
+    private String groupName;
+    private String groupImg;
+    private boolean retract; // 박수 취소 : 묶음 알림에서 빼기
+
+    @Builder
+    public NoticePayload(Long recipientId, int type, Long actorId, String actorNickname, String actorImg,
+                         Long feedId, String category, String snippet, Long groupId, String groupName, String groupImg, boolean retract) {
+        this.recipientId = recipientId;
+        this.type = type;
+        this.actorId = actorId;
+        this.actorNickname = actorNickname;
+        this.actorImg = actorImg;
+        this.feedId = feedId;
+        this.category = category;
+        this.snippet = snippet;
+        this.groupId = groupId;
+        this.groupName = groupName;
+        this.groupImg = groupImg;
+        this.retract = retract;
+    }
+
+    public Notification toEntity(Long recipientId) {
+        return Notification.builder()
+                .recipientId(recipientId)
+                .type(type)
+                .actorId(actorId)
+                .actorNickname(actorNickname)
+                .actorImg(actorImg)
+                .feedId(feedId)
+                .category(category)
+                .snippet(snippet)
+                .groupId(groupId)
+                .groupName(groupName)
+                .groupImg(groupImg)
+                .build();
+    }
+}
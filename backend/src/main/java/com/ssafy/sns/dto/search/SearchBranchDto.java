@@ -0,0 +1,20 @@
+package com.ssafy.sns.dto.search;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// 전체 검색 갈래별 결과 상태 (OK, TIMEOUT, ERROR) 와 걸린 시간
+@Getter
+@ToString
+@NoArgsConstructor
+public class SearchBranchDto {
+
+    private String status;
+    private long elapsedMs;
+
+    public SearchBranchDto(String status, long elapsedMs) {
+        this.status = status;
+        this.elapsedMs = elapsedMs;
+    }
+}
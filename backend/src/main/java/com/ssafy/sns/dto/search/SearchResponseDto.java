@@ -1,29 +1,33 @@
-package com.ssafy.sns.dto.search;
-
-import com.ssafy.sns.domain.newsfeed.Feed;
-import com.ssafy.sns.domain.newsfeed.Indoor;
-import com.ssafy.sns.dto.newsfeed.FeedResponseDto;
-import com.ssafy.sns.dto.newsfeed.IndoorResponseDto;
-import com.ssafy.sns.dto.newsfeed.InsiderResDto;
-import lombok.Builder;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.ToString;
-
-import java.util.ArrayList;
-import java.util.List;
-
-@Getter
-@ToString
-@NoArgsConstructor
-public class SearchResponseDto {
-    private String tagName;
-    private List<InsiderResDto> indoorResponseDtoList = new ArrayList<>();
-
-    @Builder
-    public SearchResponseDto(String tagName, List<InsiderResDto> indoorResponseDtoList) {
-        this.tagName = tagName;
-        this.indoorResponseDtoList = indoorResponseDtoList;
-    }
-
-}
+package com.ssafy.sns.dto.search;
+
+import com.ssafy.sns.dto.newsfeed.InsiderResDto;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 태그 하나의 피드 검색 결과 (최신순 일부, 나머지는 nextCursor 로 /search/feed/more)
+@Getter
+@ToString
+@NoArgsConstructor
+public class SearchResponseDto {
+    private String tagName;
+    private List<InsiderResDto> indoorResponseDtoList = new ArrayList<>();
+    private long totalCnt;
+    private String nextCursor;
+    private boolean hasNext;
+
+    @Builder
+    public SearchResponseDto(String tagName, List<InsiderResDto> indoorResponseDtoList, long totalCnt,
+                             String nextCursor, boolean hasNext) {
+        this.tagName = tagName;
+        this.indoorResponseDtoList = indoorResponseDtoList;
+        this.totalCnt = totalCnt;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+}
@@ -21,4 +21,10 @@ public class SimpleUserDto {
         this.nickname = user.getNickname();
         this.img = user.getImg();
     }
+
+    public SimpleUserDto(Long id, String nickname, String img) {
+        this.id = id;
+        this.nickname = nickname;
+        this.img = img;
+    }
 }
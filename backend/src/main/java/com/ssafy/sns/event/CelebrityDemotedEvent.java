@@ -0,0 +1,14 @@
+package com.ssafy.sns.event;
+
+import lombok.Getter;
+
+// 팔로워가 줄어 셀럽에서 빠진 유저 (CelebrityRegistry 갱신 직후)
+@Getter
+public class CelebrityDemotedEvent {
+
+    private final Long userId;
+
+    public CelebrityDemotedEvent(Long userId) {
+        this.userId = userId;
+    }
+}
@@ -0,0 +1,30 @@
+package com.ssafy.sns.event;
+
+import com.ssafy.sns.domain.newsfeed.FeedCategory;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 피드 박수 / 박수 취소 (커밋 이후 처리)
+@Getter
+public class FeedClapEvent {
+
+    private final Long feedId;
+    private final Long userId;
+    private final FeedCategory category;
+    private final boolean clap;
+    private final LocalDateTime clapDate; // 박수친 시간 (취소면 취소된 박수의 시간)
+
+    public FeedClapEvent(Long feedId, Long userId, FeedCategory category, boolean clap, LocalDateTime clapDate) {
+        this.feedId = feedId;
+        this.userId = userId;
+        this.category = category;
+        this.clap = clap;
+        this.clapDate = clapDate;
+    }
+
+    // 박수 수 증감
+    public int getDelta() {
+        return clap ? 1 : -1;
+    }
+}
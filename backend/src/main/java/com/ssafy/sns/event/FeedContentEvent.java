@@ -0,0 +1,20 @@
+package com.ssafy.sns.event;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 피드 작성 / 수정으로 본문이 바뀜 (커밋 이후 본문 검색 색인에 반영)
+@Getter
+public class FeedContentEvent {
+
+    private final Long feedId;
+    private final String content;
+    private final LocalDateTime createdDate;
+
+    public FeedContentEvent(Long feedId, String content, LocalDateTime createdDate) {
+        this.feedId = feedId;
+        this.content = content;
+        this.createdDate = createdDate;
+    }
+}
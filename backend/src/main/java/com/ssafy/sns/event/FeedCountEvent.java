@@ -0,0 +1,18 @@
+package com.ssafy.sns.event;
+
+import lombok.Getter;
+
+// 피드 박수 / 댓글 수 변경 (커밋 이후 실시간 전송)
+@Getter
+public class FeedCountEvent {
+
+    private final Long feedId;
+    private final int clapCnt;
+    private final int commentCnt;
+
+    public FeedCountEvent(Long feedId, int clapCnt, int commentCnt) {
+        this.feedId = feedId;
+        this.clapCnt = clapCnt;
+        this.commentCnt = commentCnt;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ssafy.sns.event;
+
+import com.ssafy.sns.domain.newsfeed.FeedCategory;
+import lombok.Getter;
+
+// 피드 삭제 (커밋 이후 처리)
+@Getter
+public class FeedDeletedEvent {
+
+    private final Long feedId;
+    private final Long authorId;
+    private final FeedCategory category;
+
+    public FeedDeletedEvent(Long feedId, Long authorId, FeedCategory category) {
+        this.feedId = feedId;
+        this.authorId = authorId;
+        this.category = category;
+    }
+}
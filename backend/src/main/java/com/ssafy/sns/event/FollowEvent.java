@@ -0,0 +1,18 @@
+package com.ssafy.sns.event;
+
+import lombok.Getter;
+
+// 팔로우 / 팔로우 취소 (커밋 이후 처리)
+@Getter
+public class FollowEvent {
+
+    private final Long fromUserId;
+    private final Long toUserId;
+    private final boolean follow;
+
+    public FollowEvent(Long fromUserId, Long toUserId, boolean follow) {
+        this.fromUserId = fromUserId;
+        this.toUserId = toUserId;
+        this.follow = follow;
+    }
+}
@@ -0,0 +1,14 @@
+package com.ssafy.sns.event;
+
+import lombok.Getter;
+
+// 그룹 삭제 (커밋 이후 처리). 그룹 글은 cascade 로 같이 지워지고 FeedDeletedEvent 는 따로 나가지 않는다
+@Getter
+public class GroupDeletedEvent {
+
+    private final Long groupId;
+
+    public GroupDeletedEvent(Long groupId) {
+        this.groupId = groupId;
+    }
+}
@@ -0,0 +1,16 @@
+package com.ssafy.sns.event;
+
+import lombok.Getter;
+
+// 피드에 태그가 붙거나 (+1) 떨어짐 (-1) (커밋 이후 자동완성 사용 수에 반영)
+@Getter
+public class HashtagUsageEvent {
+
+    private final Long hashtagId;
+    private final int delta;
+
+    public HashtagUsageEvent(Long hashtagId, int delta) {
+        this.hashtagId = hashtagId;
+        this.delta = delta;
+    }
+}
@@ -0,0 +1,16 @@
+package com.ssafy.sns.event;
+
+import lombok.Getter;
+
+import java.util.Collection;
+
+// 알림이 지워지거나 다시 세어져 알림 수가 바뀐 유저 (커밋 이후 배지 캐시 비우기)
+@Getter
+public class NoticeBadgeEvent {
+
+    private final Collection<Long> userIds;
+
+    public NoticeBadgeEvent(Collection<Long> userIds) {
+        this.userIds = userIds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ssafy.sns.event;
+
+import com.ssafy.sns.dto.notice.NoticeResponseDto;
+import lombok.Getter;
+
+// 알림 저장 (커밋 이후 실시간 전송)
+@Getter
+public class NoticeEvent {
+
+    private final Long recipientId;
+    private final Long noticeId;
+    private final NoticeResponseDto notice;
+
+    public NoticeEvent(Long recipientId, Long noticeId, NoticeResponseDto notice) {
+        this.recipientId = recipientId;
+        this.noticeId = noticeId;
+        this.notice = notice;
+    }
+}
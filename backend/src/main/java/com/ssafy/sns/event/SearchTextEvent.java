@@ -0,0 +1,22 @@
+package com.ssafy.sns.event;
+
+import lombok.Getter;
+
+// 검색 대상 이름 추가 / 변경 / 삭제 (text 가 null 이면 삭제, 커밋 이후 색인에 반영)
+@Getter
+public class SearchTextEvent {
+
+    public enum Target {
+        HASHTAG, USER, GROUP
+    }
+
+    private final Target target;
+    private final Long id;
+    private final String text;
+
+    public SearchTextEvent(Target target, Long id, String text) {
+        this.target = target;
+        this.id = id;
+        this.text = text;
+    }
+}
@@ -22,6 +22,7 @@ public class JwtService {
     private String signature = "TOKEN";
     private final Long REF_EXPIRE = 60L * 24 * 10;
     private final Long ACC_EXPIRE = 60L;
+    private final Long STREAM_EXPIRE = 1L;
 
     //	로그인 성공시 사용자 정보를 기반으로 JWTToken을 생성하여 반환.
     public String createRefreshToken(Long id) {
@@ -71,6 +72,19 @@ public class JwtService {
     }
 
 
+    //	SSE 구독용 토큰. EventSource 는 헤더를 못 붙여서 쿼리로 보내므로 유효기간을 짧게 둔다.
+    //	1회성은 아니다. 유효기간 안에는 EventSource 가 같은 주소로 다시 연결할 때 그대로 쓸 수 있다.
+    public String createStreamToken(Long id) {
+        JwtBuilder jwtBuilder = Jwts.builder();
+        jwtBuilder.setHeaderParam("typ", "JWT");
+        jwtBuilder
+                .setSubject("StreamToken")
+                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * STREAM_EXPIRE))
+                .claim("userId", id);
+        jwtBuilder.signWith(SignatureAlgorithm.HS256, signature.getBytes());
+        return jwtBuilder.compact();
+    }
+
     //	전달 받은 토큰이 제대로 생성된것이니 확인 하고 문제가 있다면 RuntimeException을 발생.
     public void checkValid(String jwt) {
 //		예외가 발생하지 않으면 OK
@@ -102,4 +116,13 @@ public class JwtService {
         String refToken = (String) getToken(token).get("RefreshToken");
         return Long.parseLong(String.valueOf(getToken(refToken).get("userId")));
     }
-}
\ No newline at end of file
+
+    // SSE 구독용 토큰의 유저 id (다른 종류의 토큰이면 RuntimeException)
+    public Long findStreamId(String token) {
+        Map<String, Object> claims = getToken(token);
+        if (!"StreamToken".equals(claims.get("sub"))) {
+            throw new RuntimeException("구독용 토큰이 아닙니다.");
+        }
+        return Long.parseLong(String.valueOf(claims.get("userId")));
+    }
+}
@@ -5,7 +5,9 @@ import com.ssafy.sns.domain.comment.Comment;
 import com.ssafy.sns.domain.user.User;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 public interface CommentClapRepository {
@@ -17,4 +19,10 @@ public interface CommentClapRepository {
     CommentClap save(CommentClap commentClap);
 
     List<CommentClap> findClapAll(Comment comment);
+
+    // 댓글 id 목록 중 유저가 박수친 댓글 id
+    Set<Long> findClapCommentIds(Long userId, List<Long> commentIds);
+
+    // 댓글 id 목록별 박수 수
+    Map<Long, Integer> countByCommentIds(List<Long> commentIds);
 }
@@ -9,8 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.stream.Stream;
 
 @Repository
@@ -49,4 +48,33 @@ public class CommentClapRepositoryImpl implements CommentClapRepository {
                 .setParameter("commentId", comment.getId())
                 .getResultList();
     }
+
+    @Override
+    public Set<Long> findClapCommentIds(Long userId, List<Long> commentIds) {
+        if (commentIds.isEmpty()) return new HashSet<>();
+
+        return new HashSet<>(em.createQuery("SELECT c.comment.id " +
+                "FROM CommentClap c " +
+                "WHERE c.user.id = :userId AND c.comment.id IN :commentIds", Long.class)
+                .setParameter("userId", userId)
+                .setParameter("commentIds", commentIds)
+                .getResultList());
+    }
+
+    @Override
+    public Map<Long, Integer> countByCommentIds(List<Long> commentIds) {
+        Map<Long, Integer> result = new HashMap<>();
+        if (commentIds.isEmpty()) return result;
+
+        List<Object[]> rows = em.createQuery("SELECT c.comment.id, COUNT(c) " +
+                "FROM CommentClap c " +
+                "WHERE c.comment.id IN :commentIds " +
+                "GROUP BY c.comment.id", Object[].class)
+                .setParameter("commentIds", commentIds)
+                .getResultList();
+        for (Object[] row : rows) {
+            result.put((Long) row[0], ((Long) row[1]).intValue());
+        }
+        return result;
+    }
 }
@@ -3,6 +3,9 @@ package com.ssafy.sns.repository;
 import com.ssafy.sns.domain.comment.Comment;
 import com.ssafy.sns.domain.newsfeed.Feed;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 public interface CommentRepository {
@@ -17,4 +20,16 @@ public interface CommentRepository {
     Stream<Comment> findListById(Feed feed, int num);
 
     Stream<Comment> findListById(Feed feed);
+
+    // 커서 이후 댓글 size 개 (작성시간, id 내림차순)
+    List<Comment> findListAfter(Long feedId, LocalDateTime createdDate, Long id, int size);
+
+    // 피드 id 목록별 댓글 수
+    Map<Long, Integer> countByFeedIds(List<Long> feedIds);
+
+    // 박수 수 증감
+    void addClapCnt(Long commentId, int delta);
+
+    // 유저가 피드에 남긴 댓글이 있는지
+    boolean existsByUserAndFeed(Long userId, Long feedId);
 }
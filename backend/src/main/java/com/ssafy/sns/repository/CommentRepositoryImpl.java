@@ -7,6 +7,10 @@ import org.hibernate.sql.Select;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 @Repository
@@ -54,4 +58,54 @@ public class CommentRepositoryImpl implements CommentRepository {
                 .setParameter("feedId", feed.getId())
                 .getResultStream();
     }
+
+    @Override
+    public List<Comment> findListAfter(Long feedId, LocalDateTime createdDate, Long id, int size) {
+        return em.createQuery("SELECT c " +
+                "FROM Comment c " +
+                "WHERE c.feed.id = :feedId " +
+                "AND (c.createdDate < :createdDate OR (c.createdDate = :createdDate AND c.id < :id)) " +
+                "ORDER BY c.createdDate DESC, c.id DESC", Comment.class)
+                .setParameter("feedId", feedId)
+                .setParameter("createdDate", createdDate)
+                .setParameter("id", id)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    @Override
+    public Map<Long, Integer> countByFeedIds(List<Long> feedIds) {
+        Map<Long, Integer> result = new HashMap<>();
+        if (feedIds.isEmpty()) return result;
+
+        List<Object[]> rows = em.createQuery("SELECT c.feed.id, COUNT(c) " +
+                "FROM Comment c " +
+                "WHERE c.feed.id IN :feedIds " +
+                "GROUP BY c.feed.id", Object[].class)
+                .setParameter("feedIds", feedIds)
+                .getResultList();
+        for (Object[] row : rows) {
+            result.put((Long) row[0], ((Long) row[1]).intValue());
+        }
+        return result;
+    }
+
+    @Override
+    public void addClapCnt(Long commentId, int delta) {
+        em.createQuery("UPDATE Comment c SET c.clapCnt = c.clapCnt + :delta WHERE c.id = :commentId")
+                .setParameter("delta", delta)
+                .setParameter("commentId", commentId)
+                .executeUpdate();
+    }
+
+    @Override
+    public boolean existsByUserAndFeed(Long userId, Long feedId) {
+        return !em.createQuery("SELECT c.id FROM Comment c " +
+                "WHERE c.user.id = :userId AND c.feed.id = :feedId", Long.class)
+                .setParameter("userId", userId)
+                .setParameter("feedId", feedId)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
 }
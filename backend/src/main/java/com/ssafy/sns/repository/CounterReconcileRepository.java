@@ -0,0 +1,66 @@
+package com.ssafy.sns.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+/**
+ * 피드, 댓글에 저장된 박수 수 / 댓글 수 보정용 쿼리.
+ * 테이블 하나만 id 순서대로 잘라서 읽고, 값이 그 사이에 바뀌지 않은 경우에만 고친다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CounterReconcileRepository {
+
+    private final EntityManager em;
+
+    // [feed_id, clap_cnt, comment_cnt]
+    public List<Object[]> findFeedCounters(Long lastId, int size) {
+        return em.createNativeQuery("SELECT feed_id, clap_cnt, comment_cnt " +
+                "FROM feed " +
+                "WHERE feed_id > ? " +
+                "ORDER BY feed_id " +
+                "LIMIT ?")
+                .setParameter(1, lastId)
+                .setParameter(2, size)
+                .getResultList();
+    }
+
+    // [comment_id, clap_cnt]
+    public List<Object[]> findCommentCounters(Long lastId, int size) {
+        return em.createNativeQuery("SELECT comment_id, clap_cnt " +
+                "FROM comment " +
+                "WHERE comment_id > ? " +
+                "ORDER BY comment_id " +
+                "LIMIT ?")
+                .setParameter(1, lastId)
+                .setParameter(2, size)
+                .getResultList();
+    }
+
+    public int fixFeedClapCnt(Long feedId, int stale, int actual) {
+        return em.createNativeQuery("UPDATE feed SET clap_cnt = ? WHERE feed_id = ? AND clap_cnt = ?")
+                .setParameter(1, actual)
+                .setParameter(2, feedId)
+                .setParameter(3, stale)
+                .executeUpdate();
+    }
+
+    public int fixFeedCommentCnt(Long feedId, int stale, int actual) {
+        return em.createNativeQuery("UPDATE feed SET comment_cnt = ? WHERE feed_id = ? AND comment_cnt = ?")
+                .setParameter(1, actual)
+                .setParameter(2, feedId)
+                .setParameter(3, stale)
+                .executeUpdate();
+    }
+
+    public int fixCommentClapCnt(Long commentId, int stale, int actual) {
+        return em.createNativeQuery("UPDATE comment SET clap_cnt = ? WHERE comment_id = ? AND clap_cnt = ?")
+                .setParameter(1, actual)
+                .setParameter(2, commentId)
+                .setParameter(3, stale)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,92 @@
+package com.ssafy.sns.repository;
+
+import com.ssafy.sns.domain.timeline.TimelineItem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * timeline_entry 테이블 타임라인. 서버 여러 대가 같은 타임라인을 봐야 할 때 사용.
+ * 팬아웃은 JDBC batch insert 로 넣고, 보관 개수를 넘긴 행은 주기적으로 지운다.
+ */
+@Repository
+@ConditionalOnProperty(name = "timeline.store", havingValue = "db")
+public class DbTimelineStore implements TimelineStore {
+
+    private static final String INSERT_SQL =
+            "INSERT IGNORE INTO timeline_entry (owner_id, feed_id, author_id) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int capacity;
+
+    public DbTimelineStore(JdbcTemplate jdbcTemplate, @Value("${timeline.inbox-size:500}") int capacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void pushAll(Collection<Long> ownerIds, Long feedId, Long authorId) {
+        List<Object[]> args = new ArrayList<>(ownerIds.size());
+        for (Long ownerId : ownerIds) {
+            args.add(new Object[]{ownerId, feedId, authorId});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+
+    @Override
+    public void pushItems(Long ownerId, List<TimelineItem> items) {
+        List<Object[]> args = new ArrayList<>(items.size());
+        for (TimelineItem item : items) {
+            args.add(new Object[]{ownerId, item.getFeedId(), item.getAuthorId()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+
+    @Override
+    public List<Long> read(Long ownerId, Long beforeFeedId, int size) {
+        return jdbcTemplate.queryForList("SELECT feed_id FROM timeline_entry " +
+                "WHERE owner_id = ? AND feed_id < ? " +
+                "ORDER BY feed_id DESC LIMIT ?", Long.class, ownerId, beforeFeedId, size);
+    }
+
+    @Override
+    public void removeAuthor(Long ownerId, Long authorId) {
+        jdbcTemplate.update("DELETE FROM timeline_entry WHERE owner_id = ? AND author_id = ?", ownerId, authorId);
+    }
+
+    @Override
+    public void removeFeed(Long feedId) {
+        jdbcTemplate.update("DELETE FROM timeline_entry WHERE feed_id = ?", feedId);
+    }
+
+    @Override
+    public boolean isLoaded(Long ownerId) {
+        return !jdbcTemplate.queryForList("SELECT 1 FROM timeline_loaded WHERE owner_id = ?",
+                Integer.class, ownerId).isEmpty();
+    }
+
+    @Override
+    public void markLoaded(Long ownerId) {
+        jdbcTemplate.update("INSERT IGNORE INTO timeline_loaded (owner_id) VALUES (?)", ownerId);
+    }
+
+    // 보관 개수를 넘긴 유저만 골라서 오래된 행 삭제
+    @Scheduled(fixedDelayString = "${timeline.trim-interval:600000}")
+    public void trim() {
+        List<Long> ownerIds = jdbcTemplate.queryForList("SELECT owner_id FROM timeline_entry " +
+                "GROUP BY owner_id HAVING COUNT(*) > ?", Long.class, capacity);
+        for (Long ownerId : ownerIds) {
+            List<Long> boundary = jdbcTemplate.queryForList("SELECT feed_id FROM timeline_entry " +
+                    "WHERE owner_id = ? ORDER BY feed_id DESC LIMIT 1 OFFSET ?", Long.class, ownerId, capacity - 1);
+            if (boundary.isEmpty()) continue;
+            jdbcTemplate.update("DELETE FROM timeline_entry WHERE owner_id = ? AND feed_id < ?",
+                    ownerId, boundary.get(0));
+        }
+    }
+}
@@ -4,8 +4,13 @@ import com.ssafy.sns.domain.clap.FeedClap;
 import com.ssafy.sns.domain.newsfeed.Feed;
 import com.ssafy.sns.domain.user.User;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface FeedClapRepository {
 
@@ -19,4 +24,18 @@ public interface FeedClapRepository {
 
     FeedClap findById(Long feedClapId);
 
+    // 피드 id 목록별 박수 수
+    Map<Long, Integer> countByFeedIds(List<Long> feedIds);
+
+    // 피드 id 목록 중 유저가 박수친 피드 id
+    Set<Long> findClapFeedIds(Long userId, List<Long> feedIds);
+
+    // time 이후 박수 [feed_id, 피드 타입(Class), 박수 시간]
+    Stream<Object[]> streamClapsAfter(LocalDateTime time);
+
+    // 피드 id 목록의 time 이후 박수 [feed_id, 피드 타입(Class), 박수 시간]
+    List<Object[]> findClapsAfter(Collection<Long> feedIds, LocalDateTime time);
+
+    // 유저가 피드에 박수를 쳤는지
+    boolean existsByUserAndFeed(Long userId, Long feedId);
 }
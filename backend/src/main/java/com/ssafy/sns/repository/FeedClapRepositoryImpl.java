@@ -6,12 +6,13 @@ import com.ssafy.sns.domain.newsfeed.Indoor;
 import com.ssafy.sns.domain.newsfeed.Outdoor;
 import com.ssafy.sns.domain.user.User;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
@@ -51,4 +52,69 @@ public class FeedClapRepositoryImpl implements FeedClapRepository {
     public FeedClap findById(Long feedClapId) {
         return em.find(FeedClap.class, feedClapId);
     }
+
+    @Override
+    public Map<Long, Integer> countByFeedIds(List<Long> feedIds) {
+        Map<Long, Integer> result = new HashMap<>();
+        if (feedIds.isEmpty()) return result;
+
+        List<Object[]> rows = em.createQuery("SELECT f.feed.id, COUNT(f) " +
+                "FROM FeedClap f " +
+                "WHERE f.feed.id IN :feedIds " +
+                "GROUP BY f.feed.id", Object[].class)
+                .setParameter("feedIds", feedIds)
+                .getResultList();
+        for (Object[] row : rows) {
+            result.put((Long) row[0], ((Long) row[1]).intValue());
+        }
+        return result;
+    }
+
+    @Override
+    public Set<Long> findClapFeedIds(Long userId, List<Long> feedIds) {
+        if (feedIds.isEmpty()) return new HashSet<>();
+
+        return new HashSet<>(em.createQuery("SELECT f.feed.id " +
+                "FROM FeedClap f " +
+                "WHERE f.user.id = :userId AND f.feed.id IN :feedIds", Long.class)
+                .setParameter("userId", userId)
+                .setParameter("feedIds", feedIds)
+                .getResultList());
+    }
+
+    @Override
+    public boolean existsByUserAndFeed(Long userId, Long feedId) {
+        return !em.createQuery("SELECT f.id FROM FeedClap f " +
+                "WHERE f.user.id = :userId AND f.feed.id = :feedId", Long.class)
+                .setParameter("userId", userId)
+                .setParameter("feedId", feedId)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    // MySQL 드라이버는 fetch size 가 MIN_VALUE 여야 한 줄씩 흘려 보낸다 (트랜잭션 안에서)
+    @Override
+    public Stream<Object[]> streamClapsAfter(LocalDateTime time) {
+        return em.createQuery("SELECT fe.id, TYPE(fe), f.createdDate " +
+                "FROM FeedClap f " +
+                "JOIN f.feed fe " +
+                "WHERE f.createdDate > :time", Object[].class)
+                .setParameter("time", time)
+                .setHint(QueryHints.HINT_FETCH_SIZE, Integer.MIN_VALUE)
+                .getResultStream();
+    }
+
+    @Override
+    public List<Object[]> findClapsAfter(Collection<Long> feedIds, LocalDateTime time) {
+        if (feedIds.isEmpty()) return new ArrayList<>();
+
+        return em.createQuery("SELECT fe.id, TYPE(fe), f.createdDate " +
+                "FROM FeedClap f " +
+                "JOIN f.feed fe " +
+                "WHERE fe.id IN :feedIds AND f.createdDate > :time", Object[].class)
+                .setParameter("feedIds", feedIds)
+                .setParameter("time", time)
+                .getResultList();
+    }
 }
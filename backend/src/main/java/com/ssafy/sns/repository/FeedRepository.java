@@ -1,7 +1,11 @@
 package com.ssafy.sns.repository;
 
 import com.ssafy.sns.domain.newsfeed.Feed;
+import com.ssafy.sns.domain.timeline.TimelineItem;
+import org.hibernate.ScrollableResults;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface FeedRepository {
@@ -12,9 +16,27 @@ public interface FeedRepository {
     // 한페이지 불러오기
     List<Feed> findList(int num, Object category);
 
+    // 커서 이후 size 개 불러오기 (작성시간, id 내림차순)
+    List<Feed> findListAfter(Object category, LocalDateTime createdDate, Long id, int size);
+
+    // 커서 이후 내가 쓴글 size 개 불러오기
+    List<Feed> findMyListAfter(Long userId, Object category, LocalDateTime createdDate, Long id, int size);
+
     // 피드 글 불러오기
     Feed findById(Long feedId);
 
+    // id 목록으로 피드 불러오기 (요청한 순서 유지)
+    List<Feed> findAllByIds(List<Long> feedIds);
+
+    // 전체 피드 [id, 본문, 작성시간] 을 한 줄씩 (본문 색인 재구성용)
+    ScrollableResults scrollContents();
+
+    // 작성자 목록의 최근 글 size 개 (피드 id 내림차순, 타임라인 채우기용)
+    List<TimelineItem> findRecentItems(Collection<Long> userIds, int size);
+
+    // 한 작성자의 beforeFeedId 이전 글 id size 개 (피드 id 내림차순)
+    List<Long> findRecentIdsByUser(Long userId, Long beforeFeedId, int size);
+
     // 피드 글쓰기
     Feed save(Feed feed);
 
@@ -22,4 +44,10 @@ public interface FeedRepository {
     void remove(Feed feed);
 
     Object findCategory(Long feedId);
+
+    // 박수 수 증감
+    void addClapCnt(Long feedId, int delta);
+
+    // 댓글 수 증감
+    void addCommentCnt(Long feedId, int delta);
 }
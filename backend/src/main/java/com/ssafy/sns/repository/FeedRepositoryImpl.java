@@ -4,14 +4,19 @@ import com.ssafy.sns.domain.clap.FeedClap;
 import com.ssafy.sns.domain.newsfeed.Feed;
 import com.ssafy.sns.domain.newsfeed.Indoor;
 import com.ssafy.sns.domain.newsfeed.Outdoor;
+import com.ssafy.sns.domain.timeline.TimelineItem;
 import com.ssafy.sns.domain.user.User;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Repository
 @RequiredArgsConstructor
@@ -46,11 +51,97 @@ public class FeedRepositoryImpl implements FeedRepository {
                 .getResultList();
     }
 
+    @Override
+    public List<Feed> findListAfter(Object category, LocalDateTime createdDate, Long id, int size) {
+        return em.createQuery("SELECT f " +
+                "FROM Feed f " +
+                "WHERE TYPE(f) = :category " +
+                "AND (f.createdDate < :createdDate OR (f.createdDate = :createdDate AND f.id < :id)) " +
+                "ORDER BY f.createdDate DESC, f.id DESC", Feed.class)
+                .setParameter("category", category)
+                .setParameter("createdDate", createdDate)
+                .setParameter("id", id)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    @Override
+    public List<Feed> findMyListAfter(Long userId, Object category, LocalDateTime createdDate, Long id, int size) {
+        return em.createQuery("SELECT f " +
+                "FROM Feed f " +
+                "WHERE f.user.id = :userId AND TYPE(f) = :category " +
+                "AND (f.createdDate < :createdDate OR (f.createdDate = :createdDate AND f.id < :id)) " +
+                "ORDER BY f.createdDate DESC, f.id DESC", Feed.class)
+                .setParameter("userId", userId)
+                .setParameter("category", category)
+                .setParameter("createdDate", createdDate)
+                .setParameter("id", id)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
     @Override
     public Feed findById(Long id) {
         return em.find(Feed.class, id);
     }
 
+    @Override
+    public List<Feed> findAllByIds(List<Long> feedIds) {
+        if (feedIds.isEmpty()) return new ArrayList<>();
+
+        Map<Long, Feed> feeds = em.createQuery("SELECT f " +
+                "FROM Feed f " +
+                "JOIN FETCH f.user " +
+                "WHERE f.id IN :feedIds", Feed.class)
+                .setParameter("feedIds", feedIds)
+                .getResultStream()
+                .collect(Collectors.toMap(Feed::getId, Function.identity()));
+
+        List<Feed> result = new ArrayList<>();
+        for (Long feedId : feedIds) {
+            Feed feed = feeds.get(feedId);
+            if (feed != null) result.add(feed);
+        }
+        return result;
+    }
+
+    // 본문 색인 전체 재구성용 [id, 본문, 작성시간]. MySQL 드라이버는 fetch size 가 MIN_VALUE 여야 한 줄씩 흘려 보낸다
+    @Override
+    public ScrollableResults scrollContents() {
+        return em.unwrap(Session.class)
+                .createQuery("SELECT f.id, f.content, f.createdDate FROM Feed f")
+                .setFetchSize(Integer.MIN_VALUE)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY);
+    }
+
+    @Override
+    public List<TimelineItem> findRecentItems(Collection<Long> userIds, int size) {
+        if (userIds.isEmpty()) return new ArrayList<>();
+
+        return em.createQuery("SELECT f.id, f.user.id " +
+                "FROM Feed f " +
+                "WHERE f.user.id IN :userIds " +
+                "ORDER BY f.id DESC", Object[].class)
+                .setParameter("userIds", userIds)
+                .setMaxResults(size)
+                .getResultStream()
+                .map(row -> new TimelineItem((Long) row[0], (Long) row[1]))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Long> findRecentIdsByUser(Long userId, Long beforeFeedId, int size) {
+        return em.createQuery("SELECT f.id " +
+                "FROM Feed f " +
+                "WHERE f.user.id = :userId AND f.id < :beforeFeedId " +
+                "ORDER BY f.id DESC", Long.class)
+                .setParameter("userId", userId)
+                .setParameter("beforeFeedId", beforeFeedId)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
     @Override
     public Feed save(Feed feed) {
         em.persist(feed);
@@ -69,17 +160,21 @@ public class FeedRepositoryImpl implements FeedRepository {
                 .getSingleResult();
     }
 
-    public List<Feed> findIndoorRecommend() {
+    // JOINED 상속이라 JPQL 벌크 업데이트는 임시 테이블을 만들기 때문에 feed 테이블만 직접 갱신
+    @Override
+    public void addClapCnt(Long feedId, int delta) {
+        em.createNativeQuery("UPDATE feed SET clap_cnt = clap_cnt + ? WHERE feed_id = ?")
+                .setParameter(1, delta)
+                .setParameter(2, feedId)
+                .executeUpdate();
+    }
 
-        return em.createQuery("SELECT f.feed " +
-                "FROM FeedClap f " +
-                "WHERE f.createdDate > :time " +
-//                "WHERE TYPE(f) = :category ", FeedClap.class)
-                "GROUP BY f.feed " +
-                "ORDER BY COUNT(f.feed) DESC", Feed.class)
-                .setParameter("time", LocalDateTime.now().minusDays(3))
-//                .setParameter("category", Indoor.class)
-                .getResultList();
+    @Override
+    public void addCommentCnt(Long feedId, int delta) {
+        em.createNativeQuery("UPDATE feed SET comment_cnt = comment_cnt + ? WHERE feed_id = ?")
+                .setParameter(1, delta)
+                .setParameter(2, feedId)
+                .executeUpdate();
     }
 
 
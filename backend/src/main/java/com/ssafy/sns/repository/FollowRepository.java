@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +25,27 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
     @Query("SELECT f FROM Follow AS f WHERE f.fromUser.id= ?1 AND f.toUser.id= ?2")
     Optional<Follow> findByToUserAndFromUser(Long fromUserId, Long toUserId);
 
+    // toUserIds 중 fromUser 가 팔로우하는 유저 id
+    @Query("SELECT f.toUser.id FROM Follow AS f WHERE f.fromUser.id= ?1 AND f.toUser.id IN ?2")
+    List<Long> findToUserIdsIn(Long fromUserId, Collection<Long> toUserIds);
+
+    // 나를 팔로우하는 유저 id
+    @Query("SELECT f.fromUser.id FROM Follow AS f WHERE f.toUser.id= ?1")
+    List<Long> findFromUserIdsByToUserId(Long toUserId);
+
+    // 내가 팔로우하는 유저 id
+    @Query("SELECT f.toUser.id FROM Follow AS f WHERE f.fromUser.id= ?1")
+    List<Long> findToUserIdsByFromUserId(Long fromUserId);
+
+    // 팔로워가 threshold 명 이상인 유저 id
+    @Query("SELECT f.toUser.id FROM Follow AS f GROUP BY f.toUser.id HAVING COUNT(f) >= ?1")
+    List<Long> findToUserIdsHavingFollowersAtLeast(long threshold);
+
+    // 그룹 글 작성자별 [user_id, 팔로워 수]
+    @Query("SELECT f.toUser.id, COUNT(f) FROM Follow AS f " +
+            "WHERE f.toUser.id IN (SELECT i.user.id FROM Insider i) GROUP BY f.toUser.id")
+    List<Object[]> countFollowersOfInsiderAuthors();
+
     @Query("SELECT f FROM Follow AS f WHERE f.id= ?1")
     Follow findFollowById(Long followId);
 
@@ -2,8 +2,10 @@ package com.ssafy.sns.repository;
 
 import com.ssafy.sns.domain.group.Group;
 import com.ssafy.sns.domain.group.GroupMember;
+import com.ssafy.sns.domain.group.MemberRole;
 import com.ssafy.sns.domain.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,4 +18,12 @@ public interface GroupMemberRepository extends JpaRepository<GroupMember, Long>
 
     Optional<GroupMember> findByUserAndGroup(User user, Group group);
 
+    // [group_id, 멤버 수]
+    @Query("SELECT gm.group.id, COUNT(gm) FROM GroupMember gm GROUP BY gm.group.id")
+    List<Object[]> countMembersGroupByGroup();
+
+    // 그룹에서 role 인 멤버의 유저 id
+    @Query("SELECT gm.user.id FROM GroupMember gm WHERE gm.group.id = ?1 AND gm.role = ?2")
+    List<Long> findUserIdsByGroupIdAndRole(Long groupId, MemberRole role);
+
 }
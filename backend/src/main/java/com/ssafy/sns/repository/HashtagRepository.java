@@ -4,8 +4,10 @@ import com.ssafy.sns.domain.hashtag.FeedHashtag;
 import com.ssafy.sns.domain.hashtag.Hashtag;
 import com.ssafy.sns.domain.newsfeed.Feed;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface HashtagRepository {
 
@@ -19,5 +21,9 @@ public interface HashtagRepository {
 
     void change(List<String> tags, Feed feed);
 
-    List search(String text);
+    // 자동완성 구성용 [id, 이름, 붙은 피드 수]
+    Stream<Object[]> streamUsage();
+
+    // 위와 같은 형식으로 id 목록만
+    List<Object[]> findUsage(Collection<Long> ids);
 }
@@ -3,18 +3,24 @@ package com.ssafy.sns.repository;
 import com.ssafy.sns.domain.hashtag.FeedHashtag;
 import com.ssafy.sns.domain.hashtag.Hashtag;
 import com.ssafy.sns.domain.newsfeed.Feed;
+import com.ssafy.sns.event.SearchTextEvent;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
 public class HashtagRepositoryImpl implements HashtagRepository {
 
     private final EntityManager em;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Optional<Hashtag> findByTag(String tag) {
@@ -27,6 +33,8 @@ public class HashtagRepositoryImpl implements HashtagRepository {
     @Override
     public Hashtag save(Hashtag hashtag) {
         em.persist(hashtag);
+        // 해쉬태그는 피드 서비스 네 곳에서 만들어지므로 여기서 검색 색인에 알린다
+        eventPublisher.publishEvent(new SearchTextEvent(SearchTextEvent.Target.HASHTAG, hashtag.getId(), hashtag.getTagName()));
         return hashtag;
     }
 
@@ -57,16 +65,25 @@ public class HashtagRepositoryImpl implements HashtagRepository {
         }
     }
 
+    // MySQL 드라이버는 fetch size 가 MIN_VALUE 여야 한 줄씩 흘려 보낸다 (트랜잭션 안에서)
     @Override
-    public List search(String text) {
-        return em.createQuery("SELECT f.hashtag, COUNT(f.hashtag) " +
-                "FROM FeedHashtag f " +
-                "WHERE f.hashtag.splitName LIKE CONCAT(:text, '%') " +
-                "GROUP BY f.hashtag " +
-                "ORDER BY COUNT(f.hashtag) DESC, f.hashtag.tagName ASC")
-                .setParameter("text", text)
-                .setFirstResult(0)
-                .setMaxResults(5)
+    public Stream<Object[]> streamUsage() {
+        return em.createQuery("SELECT h.id, h.tagName, COUNT(f) " +
+                "FROM Hashtag h " +
+                "LEFT JOIN h.feedHashtags f " +
+                "GROUP BY h.id, h.tagName", Object[].class)
+                .setHint(QueryHints.HINT_FETCH_SIZE, Integer.MIN_VALUE)
+                .getResultStream();
+    }
+
+    @Override
+    public List<Object[]> findUsage(Collection<Long> ids) {
+        return em.createQuery("SELECT h.id, h.tagName, COUNT(f) " +
+                "FROM Hashtag h " +
+                "LEFT JOIN h.feedHashtags f " +
+                "WHERE h.id IN :ids " +
+                "GROUP BY h.id, h.tagName", Object[].class)
+                .setParameter("ids", ids)
                 .getResultList();
     }
 }
@@ -1,15 +1,21 @@
 package com.ssafy.sns.repository;
 
 import com.ssafy.sns.domain.newsfeed.Insider;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface InsiderRepository extends JpaRepository<Insider, Long> {
 
+    // COUNT 쿼리 없이 한 페이지만
+    Slice<Insider> findAllBy(Pageable pageable);
+
     List<Insider> findAllByGroupId(Long groupId, Pageable pageable);
 
     List<Insider> findAllByUserIdAndGroupId(Long userId, Long groupId, Pageable pageable);
@@ -17,4 +23,41 @@ public interface InsiderRepository extends JpaRepository<Insider, Long> {
     Optional<Insider> findByGroupIdAndId(Long groupId, Long id);
 
     List<Insider> findAllByUserId(Long userId, Pageable pageable);
+
+    // 추천 계산용 [feed_id, group_id, user_id, 작성시간, 박수 수, 그룹 생성시간] (엔티티를 만들지 않는다)
+    @Query("SELECT i.id, g.id, i.user.id, i.createdDate, i.clapCnt, g.createdDate FROM Insider i JOIN i.group g")
+    List<Object[]> findRecommendCandidates();
+
+    // 위와 같은 형식으로 글 하나 (없으면 빈 목록)
+    @Query("SELECT i.id, g.id, i.user.id, i.createdDate, i.clapCnt, g.createdDate FROM Insider i JOIN i.group g " +
+            "WHERE i.id = :id")
+    List<Object[]> findRecommendCandidate(@Param("id") Long id);
+
+    // 커서 이후 목록 (작성시간, id 내림차순). 개수는 pageable 로 제한
+    @Query("SELECT i FROM Insider i " +
+            "WHERE i.createdDate < :createdDate OR (i.createdDate = :createdDate AND i.id < :id) " +
+            "ORDER BY i.createdDate DESC, i.id DESC")
+    List<Insider> findAllAfter(@Param("createdDate") LocalDateTime createdDate, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT i FROM Insider i " +
+            "WHERE i.group.id = :groupId " +
+            "AND (i.createdDate < :createdDate OR (i.createdDate = :createdDate AND i.id < :id)) " +
+            "ORDER BY i.createdDate DESC, i.id DESC")
+    List<Insider> findAllByGroupIdAfter(@Param("groupId") Long groupId, @Param("createdDate") LocalDateTime createdDate,
+                                        @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT i FROM Insider i " +
+            "WHERE i.user.id = :userId AND i.group.id = :groupId " +
+            "AND (i.createdDate < :createdDate OR (i.createdDate = :createdDate AND i.id < :id)) " +
+            "ORDER BY i.createdDate DESC, i.id DESC")
+    List<Insider> findAllByUserIdAndGroupIdAfter(@Param("userId") Long userId, @Param("groupId") Long groupId,
+                                                 @Param("createdDate") LocalDateTime createdDate,
+                                                 @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT i FROM Insider i " +
+            "WHERE i.user.id = :userId " +
+            "AND (i.createdDate < :createdDate OR (i.createdDate = :createdDate AND i.id < :id)) " +
+            "ORDER BY i.createdDate DESC, i.id DESC")
+    List<Insider> findAllByUserIdAfter(@Param("userId") Long userId, @Param("createdDate") LocalDateTime createdDate,
+                                       @Param("id") Long id, Pageable pageable);
 }
@@ -0,0 +1,177 @@
+package com.ssafy.sns.repository;
+
+import com.ssafy.sns.domain.timeline.TimelineItem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+/**
+ * 프로세스 메모리 타임라인.
+ * 유저마다 고정 크기 링 버퍼 (피드 id 오름차순) 를 두고, 가득 차면 가장 오래된 글부터 밀어낸다.
+ * 서버가 재시작되면 비어 있으므로 처음 읽을 때 TimelineService 가 다시 채운다.
+ * 타임라인은 timeline.memory.max-users 명까지만 들고, 넘으면 가장 오래 안 쓴 유저부터 버린다 (다시 읽을 때 재구성).
+ */
+@Repository
+@ConditionalOnProperty(name = "timeline.store", havingValue = "memory", matchIfMissing = true)
+public class MemoryTimelineStore implements TimelineStore {
+
+    private final Map<Long, Inbox> inboxes;
+    private final int capacity;
+
+    public MemoryTimelineStore(@Value("${timeline.inbox-size:500}") int capacity,
+                               @Value("${timeline.memory.max-users:10000}") int maxUsers) {
+        this.capacity = capacity;
+        // 접근 순서 LinkedHashMap = LRU
+        this.inboxes = Collections.synchronizedMap(new LinkedHashMap<Long, Inbox>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Inbox> eldest) {
+                return size() > maxUsers;
+            }
+        });
+    }
+
+    @Override
+    public void pushAll(Collection<Long> ownerIds, Long feedId, Long authorId) {
+        for (Long ownerId : ownerIds) {
+            // 아직 만들어지지 않은 타임라인은 처음 읽을 때 DB 에서 채워지므로 건너뛴다
+            Inbox inbox = inboxes.get(ownerId);
+            if (inbox != null) inbox.add(feedId, authorId);
+        }
+    }
+
+    @Override
+    public void pushItems(Long ownerId, List<TimelineItem> items) {
+        Inbox inbox = inboxes.computeIfAbsent(ownerId, id -> new Inbox(capacity));
+        for (TimelineItem item : items) {
+            inbox.add(item.getFeedId(), item.getAuthorId());
+        }
+    }
+
+    @Override
+    public List<Long> read(Long ownerId, Long beforeFeedId, int size) {
+        Inbox inbox = inboxes.get(ownerId);
+        if (inbox == null) return new ArrayList<>();
+        return inbox.read(beforeFeedId, size);
+    }
+
+    @Override
+    public void removeAuthor(Long ownerId, Long authorId) {
+        Inbox inbox = inboxes.get(ownerId);
+        if (inbox != null) inbox.removeAuthor(authorId);
+    }
+
+    @Override
+    public void removeFeed(Long feedId) {
+        // 역색인 없이 전체 타임라인을 돈다. 타임라인마다 이진 탐색이라 유저 수 상한 안에서는 충분히 싸다
+        List<Inbox> all;
+        synchronized (inboxes) {
+            all = new ArrayList<>(inboxes.values());
+        }
+        for (Inbox inbox : all) {
+            inbox.removeFeed(feedId);
+        }
+    }
+
+    @Override
+    public boolean isLoaded(Long ownerId) {
+        return inboxes.containsKey(ownerId);
+    }
+
+    @Override
+    public void markLoaded(Long ownerId) {
+        inboxes.computeIfAbsent(ownerId, id -> new Inbox(capacity));
+    }
+
+    private static class Inbox {
+
+        private final long[] feedIds;
+        private final long[] authorIds;
+        private int head; // 가장 오래된 칸
+        private int size;
+
+        Inbox(int capacity) {
+            this.feedIds = new long[capacity];
+            this.authorIds = new long[capacity];
+        }
+
+        private int slot(int index) {
+            return (head + index) % feedIds.length;
+        }
+
+        // feedId 이상인 첫 위치
+        private int lowerBound(long feedId) {
+            int lo = 0, hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (feedIds[slot(mid)] < feedId) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        synchronized void add(long feedId, long authorId) {
+            int capacity = feedIds.length;
+
+            // 대부분은 가장 최신 글 : 뒤에 붙이고, 가득 찼으면 가장 오래된 칸을 덮어쓴다
+            if (size == 0 || feedIds[slot(size - 1)] < feedId) {
+                if (size == capacity) {
+                    head = (head + 1) % capacity;
+                    size--;
+                }
+                feedIds[slot(size)] = feedId;
+                authorIds[slot(size)] = authorId;
+                size++;
+                return;
+            }
+
+            // 백필처럼 순서가 뒤섞여 들어온 경우
+            int pos = lowerBound(feedId);
+            if (pos < size && feedIds[slot(pos)] == feedId) return;
+            if (size == capacity) {
+                if (pos == 0) return; // 보관 범위보다 오래된 글
+                head = (head + 1) % capacity;
+                size--;
+                pos--;
+            }
+            for (int i = size; i > pos; i--) {
+                feedIds[slot(i)] = feedIds[slot(i - 1)];
+                authorIds[slot(i)] = authorIds[slot(i - 1)];
+            }
+            feedIds[slot(pos)] = feedId;
+            authorIds[slot(pos)] = authorId;
+            size++;
+        }
+
+        synchronized List<Long> read(long beforeFeedId, int limit) {
+            List<Long> result = new ArrayList<>(limit);
+            for (int i = lowerBound(beforeFeedId) - 1; i >= 0 && result.size() < limit; i--) {
+                result.add(feedIds[slot(i)]);
+            }
+            return result;
+        }
+
+        synchronized void removeFeed(long feedId) {
+            int pos = lowerBound(feedId);
+            if (pos == size || feedIds[slot(pos)] != feedId) return;
+            for (int i = pos; i < size - 1; i++) {
+                feedIds[slot(i)] = feedIds[slot(i + 1)];
+                authorIds[slot(i)] = authorIds[slot(i + 1)];
+            }
+            size--;
+        }
+
+        synchronized void removeAuthor(long authorId) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int from = slot(i);
+                if (authorIds[from] == authorId) continue;
+                int to = slot(kept++);
+                feedIds[to] = feedIds[from];
+                authorIds[to] = authorIds[from];
+            }
+            size = kept;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.ssafy.sns.repository;
+
+import com.ssafy.sns.dto.notice.NoticeBadgeResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class NoticeBadgeRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    // 없는 행은 0 으로 만들어서 더한다
+    public void increment(Map<Long, Integer> counts) {
+        if (counts.isEmpty()) return;
+        List<Object[]> args = new ArrayList<>(counts.size());
+        for (Map.Entry<Long, Integer> entry : counts.entrySet()) {
+            args.add(new Object[]{entry.getKey(), entry.getValue()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO notice_badge (user_id, unread_cnt, last_read_id) VALUES (?, ?, 0) " +
+                "ON DUPLICATE KEY UPDATE unread_cnt = unread_cnt + VALUES(unread_cnt)", args);
+    }
+
+    // 지워진 알림 [user_id, notification_id] : 아직 안 읽은 (워터마크 뒤의) 알림이었으면 1 씩 뺀다
+    public void decrement(List<Object[]> deleted) {
+        if (deleted.isEmpty()) return;
+        jdbcTemplate.batchUpdate("UPDATE notice_badge SET unread_cnt = GREATEST(unread_cnt - 1, 0) " +
+                "WHERE user_id = ? AND last_read_id < ?", deleted);
+    }
+
+    // 워터마크 뒤의 알림 수로 다시 센다 (알림을 통째로 지운 뒤)
+    public void recount(Collection<Long> userIds) {
+        if (userIds.isEmpty()) return;
+        namedParameterJdbcTemplate.update("UPDATE notice_badge b SET b.unread_cnt = (SELECT COUNT(*) FROM notification n " +
+                "WHERE n.recipient_id = b.user_id AND n.notification_id > b.last_read_id) " +
+                "WHERE b.user_id IN (:userIds)", new MapSqlParameterSource("userIds", userIds));
+    }
+
+    public NoticeBadgeResponseDto find(Long userId) {
+        List<NoticeBadgeResponseDto> result = jdbcTemplate.query(
+                "SELECT unread_cnt, last_read_id FROM notice_badge WHERE user_id = ?",
+                (rs, rowNum) -> new NoticeBadgeResponseDto(rs.getInt(1), rs.getLong(2)), userId);
+        return result.isEmpty() ? new NoticeBadgeResponseDto(0, 0) : result.get(0);
+    }
+
+    public Long findLatestNoticeId(Long userId) {
+        Long id = jdbcTemplate.queryForObject("SELECT MAX(notification_id) FROM notification WHERE recipient_id = ?",
+                Long.class, userId);
+        return id == null ? 0L : id;
+    }
+
+    /**
+     * 워터마크를 lastReadId 까지 올리고 (내리지는 않는다) 그 뒤의 알림 수로 다시 맞춘다.
+     * 한 문장이라 그 사이에 들어온 increment 와 섞이지 않는다. (행 락)
+     */
+    public void markRead(Long userId, Long lastReadId) {
+        jdbcTemplate.update("INSERT IGNORE INTO notice_badge (user_id, unread_cnt, last_read_id) VALUES (?, 0, 0)", userId);
+        jdbcTemplate.update("UPDATE notice_badge b SET b.last_read_id = GREATEST(b.last_read_id, ?), " +
+                "b.unread_cnt = (SELECT COUNT(*) FROM notification n " +
+                "WHERE n.recipient_id = b.user_id AND n.notification_id > GREATEST(b.last_read_id, ?)) " +
+                "WHERE b.user_id = ?", lastReadId, lastReadId, userId);
+    }
+}
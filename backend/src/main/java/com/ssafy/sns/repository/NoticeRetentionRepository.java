@@ -0,0 +1,156 @@
+package com.ssafy.sns.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 알림 보관 정책용 쿼리. 모든 삭제는 LIMIT 을 걸어 한 문장(한 트랜잭션)이 짧게 끝나게 한다.
+ * notification 테이블은 월별 RANGE 파티션으로 바꿀 수 있고, 그 뒤로는 오래된 달을 DROP PARTITION 으로 지운다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NoticeRetentionRepository {
+
+    // 예전 Notice 상속 테이블 : [자식 테이블, 원본 id 컬럼, 원본 테이블, 원본 pk]
+    private static final String[][] LEGACY_CHILDREN = {
+            {"notice_follow", "follow_id", "follow", "follow_id"},
+            {"notice_feed_clap", "feed_clab_id", "feed_clap", "feed_clap_id"},
+            {"notice_comment", "comment_id", "comment", "comment_id"},
+            {"notice_group", "group_id", "sns_group", "group_id"}
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    // cutoff 이전 알림 [notification_id, recipient_id] size 개 (오래된 것부터)
+    public List<Object[]> findOlderThan(LocalDateTime cutoff, int size) {
+        return jdbcTemplate.query("SELECT notification_id, recipient_id FROM notification WHERE created_date < ? " +
+                        "ORDER BY notification_id LIMIT ?",
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getLong(2)}, Timestamp.valueOf(cutoff), size);
+    }
+
+    // 알림이 max 개를 넘는 받는 사람
+    public List<Long> findOverflowRecipients(int max) {
+        return jdbcTemplate.queryForList("SELECT recipient_id FROM notification " +
+                "GROUP BY recipient_id HAVING COUNT(*) > ?", Long.class, max);
+    }
+
+    // 남길 max 개 중 가장 오래된 것 바로 다음 id (이 id 이하를 지운다)
+    public Long findOverflowBoundary(Long recipientId, int max) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT notification_id FROM notification " +
+                "WHERE recipient_id = ? ORDER BY notification_id DESC LIMIT 1 OFFSET ?", Long.class, recipientId, max);
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    // boundaryId 이하 알림 [notification_id, recipient_id] size 개 (오래된 것부터)
+    public List<Object[]> findUpTo(Long recipientId, Long boundaryId, int size) {
+        return jdbcTemplate.query("SELECT notification_id, recipient_id FROM notification " +
+                        "WHERE recipient_id = ? AND notification_id <= ? ORDER BY notification_id LIMIT ?",
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getLong(2)}, recipientId, boundaryId, size);
+    }
+
+    // 피드에 달린 알림 [notification_id, recipient_id] size 개
+    public List<Object[]> findByFeed(Long feedId, int size) {
+        return jdbcTemplate.query("SELECT notification_id, recipient_id FROM notification WHERE feed_id = ? LIMIT ?",
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getLong(2)}, feedId, size);
+    }
+
+    // 그룹 알림 [notification_id, recipient_id] size 개
+    public List<Object[]> findByGroup(Long groupId, int size) {
+        return jdbcTemplate.query("SELECT notification_id, recipient_id FROM notification WHERE group_id = ? LIMIT ?",
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getLong(2)}, groupId, size);
+    }
+
+    // actorId 가 recipientId 를 팔로우한 알림 [notification_id, recipient_id]
+    public List<Object[]> findFollow(Long recipientId, Long actorId, int type) {
+        return jdbcTemplate.query("SELECT notification_id, recipient_id FROM notification " +
+                        "WHERE recipient_id = ? AND type = ? AND actor_id = ?",
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getLong(2)}, recipientId, type, actorId);
+    }
+
+    public void deleteNotifications(Collection<Long> ids) {
+        if (ids.isEmpty()) return;
+        namedParameterJdbcTemplate.update("DELETE FROM notification WHERE notification_id IN (:ids)",
+                new MapSqlParameterSource("ids", ids));
+    }
+
+    // 예전 Notice 테이블 : 오래됐거나 원본이 지워진 행 size 개씩
+    public int purgeLegacy(LocalDateTime cutoff, int size) {
+        Set<Long> ids = new LinkedHashSet<>(jdbcTemplate.queryForList("SELECT notice_id FROM notice " +
+                "WHERE created_date < ? LIMIT ?", Long.class, Timestamp.valueOf(cutoff), size));
+        for (String[] child : LEGACY_CHILDREN) {
+            if (ids.size() >= size) break;
+            ids.addAll(jdbcTemplate.queryForList("SELECT c.notice_id FROM " + child[0] + " c " +
+                    "LEFT JOIN " + child[2] + " s ON s." + child[3] + " = c." + child[1] + " " +
+                    "WHERE s." + child[3] + " IS NULL LIMIT ?", Long.class, size - ids.size()));
+        }
+        if (ids.isEmpty()) return 0;
+
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        for (String[] child : LEGACY_CHILDREN) {
+            namedParameterJdbcTemplate.update("DELETE FROM " + child[0] + " WHERE notice_id IN (:ids)", params);
+        }
+        namedParameterJdbcTemplate.update("DELETE FROM notice WHERE notice_id IN (:ids)", params);
+        return ids.size();
+    }
+
+    // 파티션 이름 -> 상한 (MAXVALUE 는 null). 파티션이 없으면 빈 맵
+    public Map<String, LocalDate> findPartitions() {
+        Map<String, LocalDate> result = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'notification' AND PARTITION_NAME IS NOT NULL " +
+                "ORDER BY PARTITION_ORDINAL_POSITION", rs -> {
+            String description = rs.getString(2);
+            result.put(rs.getString(1), "MAXVALUE".equals(description) ? null
+                    : LocalDate.parse(description.replace("'", "").substring(0, 10)));
+        });
+        return result;
+    }
+
+    /**
+     * 월별 파티션으로 바꾼다. (테이블을 다시 쓰므로 한 번만, 한가할 때)
+     * 파티션 키가 모든 유니크 키에 있어야 해서 pk 를 (notification_id, created_date) 로 바꾼다.
+     * from 이전은 pold 하나에, from 부터 until 전까지 달마다 하나, 나머지는 pmax.
+     */
+    public void partitionByMonth(LocalDate from, LocalDate until) {
+        StringBuilder partitions = new StringBuilder("PARTITION pold VALUES LESS THAN ('" + from + "')");
+        for (LocalDate month = from; month.isBefore(until); month = month.plusMonths(1)) {
+            partitions.append(", ").append(monthPartition(month));
+        }
+        partitions.append(", PARTITION pmax VALUES LESS THAN (MAXVALUE)");
+
+        jdbcTemplate.execute("ALTER TABLE notification " +
+                "MODIFY created_date DATETIME(6) NOT NULL, " +
+                "DROP PRIMARY KEY, ADD PRIMARY KEY (notification_id, created_date) " +
+                "PARTITION BY RANGE COLUMNS(created_date) (" + partitions + ")");
+    }
+
+    // pmax 에서 month 한 달을 떼어낸다
+    public void addMonthPartition(LocalDate month) {
+        jdbcTemplate.execute("ALTER TABLE notification REORGANIZE PARTITION pmax INTO (" +
+                monthPartition(month) + ", PARTITION pmax VALUES LESS THAN (MAXVALUE))");
+    }
+
+    // 파티션에 알림이 있는 받는 사람 (DROP 뒤에 배지를 다시 센다)
+    public List<Long> findPartitionRecipients(String name) {
+        return jdbcTemplate.queryForList("SELECT DISTINCT recipient_id FROM notification PARTITION (" + name + ")",
+                Long.class);
+    }
+
+    public void dropPartition(String name) {
+        jdbcTemplate.execute("ALTER TABLE notification DROP PARTITION " + name);
+    }
+
+    private String monthPartition(LocalDate month) {
+        return String.format("PARTITION p%d%02d VALUES LESS THAN ('%s')",
+                month.getYear(), month.getMonthValue(), month.plusMonths(1));
+    }
+}
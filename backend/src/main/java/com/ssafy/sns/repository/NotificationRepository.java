@@ -0,0 +1,31 @@
+package com.ssafy.sns.repository;
+
+import com.ssafy.sns.domain.notice.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    // 받은 알림 최신순 (beforeId 보다 작은 id 부터)
+    @Query("SELECT n FROM Notification n WHERE n.recipientId = :recipientId AND n.id < :beforeId ORDER BY n.id DESC")
+    List<Notification> findInbox(@Param("recipientId") Long recipientId, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    // 받은 알림 최신순 offset 번째부터 size 개 (예전 목록 API 의 startNum 은 페이지가 아니라 건수)
+    @Query(value = "SELECT * FROM notification WHERE recipient_id = :recipientId " +
+            "ORDER BY notification_id DESC LIMIT :size OFFSET :offset", nativeQuery = true)
+    List<Notification> findByRecipientIdFrom(@Param("recipientId") Long recipientId, @Param("offset") int offset,
+                                             @Param("size") int size);
+
+    // 묶을 수 있는 (since 이후에 만들어진) 같은 피드 알림
+    Optional<Notification> findFirstByRecipientIdAndTypeAndFeedIdAndCreatedDateAfterOrderByIdDesc(
+            Long recipientId, int type, Long feedId, LocalDateTime since);
+
+    // 같은 피드 알림 전부 (취소한 사람이 묶인 지난 알림 찾기)
+    List<Notification> findByRecipientIdAndTypeAndFeedIdOrderByIdDesc(Long recipientId, int type, Long feedId);
+}
@@ -0,0 +1,121 @@
+package com.ssafy.sns.repository;
+
+import com.ssafy.sns.domain.notice.NoticeActorsConverter;
+import com.ssafy.sns.domain.notice.Notification;
+import com.ssafy.sns.domain.outbox.OutboxEvent;
+import com.ssafy.sns.domain.outbox.OutboxType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * outbox_event 테이블과 outbox 가 만들어내는 후속 작업(알림 저장, 피드 카운터)의 JDBC batch 쿼리.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+    private static final RowMapper<OutboxEvent> ROW_MAPPER = (rs, rowNum) -> new OutboxEvent(
+            rs.getLong("outbox_event_id"),
+            OutboxType.valueOf(rs.getString("type")),
+            rs.getLong("aggregate_id"),
+            rs.getString("payload"),
+            rs.getInt("attempts"),
+            rs.getTimestamp("next_attempt_at").toLocalDateTime());
+
+    private static final String INSERT_NOTIFICATION_SQL = "INSERT INTO notification " +
+            "(recipient_id, type, actor_id, actor_nickname, actor_img, feed_id, category, snippet, " +
+            "group_id, group_name, group_img, actor_cnt, actor_sample, created_date, modified_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final NoticeActorsConverter ACTORS_CONVERTER = new NoticeActorsConverter();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    // 요청 트랜잭션에서 호출 (행 하나)
+    public void append(OutboxType type, Long aggregateId, String payload) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO outbox_event " +
+                        "(type, aggregate_id, payload, status, attempts, next_attempt_at, created_date) " +
+                        "VALUES (?, ?, ?, ?, 0, ?, ?)",
+                type.name(), aggregateId, payload, OutboxEvent.READY, now, now);
+    }
+
+    // 레인(aggregate_id % lanes) 의 지금 처리할 수 있는 행을 id 순서대로
+    // 재시도를 기다리는 행이 있는 aggregate 는 그 행부터 뒤를 빼서, 한 aggregate 때문에 레인 묶음이 차지 않게 한다
+    public List<OutboxEvent> findLane(int lanes, int lane, int size, LocalDateTime now) {
+        Timestamp at = Timestamp.valueOf(now);
+        return jdbcTemplate.query("SELECT e.outbox_event_id, e.type, e.aggregate_id, e.payload, e.attempts, e.next_attempt_at " +
+                "FROM outbox_event e " +
+                "WHERE e.status = ? AND MOD(e.aggregate_id, ?) = ? " +
+                "AND NOT EXISTS (SELECT 1 FROM outbox_event b " +
+                "WHERE b.aggregate_id = e.aggregate_id AND b.status = ? AND b.next_attempt_at > ? " +
+                "AND b.outbox_event_id <= e.outbox_event_id) " +
+                "ORDER BY e.outbox_event_id " +
+                "LIMIT ?", ROW_MAPPER, OutboxEvent.READY, lanes, lane, OutboxEvent.READY, at, size);
+    }
+
+    public void deleteAll(Collection<Long> ids) {
+        if (ids.isEmpty()) return;
+        namedParameterJdbcTemplate.update("DELETE FROM outbox_event WHERE outbox_event_id IN (:ids)",
+                new MapSqlParameterSource("ids", ids));
+    }
+
+    public void markRetry(Long id, int attempts, LocalDateTime nextAttemptAt) {
+        jdbcTemplate.update("UPDATE outbox_event SET attempts = ?, next_attempt_at = ? WHERE outbox_event_id = ?",
+                attempts, Timestamp.valueOf(nextAttemptAt), id);
+    }
+
+    public void markDead(Long id, int attempts) {
+        jdbcTemplate.update("UPDATE outbox_event SET status = ?, attempts = ? WHERE outbox_event_id = ?",
+                OutboxEvent.DEAD, attempts, id);
+    }
+
+    public void insertNotifications(List<Notification> notifications) {
+        if (notifications.isEmpty()) return;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(notifications.size());
+        for (Notification n : notifications) {
+            args.add(new Object[]{n.getRecipientId(), n.getType(), n.getActorId(), n.getActorNickname(), n.getActorImg(),
+                    n.getFeedId(), n.getCategory(), n.getSnippet(), n.getGroupId(), n.getGroupName(), n.getGroupImg(),
+                    n.getActorCnt(), ACTORS_CONVERTER.convertToDatabaseColumn(n.getActorSample()), now, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_NOTIFICATION_SQL, args);
+    }
+
+    // deltas : feed_id -> [박수 증감, 댓글 증감]
+    public void addFeedCounts(Map<Long, int[]> deltas) {
+        if (deltas.isEmpty()) return;
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        for (Map.Entry<Long, int[]> entry : deltas.entrySet()) {
+            args.add(new Object[]{entry.getValue()[0], entry.getValue()[1], entry.getKey()});
+        }
+        jdbcTemplate.batchUpdate("UPDATE feed SET clap_cnt = clap_cnt + ?, comment_cnt = comment_cnt + ? " +
+                "WHERE feed_id = ?", args);
+    }
+
+    // 아직 처리되지 않은 FEED_COUNT 행이 있는 피드 (카운터 보정에서 제외)
+    public Set<Long> findPendingFeedCountIds(Collection<Long> feedIds) {
+        if (feedIds.isEmpty()) return Collections.emptySet();
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", feedIds)
+                .addValue("type", OutboxType.FEED_COUNT.name())
+                .addValue("status", OutboxEvent.READY);
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList("SELECT DISTINCT aggregate_id FROM outbox_event " +
+                "WHERE type = :type AND status = :status AND aggregate_id IN (:ids)", params, Long.class));
+    }
+
+    // [feed_id, clap_cnt, comment_cnt]
+    public List<Object[]> findFeedCounts(Collection<Long> feedIds) {
+        if (feedIds.isEmpty()) return Collections.emptyList();
+        return namedParameterJdbcTemplate.query("SELECT feed_id, clap_cnt, comment_cnt FROM feed WHERE feed_id IN (:ids)",
+                new MapSqlParameterSource("ids", feedIds),
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getInt(2), rs.getInt(3)});
+    }
+}
@@ -2,11 +2,33 @@ package com.ssafy.sns.repository;
 
 import com.ssafy.sns.domain.newsfeed.Outdoor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface OutdoorRepo extends JpaRepository<Outdoor, Long> {
 
     List<Outdoor> findAllByCreatedDateIsGreaterThan(LocalDateTime time);
+
+    // 추천 인덱스 재구성용 [feed_id, code, 작성시간, 박수 수]
+    @Query("SELECT o.id, o.code, o.createdDate, o.clapCnt FROM Outdoor o WHERE o.createdDate > ?1 AND o.code IS NOT NULL")
+    List<Object[]> findRecommendRowsAfter(LocalDateTime time);
+
+    // 추천 인덱스 다시 읽기용 [feed_id, code, 작성시간, 박수 수]
+    @Query("SELECT o.id, o.code, o.createdDate, o.clapCnt FROM Outdoor o WHERE o.id IN ?1 AND o.code IS NOT NULL")
+    List<Object[]> findRecommendRows(Collection<Long> ids);
+
+    // 위치 색인 재구성용 [feed_id, 위도, 경도, 작성시간, 박수 수] (트랜잭션 안에서 스트리밍)
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT o.id, o.lat, o.lng, o.createdDate, o.clapCnt FROM Outdoor o WHERE o.lat IS NOT NULL AND o.lng IS NOT NULL")
+    Stream<Object[]> streamLocations();
+
+    // 위치 색인 다시 읽기용 [feed_id, 위도, 경도, 작성시간, 박수 수]
+    @Query("SELECT o.id, o.lat, o.lng, o.createdDate, o.clapCnt FROM Outdoor o WHERE o.id IN ?1 AND o.lat IS NOT NULL AND o.lng IS NOT NULL")
+    List<Object[]> findLocations(Collection<Long> ids);
 }
@@ -2,26 +2,41 @@ package com.ssafy.sns.repository;
 
 import com.ssafy.sns.domain.group.Group;
 import com.ssafy.sns.domain.hashtag.Hashtag;
-import com.ssafy.sns.domain.newsfeed.Feed;
 import com.ssafy.sns.domain.user.User;
-import com.ssafy.sns.dto.user.SimpleUserDto;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface SearchRepository {
 
-    // 검색 키워드를 통해 해쉬태그 찾기
-     public List<Hashtag> searchHashtags(String keyword);
+    // 검색 색인으로 찾은 id 로 해쉬태그 찾기
+    public List<Hashtag> findHashtags(List<Long> ids);
 
-     // 찾은 해쉬태그로 게시물 찾기
-    public List<Feed> searchFeeds(Hashtag hash);
+    // 피드가 하나라도 붙은 태그 id (id 순)
+    public List<Long> findHashtagIdsWithFeeds(List<Long> hashtagIds);
 
-    // 검색 키워드를 통해 유저 한 명 찾기
-    public List<User> searchUsers(String keyword);
+     // 태그마다 최신 피드 perTag 개 [hashtag_id, feed_id, 태그 전체 피드 수] (태그 id, 최신순)
+    public List<Object[]> findFeedIdsByHashtags(List<Long> hashtagIds, int perTag);
 
-    // 검색 키워드를 통해 전체 유저 찾기
-    public List<Group> searchGroups(String keyword);
+    // 태그의 피드 id (커서 이후, 최신순)
+    public List<Long> findFeedIdsByHashtagAfter(Long hashtagId, LocalDateTime createdDate, Long id, int size);
+
+    public long countFeedsByHashtag(Long hashtagId);
+
+    // 검색 색인으로 찾은 id 로 유저 찾기
+    public List<User> findUsers(List<Long> ids);
+
+    // 검색 색인으로 찾은 id 로 그룹 찾기
+    public List<Group> findGroups(List<Long> ids);
+
+    // 검색 색인 구성용 [id, 이름]
+    public Stream<Object[]> streamHashtagNames();
+
+    public Stream<Object[]> streamUserNicknames();
+
+    public Stream<Object[]> streamGroupNames();
 
 }
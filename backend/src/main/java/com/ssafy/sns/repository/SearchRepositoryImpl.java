@@ -2,14 +2,17 @@ package com.ssafy.sns.repository;
 
 import com.ssafy.sns.domain.group.Group;
 import com.ssafy.sns.domain.hashtag.Hashtag;
-import com.ssafy.sns.domain.newsfeed.Feed;
 import com.ssafy.sns.domain.user.User;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
-import java.util.List;
+import javax.persistence.Query;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
@@ -18,31 +21,123 @@ public class SearchRepositoryImpl implements SearchRepository{
     private final EntityManager em;
 
     @Override
-    public List<Hashtag> searchHashtags(String keyword) {
-        return em.createQuery("select h from Hashtag h where h.tagName like :tagName", Hashtag.class)
-                .setParameter("tagName", "%"+keyword+"%")
+    public List<Hashtag> findHashtags(List<Long> ids) {
+        if (ids.isEmpty()) return Collections.emptyList();
+        return em.createQuery("select h from Hashtag h where h.id in :ids order by h.id", Hashtag.class)
+                .setParameter("ids", ids)
                 .getResultList();
     }
 
     @Override
-    public List<Feed> searchFeeds(Hashtag hash) {
-        return em.createQuery("select f from Feed f where f.id in (select fh.feed.id from FeedHashtag fh where fh.hashtag.id = :hash)", Feed.class)
-                .setParameter("hash", hash.getId())
+    public List<Long> findHashtagIdsWithFeeds(List<Long> hashtagIds) {
+        if (hashtagIds.isEmpty()) return Collections.emptyList();
+        return em.createQuery("select h.id from Hashtag h " +
+                "where h.id in :ids " +
+                "and exists (select fh.id from FeedHashtag fh where fh.hashtag = h) " +
+                "order by h.id", Long.class)
+                .setParameter("ids", hashtagIds)
                 .getResultList();
     }
 
+    /**
+     * 태그마다 LIMIT 을 건 쿼리를 UNION ALL 로 묶어 한 번에 읽는다. (태그당 perTag 줄만 나온다)
+     * 전체 수는 (hashtag_id, feed_id) 인덱스만 보는 GROUP BY 로 따로 센다. 태그 수는 부르는 쪽에서 제한한다.
+     */
     @Override
-    public List<User> searchUsers(String keyword) {
-        return em.createQuery("select u from User u where u.nickname like :nickname", User.class)
-                .setParameter("nickname", "%"+keyword+"%")
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findFeedIdsByHashtags(List<Long> hashtagIds, int perTag) {
+        if (hashtagIds.isEmpty()) return Collections.emptyList();
+        List<Long> tagIds = new ArrayList<>(new TreeSet<>(hashtagIds));
+
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < tagIds.size(); i++) {
+            if (i > 0) sql.append(" UNION ALL ");
+            sql.append("(SELECT fh.hashtag_id, f.feed_id, f.created_date FROM feed_hashtag fh JOIN feed f ON f.feed_id = fh.feed_id " +
+                    "WHERE fh.hashtag_id = :tag").append(i)
+                    .append(" ORDER BY f.created_date DESC, f.feed_id DESC LIMIT :perTag)");
+        }
+        Query query = em.createNativeQuery(sql.toString()).setParameter("perTag", perTag);
+        for (int i = 0; i < tagIds.size(); i++) {
+            query.setParameter("tag" + i, tagIds.get(i));
+        }
+        List<Object[]> rows = new ArrayList<>(query.getResultList());
+        // UNION ALL 은 순서를 보장하지 않으므로 태그 id, 최신순으로 다시 정렬
+        rows.sort(Comparator.comparingLong((Object[] row) -> ((Number) row[0]).longValue())
+                .thenComparing((Object[] row) -> (Date) row[2], Comparator.reverseOrder())
+                .thenComparing((Object[] row) -> ((Number) row[1]).longValue(), Comparator.reverseOrder()));
+
+        Map<Long, Long> totals = new HashMap<>();
+        for (Object[] row : em.createQuery("select fh.hashtag.id, count(fh) from FeedHashtag fh " +
+                "where fh.hashtag.id in :ids group by fh.hashtag.id", Object[].class)
+                .setParameter("ids", tagIds)
+                .getResultList()) {
+            totals.put((Long) row[0], (Long) row[1]);
+        }
+
+        List<Object[]> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            long tagId = ((Number) row[0]).longValue();
+            result.add(new Object[]{tagId, ((Number) row[1]).longValue(), totals.getOrDefault(tagId, 0L)});
+        }
+        return result;
+    }
+
+    @Override
+    public List<Long> findFeedIdsByHashtagAfter(Long hashtagId, LocalDateTime createdDate, Long id, int size) {
+        return em.createQuery("select f.id from FeedHashtag fh join fh.feed f " +
+                "where fh.hashtag.id = :hashtagId " +
+                "and (f.createdDate < :createdDate or (f.createdDate = :createdDate and f.id < :id)) " +
+                "order by f.createdDate desc, f.id desc", Long.class)
+                .setParameter("hashtagId", hashtagId)
+                .setParameter("createdDate", createdDate)
+                .setParameter("id", id)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    @Override
+    public long countFeedsByHashtag(Long hashtagId) {
+        return em.createQuery("select count(fh) from FeedHashtag fh where fh.hashtag.id = :hashtagId", Long.class)
+                .setParameter("hashtagId", hashtagId)
+                .getSingleResult();
+    }
+
+    @Override
+    public List<User> findUsers(List<Long> ids) {
+        if (ids.isEmpty()) return Collections.emptyList();
+        return em.createQuery("select u from User u where u.id in :ids order by u.id", User.class)
+                .setParameter("ids", ids)
                 .getResultList();
     }
 
     @Override
-    public List<Group> searchGroups(String keyword) {
-        return em.createQuery("select g from Group g where g.name like :name", Group.class)
-                .setParameter("name", "%"+keyword+"%")
+    public List<Group> findGroups(List<Long> ids) {
+        if (ids.isEmpty()) return Collections.emptyList();
+        return em.createQuery("select g from Group g where g.id in :ids order by g.id", Group.class)
+                .setParameter("ids", ids)
                 .getResultList();
     }
 
+    // MySQL 드라이버는 fetch size 가 MIN_VALUE 여야 한 줄씩 흘려 보낸다 (트랜잭션 안에서)
+    @Override
+    public Stream<Object[]> streamHashtagNames() {
+        return em.createQuery("select h.id, h.tagName from Hashtag h", Object[].class)
+                .setHint(QueryHints.HINT_FETCH_SIZE, Integer.MIN_VALUE)
+                .getResultStream();
+    }
+
+    @Override
+    public Stream<Object[]> streamUserNicknames() {
+        return em.createQuery("select u.id, u.nickname from User u", Object[].class)
+                .setHint(QueryHints.HINT_FETCH_SIZE, Integer.MIN_VALUE)
+                .getResultStream();
+    }
+
+    @Override
+    public Stream<Object[]> streamGroupNames() {
+        return em.createQuery("select g.id, g.name from Group g", Object[].class)
+                .setHint(QueryHints.HINT_FETCH_SIZE, Integer.MIN_VALUE)
+                .getResultStream();
+    }
+
 }
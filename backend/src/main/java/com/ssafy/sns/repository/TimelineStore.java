@@ -0,0 +1,35 @@
+package com.ssafy.sns.repository;
+
+import com.ssafy.sns.domain.timeline.TimelineItem;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 유저별 홈 타임라인 (팔로우한 사람들의 피드 id).
+ * 피드 id 내림차순으로 읽고, 유저당 정해진 개수만 보관한다.
+ * timeline.store = memory(기본) / db
+ */
+public interface TimelineStore {
+
+    // 여러 유저의 타임라인에 피드 하나 추가 (글 작성 팬아웃)
+    void pushAll(Collection<Long> ownerIds, Long feedId, Long authorId);
+
+    // 한 유저의 타임라인에 여러 피드 추가 (팔로우 백필, 재구성)
+    void pushItems(Long ownerId, List<TimelineItem> items);
+
+    // beforeFeedId 보다 작은 피드 id 를 최신순으로 size 개
+    List<Long> read(Long ownerId, Long beforeFeedId, int size);
+
+    // 언팔로우 : 해당 작성자의 글 제거
+    void removeAuthor(Long ownerId, Long authorId);
+
+    // 피드 삭제
+    void removeFeed(Long feedId);
+
+    // 타임라인이 만들어져 있는지 (없으면 팔로우 목록으로 재구성)
+    boolean isLoaded(Long ownerId);
+
+    // 재구성 시작 표시. 이후의 팬아웃은 이 타임라인에 들어가고, 재구성 결과는 그 위에 합쳐진다
+    void markLoaded(Long ownerId);
+}
@@ -3,10 +3,13 @@ package com.ssafy.sns.repository;
 import com.ssafy.sns.domain.follow.Follow;
 import com.ssafy.sns.domain.user.User;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
@@ -14,16 +17,25 @@ public class UserRepositoryImpl {
 
     private final EntityManager em;
 
-    public List<User> search(User user, String text) {
-        return em.createQuery("SELECT f.toUser " +
-                "FROM Follow f " +
-                "WHERE f.fromUser.id = :userId " +
-                "AND f.toUser.nicknameSplit LIKE CONCAT(:text, '%') " +
-                "ORDER BY f.toUser.nickname ASC", User.class)
-                .setParameter("userId", user.getId())
-                .setParameter("text", text)
-                .setFirstResult(0)
-                .setMaxResults(5)
+    // 닉네임 자동완성 구성용 [id, 닉네임, 팔로워 수]
+    // MySQL 드라이버는 fetch size 가 MIN_VALUE 여야 한 줄씩 흘려 보낸다 (트랜잭션 안에서)
+    public Stream<Object[]> streamNicknameFollowers() {
+        return em.createQuery("SELECT u.id, u.nickname, COUNT(f) " +
+                "FROM User u " +
+                "LEFT JOIN Follow f ON f.toUser = u " +
+                "GROUP BY u.id, u.nickname", Object[].class)
+                .setHint(QueryHints.HINT_FETCH_SIZE, Integer.MIN_VALUE)
+                .getResultStream();
+    }
+
+    // 위와 같은 형식으로 id 목록만
+    public List<Object[]> findNicknameFollowers(Collection<Long> ids) {
+        return em.createQuery("SELECT u.id, u.nickname, COUNT(f) " +
+                "FROM User u " +
+                "LEFT JOIN Follow f ON f.toUser = u " +
+                "WHERE u.id IN :ids " +
+                "GROUP BY u.id, u.nickname", Object[].class)
+                .setParameter("ids", ids)
                 .getResultList();
     }
 }
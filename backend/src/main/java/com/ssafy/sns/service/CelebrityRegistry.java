@@ -0,0 +1,66 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.event.CelebrityDemotedEvent;
+import com.ssafy.sns.repository.FollowRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 팔로워가 timeline.celebrity-threshold 명 이상인 유저 목록.
+ * 이 유저들의 글은 팔로워 타임라인에 넣지 않고 읽을 때 따로 가져온다.
+ * 팔로워 수는 자주 바뀌지 않으므로 주기적으로 다시 계산한다.
+ * 셀럽에서 빠진 유저는 CelebrityDemotedEvent 로 알려서, 그동안 타임라인에 안 들어간 글을 채우게 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CelebrityRegistry {
+
+    public static final Logger logger = LoggerFactory.getLogger(CelebrityRegistry.class);
+
+    private final FollowRepository followRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${timeline.celebrity-threshold:10000}")
+    private long threshold;
+
+    private volatile Set<Long> celebrities = Collections.emptySet();
+
+    @Scheduled(fixedDelayString = "${timeline.celebrity-refresh:600000}")
+    public void refresh() {
+        Set<Long> previous = celebrities;
+        try {
+            celebrities = Collections.unmodifiableSet(
+                    new HashSet<>(followRepository.findToUserIdsHavingFollowersAtLeast(threshold)));
+        } catch (Exception e) {
+            logger.warn("셀럽 목록 갱신 실패 : {}", e.getMessage());
+            return;
+        }
+        // 새 목록을 먼저 바꿔 둬야 이후 새 글은 팬아웃되고, 그 전 글만 백필하면 된다
+        for (Long userId : previous) {
+            if (celebrities.contains(userId)) continue;
+            logger.info("셀럽 해제 : {}", userId);
+            eventPublisher.publishEvent(new CelebrityDemotedEvent(userId));
+        }
+    }
+
+    public boolean isCelebrity(Long userId) {
+        return celebrities.contains(userId);
+    }
+
+    // 유저 목록 중 셀럽만
+    public List<Long> filter(Collection<Long> userIds) {
+        Set<Long> current = celebrities;
+        List<Long> result = new ArrayList<>();
+        for (Long userId : userIds) {
+            if (current.contains(userId)) result.add(userId);
+        }
+        return result;
+    }
+}
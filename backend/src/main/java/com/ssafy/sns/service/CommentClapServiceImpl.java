@@ -36,10 +36,14 @@ public class CommentClapServiceImpl implements ClapService {
             user.deleteCommentClap(resultClap.get());
             comment.deleteCommentClap(resultClap.get());
             commentClapRepository.delete(resultClap.get());
+            commentRepository.addClapCnt(comment.getId(), -1);
+            comment.applyClapCnt(-1);
         } else {
             CommentClap commentClap = commentClapRepository.save(new CommentClap());
             user.addCommentClap(commentClap);
             comment.addCommentClap(commentClap);
+            commentRepository.addClapCnt(comment.getId(), 1);
+            comment.applyClapCnt(1);
         }
     }
 
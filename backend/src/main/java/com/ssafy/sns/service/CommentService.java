@@ -2,6 +2,7 @@ package com.ssafy.sns.service;
 
 import com.ssafy.sns.dto.comment.CommentRequestDto;
 import com.ssafy.sns.dto.comment.CommentResponseDto;
+import com.ssafy.sns.dto.comment.CommentSliceResponseDto;
 
 public interface CommentService {
 
@@ -12,4 +13,7 @@ public interface CommentService {
     void remove(Long userId, Long feedId, Long commentId);
 
     CommentResponseDto getList(Long userId, Long feedId, int num);
+
+    // 커서 이후 댓글 목록
+    CommentSliceResponseDto getSlice(Long userId, Long feedId, String cursor);
 }
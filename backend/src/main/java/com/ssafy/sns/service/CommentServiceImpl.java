@@ -2,17 +2,22 @@ package com.ssafy.sns.service;
 
 import com.ssafy.sns.domain.comment.Comment;
 import com.ssafy.sns.domain.newsfeed.Feed;
-import com.ssafy.sns.domain.notice.NoticeComment;
+import com.ssafy.sns.domain.outbox.OutboxType;
 import com.ssafy.sns.domain.user.User;
 import com.ssafy.sns.dto.comment.CommentDto;
 import com.ssafy.sns.dto.comment.CommentRequestDto;
 import com.ssafy.sns.dto.comment.CommentResponseDto;
+import com.ssafy.sns.dto.comment.CommentSliceResponseDto;
+import com.ssafy.sns.dto.outbox.FeedCountPayload;
 import com.ssafy.sns.repository.*;
+import com.ssafy.sns.util.FeedCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,8 +28,9 @@ public class CommentServiceImpl implements CommentService {
     private final CommentRepositoryImpl commentRepository;
     private final FeedRepositoryImpl feedRepository;
     private final UserRepository userRepository;
-    private final NoticeRepositoryImpl noticeRepository;
+    private final NoticeServiceImpl noticeService;
     private final CommentClapRepositoryImpl commentClapRepository;
+    private final OutboxPublisher outboxPublisher;
 
     @Override
     public void write(CommentRequestDto commentRequestDto, Long userId, Long feedId) {
@@ -34,7 +40,9 @@ public class CommentServiceImpl implements CommentService {
         Comment comment = commentRepository.save(new Comment(commentRequestDto));
         user.addComment(comment);
         feed.addComment(comment);
-        noticeRepository.save(new NoticeComment(comment.getId()));
+        noticeService.notifyComment(user, feed, comment);
+        outboxPublisher.append(OutboxType.FEED_COUNT, feed.getId(), new FeedCountPayload(feed.getId(), 0, 1));
+        feed.applyCommentCnt(1);
     }
 
     @Override
@@ -63,17 +71,48 @@ public class CommentServiceImpl implements CommentService {
         user.deleteComment(comment);
         feed.deleteComment(comment);
         commentRepository.delete(comment);
+        // 이 피드에 남긴 마지막 댓글이면 댓글 알림에서도 뺀다
+        if (!commentRepository.existsByUserAndFeed(user.getId(), feed.getId())) {
+            noticeService.retractComment(user, feed);
+        }
+        outboxPublisher.append(OutboxType.FEED_COUNT, feed.getId(), new FeedCountPayload(feed.getId(), 0, -1));
+        feed.applyCommentCnt(-1);
     }
 
     @Override
     public CommentResponseDto getList(Long userId, Long feedId, int num) {
-        User user = userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
         Feed feed = feedRepository.findById(feedId);
         if (feed == null) throw new NoSuchElementException();
-        return new CommentResponseDto(commentRepository.findListById(feed, num)
+
+        // 박수 수는 댓글에 저장된 값, 박수 여부는 한번에 조회
+        List<Comment> comments = commentRepository.findListById(feed, num)
+                .collect(Collectors.toList());
+        Set<Long> clapCommentIds = commentClapRepository.findClapCommentIds(userId, comments.stream()
+                .map(Comment::getId)
+                .collect(Collectors.toList()));
+        return new CommentResponseDto(comments.stream()
                 .map(comment -> new CommentDto(comment,
-                        commentClapRepository.findClapAll(comment).size(),
-                        commentClapRepository.findClap(user, comment).isPresent()))
+                        comment.getClapCnt(),
+                        clapCommentIds.contains(comment.getId())))
                 .collect(Collectors.toList()), num);
     }
+
+    @Override
+    public CommentSliceResponseDto getSlice(Long userId, Long feedId, String cursor) {
+        FeedCursor after = FeedCursor.decode(cursor);
+        List<Comment> comments = commentRepository.findListAfter(feedId,
+                after.getCreatedDate(), after.getId(), FeedCursor.PAGE_SIZE + 1);
+        boolean hasNext = comments.size() > FeedCursor.PAGE_SIZE;
+        if (hasNext) comments = comments.subList(0, FeedCursor.PAGE_SIZE);
+
+        Set<Long> clapCommentIds = commentClapRepository.findClapCommentIds(userId, comments.stream()
+                .map(Comment::getId)
+                .collect(Collectors.toList()));
+        String nextCursor = comments.isEmpty() ? null : FeedCursor.next(comments.get(comments.size() - 1));
+        return new CommentSliceResponseDto(comments.stream()
+                .map(comment -> new CommentDto(comment,
+                        comment.getClapCnt(),
+                        clapCommentIds.contains(comment.getId())))
+                .collect(Collectors.toList()), nextCursor, hasNext);
+    }
 }
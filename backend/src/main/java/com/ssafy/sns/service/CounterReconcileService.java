@@ -0,0 +1,84 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.repository.CommentClapRepositoryImpl;
+import com.ssafy.sns.repository.CommentRepositoryImpl;
+import com.ssafy.sns.repository.CounterReconcileRepository;
+import com.ssafy.sns.repository.FeedClapRepositoryImpl;
+import com.ssafy.sns.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 저장된 카운터와 실제 행 수를 비교해서 어긋난 값을 고친다.
+ * 한 번 호출에 한 묶음만 처리하고 다음 시작 id 를 돌려준다. (더 없으면 null)
+ * 피드 박수 / 댓글 수는 outbox (FEED_COUNT) 로 늦게 반영되므로, 처리 대기 중인 증감이 있는 피드는 이번에는 건너뛴다.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class CounterReconcileService {
+
+    private final CounterReconcileRepository counterReconcileRepository;
+    private final FeedClapRepositoryImpl feedClapRepository;
+    private final CommentRepositoryImpl commentRepository;
+    private final CommentClapRepositoryImpl commentClapRepository;
+    private final OutboxRepository outboxRepository;
+
+    public Long reconcileFeeds(Long lastId, int size) {
+        List<Object[]> rows = counterReconcileRepository.findFeedCounters(lastId, size);
+        if (rows.isEmpty()) return null;
+
+        List<Long> feedIds = new ArrayList<>();
+        for (Object[] row : rows) {
+            feedIds.add(((Number) row[0]).longValue());
+        }
+        Map<Long, Integer> clapCnts = feedClapRepository.countByFeedIds(feedIds);
+        Map<Long, Integer> commentCnts = commentRepository.countByFeedIds(feedIds);
+        Set<Long> pending = outboxRepository.findPendingFeedCountIds(feedIds);
+
+        for (Object[] row : rows) {
+            Long feedId = ((Number) row[0]).longValue();
+            if (pending.contains(feedId)) continue;
+            int clapCnt = ((Number) row[1]).intValue();
+            int commentCnt = ((Number) row[2]).intValue();
+
+            int actualClapCnt = clapCnts.getOrDefault(feedId, 0);
+            if (clapCnt != actualClapCnt) {
+                counterReconcileRepository.fixFeedClapCnt(feedId, clapCnt, actualClapCnt);
+            }
+            int actualCommentCnt = commentCnts.getOrDefault(feedId, 0);
+            if (commentCnt != actualCommentCnt) {
+                counterReconcileRepository.fixFeedCommentCnt(feedId, commentCnt, actualCommentCnt);
+            }
+        }
+        return rows.size() < size ? null : feedIds.get(feedIds.size() - 1);
+    }
+
+    public Long reconcileComments(Long lastId, int size) {
+        List<Object[]> rows = counterReconcileRepository.findCommentCounters(lastId, size);
+        if (rows.isEmpty()) return null;
+
+        List<Long> commentIds = new ArrayList<>();
+        for (Object[] row : rows) {
+            commentIds.add(((Number) row[0]).longValue());
+        }
+        Map<Long, Integer> clapCnts = commentClapRepository.countByCommentIds(commentIds);
+
+        for (Object[] row : rows) {
+            Long commentId = ((Number) row[0]).longValue();
+            int clapCnt = ((Number) row[1]).intValue();
+
+            int actualClapCnt = clapCnts.getOrDefault(commentId, 0);
+            if (clapCnt != actualClapCnt) {
+                counterReconcileRepository.fixCommentClapCnt(commentId, clapCnt, actualClapCnt);
+            }
+        }
+        return rows.size() < size ? null : commentIds.get(commentIds.size() - 1);
+    }
+}
@@ -0,0 +1,38 @@
+package com.ssafy.sns.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 박수 수, 댓글 수 주기적 보정. 묶음마다 트랜잭션을 따로 써서 락을 오래 잡지 않는다.
+@Component
+@RequiredArgsConstructor
+public class CounterReconciler {
+
+    public static final Logger logger = LoggerFactory.getLogger(CounterReconciler.class);
+
+    private final CounterReconcileService counterReconcileService;
+
+    @Value("${counter.reconcile.chunk-size:500}")
+    private int chunkSize;
+
+    @Scheduled(initialDelayString = "${counter.reconcile.initial-delay:60000}",
+            fixedDelayString = "${counter.reconcile.interval:3600000}")
+    public void reconcile() {
+        try {
+            Long lastId = 0L;
+            while (lastId != null) {
+                lastId = counterReconcileService.reconcileFeeds(lastId, chunkSize);
+            }
+            lastId = 0L;
+            while (lastId != null) {
+                lastId = counterReconcileService.reconcileComments(lastId, chunkSize);
+            }
+        } catch (Exception e) {
+            logger.warn("카운터 보정 실패 : {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.ssafy.sns.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.ssafy.sns.dto.firebase.FcmMessage;
+import okhttp3.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FCM HTTP v1 전송. 묶음 하나를 OkHttpClient 한 개(커넥션 풀 공유, HTTP/2 다중화)로 동시에 보내고 결과를 모은다.
+ * push.fcm.credentials 가 비어 있으면 인증 헤더 없이 보내므로 push.fcm.url 을 로컬 스텁으로 두고 시험할 수 있다.
+ * 시간 안에 끝나지 않은 요청은 취소하고 RETRY 로 돌려준다. (늦게라도 보내져서 재시도와 겹치지 않게)
+ * 429 / 503 의 Retry-After 는 retryAfterMillis() 로 PushDispatcher 에 넘긴다.
+ */
+@Component
+@ConditionalOnProperty(name = "push.transport", havingValue = "fcm")
+public class FcmPushTransport implements PushTransport {
+
+    public static final Logger logger = LoggerFactory.getLogger(FcmPushTransport.class);
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static final String SCOPE = "https://www.googleapis.com/auth/firebase.messaging";
+
+    private final ObjectMapper objectMapper;
+    private final OkHttpClient client;
+    private final String url;
+    private final long timeoutMillis;
+    private final GoogleCredentials credentials;
+    private volatile long retryAfterMillis;
+
+    public FcmPushTransport(ObjectMapper objectMapper,
+                            @Value("${push.fcm.url}") String url,
+                            @Value("${push.fcm.credentials:}") String credentialsPath,
+                            @Value("${push.fcm.max-idle-connections:5}") int maxIdleConnections,
+                            @Value("${push.fcm.max-concurrency:64}") int maxConcurrency,
+                            @Value("${push.fcm.timeout:10000}") long timeoutMillis) throws IOException {
+        this.objectMapper = objectMapper;
+        this.url = url;
+        this.timeoutMillis = timeoutMillis;
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxConcurrency);
+        dispatcher.setMaxRequestsPerHost(maxConcurrency);
+        this.client = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(maxIdleConnections, 5, TimeUnit.MINUTES))
+                .callTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .build();
+
+        if (credentialsPath.isEmpty()) {
+            this.credentials = null;
+        } else {
+            try (InputStream in = new FileInputStream(credentialsPath)) {
+                this.credentials = GoogleCredentials.fromStream(in).createScoped(Collections.singletonList(SCOPE));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+
+    @Override
+    public List<PushResult> send(List<FcmMessage> messages) {
+        PushResult[] results = new PushResult[messages.size()];
+        Arrays.fill(results, PushResult.RETRY);
+        retryAfterMillis = 0;
+
+        String authorization;
+        try {
+            authorization = authorization();
+        } catch (IOException e) {
+            logger.warn("FCM 인증 토큰 발급 실패 : {}", e.getMessage());
+            return Arrays.asList(results);
+        }
+
+        CountDownLatch latch = new CountDownLatch(messages.size());
+        AtomicLong retryAfter = new AtomicLong();
+        Call[] calls = new Call[messages.size()];
+        for (int i = 0; i < messages.size(); i++) {
+            int index = i;
+            Request.Builder request = new Request.Builder().url(url);
+            if (authorization != null) request.header("Authorization", authorization);
+            try {
+                request.post(RequestBody.create(objectMapper.writeValueAsBytes(messages.get(i)), JSON));
+            } catch (IOException e) {
+                results[index] = PushResult.FAILED;
+                latch.countDown();
+                continue;
+            }
+
+            calls[index] = client.newCall(request.build());
+            calls[index].enqueue(new Callback() {
+                @Override
+                public void onResponse(Call call, Response response) {
+                    try (ResponseBody body = response.body()) {
+                        if (response.code() == 429 || response.code() == 503) {
+                            long wait = parseRetryAfter(response.header("Retry-After"));
+                            retryAfter.accumulateAndGet(wait, Math::max);
+                        }
+                        results[index] = classify(response.code(), body == null ? "" : body.string());
+                    } catch (IOException e) {
+                        results[index] = PushResult.RETRY;
+                    } finally {
+                        latch.countDown();
+                    }
+                }
+
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    results[index] = PushResult.RETRY;
+                    latch.countDown();
+                }
+            });
+        }
+
+        boolean finished = false;
+        try {
+            finished = latch.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!finished) {
+            // 아직 디스패처 큐에 있거나 보내는 중인 요청을 멈춘다 (끝난 요청의 cancel 은 아무 일도 안 한다)
+            for (Call call : calls) {
+                if (call != null) call.cancel();
+            }
+        }
+        retryAfterMillis = retryAfter.get();
+        // 시간 안에 끝나지 않은 건은 RETRY 로 남는다 (늦게 온 응답이 바꾸지 못하게 복사)
+        return Arrays.asList(results.clone());
+    }
+
+    @Override
+    public long retryAfterMillis() {
+        return retryAfterMillis;
+    }
+
+    // 초 또는 HTTP 날짜. 못 읽으면 0
+    private long parseRetryAfter(String value) {
+        if (value == null || value.isEmpty()) return 0;
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toMillis());
+            } catch (Exception ex) {
+                return 0;
+            }
+        }
+    }
+
+    private String authorization() throws IOException {
+        if (credentials == null) return null;
+        synchronized (credentials) {
+            credentials.refreshIfExpired();
+            return "Bearer " + credentials.getAccessToken().getTokenValue();
+        }
+    }
+
+    private PushResult classify(int code, String body) {
+        if (code >= 200 && code < 300) return PushResult.SUCCESS;
+        if (code == 429 || code >= 500) return PushResult.RETRY;
+        if (code == 404 || body.contains("UNREGISTERED")) return PushResult.INVALID_TOKEN;
+        return PushResult.FAILED;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.domain.newsfeed.Feed;
+import com.ssafy.sns.repository.FeedClapRepositoryImpl;
+import com.ssafy.sns.repository.FeedRepositoryImpl;
+import com.ssafy.sns.repository.FollowRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 피드 목록 응답에 필요한 박수 여부, 팔로우 여부를
+ * 피드마다 조회하지 않고 IN 쿼리로 묶어서 조회한다.
+ * 댓글 수, 박수 수는 피드에 저장된 값을 그대로 쓴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class FeedCardAssembler {
+
+    private final FeedRepositoryImpl feedRepository;
+    private final FeedClapRepositoryImpl feedClapRepository;
+    private final FollowRepository followRepository;
+
+    // 피드 id 목록 (순서 유지) + 보는 사람
+    public FeedCards assembleByIds(Long viewerId, List<Long> feedIds) {
+        return assemble(viewerId, feedRepository.findAllByIds(feedIds));
+    }
+
+    public FeedCards assemble(Long viewerId, Feed feed) {
+        return assemble(viewerId, Collections.singletonList(feed));
+    }
+
+    public FeedCards assemble(Long viewerId, List<? extends Feed> feeds) {
+        if (feeds.isEmpty()) return FeedCards.empty();
+
+        List<Long> feedIds = feeds.stream()
+                .map(Feed::getId)
+                .collect(Collectors.toList());
+        Set<Long> authorIds = feeds.stream()
+                .map(feed -> feed.getUser().getId())
+                .collect(Collectors.toSet());
+
+        return new FeedCards(new ArrayList<>(feeds),
+                feedClapRepository.findClapFeedIds(viewerId, feedIds),
+                new HashSet<>(followRepository.findToUserIdsIn(viewerId, authorIds)));
+    }
+}
@@ -0,0 +1,60 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.domain.group.Group;
+import com.ssafy.sns.domain.newsfeed.Feed;
+import com.ssafy.sns.domain.newsfeed.FeedCategory;
+import com.ssafy.sns.domain.newsfeed.Insider;
+import com.ssafy.sns.dto.newsfeed.InsiderResDto;
+import lombok.Getter;
+import org.hibernate.Hibernate;
+
+import java.util.*;
+
+// FeedCardAssembler 가 한번에 조회한 피드 목록의 부가 정보
+public class FeedCards {
+
+    @Getter
+    private final List<Feed> feeds;
+    private final Set<Long> clapFeedIds;
+    private final Set<Long> followUserIds;
+
+    public FeedCards(List<Feed> feeds, Set<Long> clapFeedIds, Set<Long> followUserIds) {
+        this.feeds = feeds;
+        this.clapFeedIds = clapFeedIds;
+        this.followUserIds = followUserIds;
+    }
+
+    public static FeedCards empty() {
+        return new FeedCards(new ArrayList<>(), new HashSet<>(), new HashSet<>());
+    }
+
+    public int getCommentCnt(Feed feed) {
+        return feed.getCommentCnt();
+    }
+
+    public int getLikeCnt(Feed feed) {
+        return feed.getClapCnt();
+    }
+
+    public boolean isClap(Feed feed) {
+        return clapFeedIds.contains(feed.getId());
+    }
+
+    public boolean isFollow(Feed feed) {
+        return followUserIds.contains(feed.getUser().getId());
+    }
+
+    // 카테고리가 섞인 목록(검색, 타임라인 등)에서 쓰는 공통 응답
+    public InsiderResDto toResDto(Feed feed) {
+        FeedCategory category = FeedCategory.of(feed);
+        Long groupId = null;
+        String groupName = null;
+        if (category == FeedCategory.INSIDER) {
+            Group group = ((Insider) Hibernate.unproxy(feed)).getGroup();
+            groupId = group.getId();
+            groupName = group.getName();
+        }
+        return new InsiderResDto(feed, getCommentCnt(feed), getLikeCnt(feed), isClap(feed),
+                category.getCode(), isFollow(feed), groupId, groupName);
+    }
+}
@@ -2,15 +2,18 @@ package com.ssafy.sns.service;
 
 import com.ssafy.sns.domain.clap.FeedClap;
 import com.ssafy.sns.domain.newsfeed.Feed;
-import com.ssafy.sns.domain.notice.NoticeFeedClap;
+import com.ssafy.sns.domain.newsfeed.FeedCategory;
+import com.ssafy.sns.domain.outbox.OutboxType;
 import com.ssafy.sns.domain.user.User;
 import com.ssafy.sns.dto.clap.ClapResponseDto;
+import com.ssafy.sns.dto.outbox.FeedCountPayload;
 import com.ssafy.sns.dto.user.SimpleUserDto;
+import com.ssafy.sns.event.FeedClapEvent;
 import com.ssafy.sns.repository.FeedClapRepositoryImpl;
 import com.ssafy.sns.repository.FeedRepositoryImpl;
-import com.ssafy.sns.repository.NoticeRepositoryImpl;
 import com.ssafy.sns.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
@@ -26,7 +29,9 @@ public class FeedClapServiceImpl implements ClapService {
     private final FeedClapRepositoryImpl feedClapRepository;
     private final UserRepository userRepository;
     private final FeedRepositoryImpl indoorRepository;
-    private final NoticeRepositoryImpl noticeRepository;
+    private final NoticeServiceImpl noticeService;
+    private final OutboxPublisher outboxPublisher;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public void changeClap(Long userId, Long targetId) {
@@ -38,11 +43,20 @@ public class FeedClapServiceImpl implements ClapService {
             user.deleteFeedClap(resultClap.get());
             feed.deleteFeedClap(resultClap.get());
             feedClapRepository.delete(resultClap.get());
+            outboxPublisher.append(OutboxType.FEED_COUNT, feed.getId(), new FeedCountPayload(feed.getId(), -1, 0));
+            noticeService.retractFeedClap(user, feed);
+            feed.applyClapCnt(-1);
+            eventPublisher.publishEvent(new FeedClapEvent(feed.getId(), userId, FeedCategory.of(feed), false,
+                    resultClap.get().getCreatedDate()));
         } else {
             FeedClap feedClap = feedClapRepository.save(new FeedClap());
             user.addFeedClap(feedClap);
             feed.addFeedClap(feedClap);
-            noticeRepository.save(new NoticeFeedClap(feedClap.getId()));
+            noticeService.notifyFeedClap(user, feed);
+            outboxPublisher.append(OutboxType.FEED_COUNT, feed.getId(), new FeedCountPayload(feed.getId(), 1, 0));
+            feed.applyClapCnt(1);
+            eventPublisher.publishEvent(new FeedClapEvent(feed.getId(), userId, FeedCategory.of(feed), true,
+                    feedClap.getCreatedDate()));
         }
     }
 
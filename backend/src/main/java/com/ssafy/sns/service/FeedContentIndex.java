@@ -0,0 +1,294 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.event.FeedContentEvent;
+import com.ssafy.sns.event.FeedDeletedEvent;
+import com.ssafy.sns.util.FeedCursor;
+import com.ssafy.sns.util.UnicodeHandler;
+import lombok.RequiredArgsConstructor;
+import org.apache.lucene.analysis.*;
+import org.apache.lucene.analysis.core.WhitespaceTokenizer;
+import org.apache.lucene.analysis.ko.KoreanAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.EdgeNGramTokenFilter;
+import org.apache.lucene.document.*;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 피드 본문 검색용 Lucene 색인 (로컬 디스크, search.content.index-dir).
+ * - content : nori 형태소 분석
+ * - jamo / chosung : 자모로 푼 본문과 초성을 공백 단위로 나눠 앞부분(edge n-gram)을 색인. 입력 중인 글자, "ㅅㅍ" 검색용
+ * 작성 / 수정 / 삭제는 커밋 이후 바로 IndexWriter 에 넣고, search.content.max-stale 초 안에 검색에 보인다. (near-real-time)
+ * 디스크 commit 은 search.content.commit-interval 마다 한다. 결과는 작성시간, id 내림차순이라 FeedCursor 로 이어 받는다.
+ * 열 때 commit 데이터에 clean=false 를 남기고 정상 종료 때만 clean=true 로 닫는다.
+ * 그래서 다음 시작 때 clean 이 아니면 마지막 commit 뒤의 변경이 날아갔을 수 있으므로 전체 재구성한다. (FeedContentReindexer)
+ */
+@Component
+@RequiredArgsConstructor
+public class FeedContentIndex {
+
+    public static final Logger logger = LoggerFactory.getLogger(FeedContentIndex.class);
+
+    private static final String KEY = "key";
+    private static final String ID = "id";
+    private static final String CREATED = "created";
+    private static final String CONTENT = "content";
+    private static final String JAMO = "jamo";
+    private static final String CHOSUNG = "chosung";
+    private static final int MAX_PREFIX = 30;
+    private static final String CLEAN = "clean";
+    private static final Sort NEWEST = new Sort(new SortField(CREATED, SortField.Type.LONG, true),
+            new SortField(ID, SortField.Type.LONG, true));
+
+    private final UnicodeHandler unicodeHandler;
+
+    @Value("${search.content.index-dir:./index/feed}")
+    private String indexDir;
+
+    @Value("${search.content.max-stale:1.0}")
+    private double maxStaleSec;
+
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+    private QueryBuilder queryBuilder;
+    private boolean cleanShutdown;
+    private volatile boolean incomplete; // 재구성이 중간에 실패해 일부만 들어 있음
+
+    // 재구성 중 이벤트로 바뀐 글. 재구성은 이 글들을 건너뛴다 (스냅샷보다 이벤트가 최신)
+    private final Set<Long> touched = ConcurrentHashMap.newKeySet();
+    private final Object[] feedLocks = new Object[64];
+    private volatile boolean reindexing;
+
+    @PostConstruct
+    public void open() throws IOException {
+        Analyzer korean = new KoreanAnalyzer();
+        Map<String, Analyzer> indexFields = new HashMap<>();
+        indexFields.put(JAMO, prefixAnalyzer(true));
+        indexFields.put(CHOSUNG, prefixAnalyzer(true));
+        Map<String, Analyzer> queryFields = new HashMap<>();
+        queryFields.put(JAMO, prefixAnalyzer(false));
+        queryFields.put(CHOSUNG, prefixAnalyzer(false));
+
+        IndexWriterConfig config = new IndexWriterConfig(new PerFieldAnalyzerWrapper(korean, indexFields));
+        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(FSDirectory.open(Paths.get(indexDir)), config);
+        cleanShutdown = "true".equals(commitData().get(CLEAN));
+        setClean(false);
+        writer.commit();
+
+        for (int i = 0; i < feedLocks.length; i++) {
+            feedLocks[i] = new Object();
+        }
+        searcherManager = new SearcherManager(writer, null);
+        queryBuilder = new QueryBuilder(new PerFieldAnalyzerWrapper(korean, queryFields));
+
+        reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager, maxStaleSec, 0.1);
+        reopenThread.setName("feed-content-reopen");
+        reopenThread.setDaemon(true);
+        reopenThread.start();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        reopenThread.close();
+        searcherManager.close();
+        setClean(!incomplete);
+        writer.close(); // 남은 변경과 clean 표시 commit
+    }
+
+    public boolean isEmpty() {
+        return writer.getDocStats().numDocs == 0;
+    }
+
+    // 지난번에 정상 종료했으면 true. 아니면 마지막 commit 이후의 작성 / 수정 / 삭제가 색인에 없을 수 있다
+    public boolean wasCleanShutdown() {
+        return cleanShutdown;
+    }
+
+    public void index(Long feedId, String content, LocalDateTime createdDate) {
+        try {
+            writer.updateDocument(new Term(KEY, String.valueOf(feedId)), toDocument(feedId, content, createdDate));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 전체 재구성 시작. 색인을 비우고, 이후 이벤트로 바뀌는 글을 touched 에 모은다.
+     * DB 스냅샷은 이 다음에 열어야 한다. 그 전에 커밋된 변경은 스냅샷에 있고, 이후 변경은 touched 에 남는다.
+     */
+    public void beginReindex() throws IOException {
+        touched.clear();
+        writer.deleteAll();
+        reindexing = true;
+    }
+
+    public void endReindex(boolean completed) {
+        incomplete = !completed;
+        reindexing = false;
+        touched.clear();
+    }
+
+    // 재구성용. 재구성 중 이벤트로 바뀐 (또는 지워진) 글이면 스냅샷 내용으로 덮어쓰지 않는다
+    public void reindex(Long feedId, String content, LocalDateTime createdDate) {
+        synchronized (feedLock(feedId)) {
+            if (touched.contains(feedId)) return;
+            index(feedId, content, createdDate);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.content.commit-interval:60000}")
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) writer.commit();
+        } catch (IOException e) {
+            logger.warn("본문 색인 저장 실패 : {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onContent(FeedContentEvent event) {
+        try {
+            synchronized (feedLock(event.getFeedId())) {
+                if (reindexing) touched.add(event.getFeedId());
+                index(event.getFeedId(), event.getContent(), event.getCreatedDate());
+            }
+        } catch (Exception e) {
+            logger.warn("본문 색인 실패 : {} {}", event.getFeedId(), e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFeedDeleted(FeedDeletedEvent event) {
+        try {
+            synchronized (feedLock(event.getFeedId())) {
+                if (reindexing) touched.add(event.getFeedId());
+                writer.deleteDocuments(new Term(KEY, String.valueOf(event.getFeedId())));
+            }
+        } catch (IOException e) {
+            logger.warn("본문 색인 삭제 실패 : {} {}", event.getFeedId(), e.getMessage());
+        }
+    }
+
+    // keyword 가 본문에 있는 피드 id (커서 이후, 최신순 size 개)
+    public List<Long> search(String keyword, FeedCursor after, int size) throws IOException {
+        Query text = textQuery(keyword.trim());
+        if (text == null) return Collections.emptyList();
+
+        long created = toMillis(after.getCreatedDate());
+        Query cursor = new BooleanQuery.Builder()
+                .add(LongPoint.newRangeQuery(CREATED, Long.MIN_VALUE, created - 1), BooleanClause.Occur.SHOULD)
+                .add(new BooleanQuery.Builder()
+                        .add(LongPoint.newExactQuery(CREATED, created), BooleanClause.Occur.FILTER)
+                        .add(LongPoint.newRangeQuery(ID, Long.MIN_VALUE, after.getId() - 1), BooleanClause.Occur.FILTER)
+                        .build(), BooleanClause.Occur.SHOULD)
+                .build();
+        Query query = new BooleanQuery.Builder()
+                .add(text, BooleanClause.Occur.MUST)
+                .add(cursor, BooleanClause.Occur.FILTER)
+                .build();
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            List<Long> ids = new ArrayList<>(size);
+            for (ScoreDoc hit : searcher.search(query, size, NEWEST).scoreDocs) {
+                ids.add(Long.parseLong(searcher.doc(hit.doc).get(KEY)));
+            }
+            return ids;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    // 초성만 입력하면 초성 필드, 그 외에는 형태소 또는 자모 앞부분 일치
+    private Query textQuery(String keyword) {
+        if (keyword.isEmpty()) return null;
+        String lower = keyword.toLowerCase(Locale.ROOT);
+        if (unicodeHandler.isChosungOnly(lower.replace(" ", ""))) {
+            return queryBuilder.createBooleanQuery(CHOSUNG, lower, BooleanClause.Occur.MUST);
+        }
+
+        Query content = queryBuilder.createBooleanQuery(CONTENT, keyword, BooleanClause.Occur.MUST);
+        Query jamo = queryBuilder.createBooleanQuery(JAMO, unicodeHandler.splitHangeulToConsonant(lower),
+                BooleanClause.Occur.MUST);
+        if (content == null) return jamo;
+        if (jamo == null) return content;
+        return new BooleanQuery.Builder()
+                .add(content, BooleanClause.Occur.SHOULD)
+                .add(jamo, BooleanClause.Occur.SHOULD)
+                .build();
+    }
+
+    private Document toDocument(Long feedId, String content, LocalDateTime createdDate) {
+        String text = content == null ? "" : content;
+        String lower = text.toLowerCase(Locale.ROOT);
+        long created = toMillis(createdDate == null ? LocalDateTime.now() : createdDate);
+
+        Document doc = new Document();
+        doc.add(new StringField(KEY, String.valueOf(feedId), Field.Store.YES));
+        doc.add(new LongPoint(ID, feedId));
+        doc.add(new NumericDocValuesField(ID, feedId));
+        doc.add(new LongPoint(CREATED, created));
+        doc.add(new NumericDocValuesField(CREATED, created));
+        doc.add(new TextField(CONTENT, text, Field.Store.NO));
+        doc.add(new TextField(JAMO, unicodeHandler.splitHangeulToConsonant(lower), Field.Store.NO));
+        doc.add(new TextField(CHOSUNG, unicodeHandler.extractChosung(lower), Field.Store.NO));
+        return doc;
+    }
+
+    private Object feedLock(Long feedId) {
+        return feedLocks[(int) Math.floorMod(feedId, (long) feedLocks.length)];
+    }
+
+    private Map<String, String> commitData() {
+        Map<String, String> data = new HashMap<>();
+        Iterable<Map.Entry<String, String>> live = writer.getLiveCommitData();
+        if (live != null) live.forEach(e -> data.put(e.getKey(), e.getValue()));
+        return data;
+    }
+
+    private void setClean(boolean clean) {
+        Map<String, String> data = commitData();
+        data.put(CLEAN, String.valueOf(clean));
+        writer.setLiveCommitData(data.entrySet());
+    }
+
+    private long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // 공백으로 나누고 소문자로. edge 면 단어마다 앞부분 1 ~ MAX_PREFIX 글자도 같이 (원래 단어 포함)
+    private static Analyzer prefixAnalyzer(boolean edge) {
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer tokenizer = new WhitespaceTokenizer();
+                TokenStream stream = new LowerCaseFilter(tokenizer);
+                if (edge) stream = new EdgeNGramTokenFilter(stream, 1, MAX_PREFIX, true);
+                return new TokenStreamComponents(tokenizer, stream);
+            }
+        };
+    }
+}
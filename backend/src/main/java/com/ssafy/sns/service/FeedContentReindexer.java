@@ -0,0 +1,111 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.repository.FeedRepository;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollableResults;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 피드 본문 색인 전체 재구성.
+ * 서버 시작 시 색인이 비어 있거나, 지난번에 정상 종료하지 않았거나 (commit 안 된 변경 유실), search.content.reindex-on-start=true 이면 실행한다.
+ * 색인을 비우고 다시 채우므로 서버가 꺼져 있는 동안 지워진 글도 빠진다.
+ * DB 는 한 줄씩 스트리밍으로 읽어 search.content.reindex-batch 개씩 묶고, 분석(형태소, 자모)은 ForkJoinPool 에서 나눠 한다.
+ * 읽기가 분석보다 빠르므로 대기 중인 묶음 수를 병렬 수의 2 배로 제한해 메모리에 쌓이지 않게 한다.
+ * 스냅샷은 재구성 중 들어온 작성 / 수정 / 삭제보다 오래된 내용이므로, 그 글들은 FeedContentIndex 가 touched 로 모아 두고 건너뛴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class FeedContentReindexer {
+
+    public static final Logger logger = LoggerFactory.getLogger(FeedContentReindexer.class);
+
+    private final FeedRepository feedRepository;
+    private final FeedContentIndex feedContentIndex;
+
+    @Value("${search.content.reindex-on-start:false}")
+    private boolean reindexOnStart;
+
+    @Value("${search.content.reindex-batch:500}")
+    private int batchSize;
+
+    @Value("${search.content.reindex-parallelism:4}")
+    private int parallelism;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void reindexOnStart() {
+        if (!reindexOnStart && !feedContentIndex.isEmpty() && feedContentIndex.wasCleanShutdown()) return;
+        if (!feedContentIndex.wasCleanShutdown()) logger.info("본문 색인이 정상 종료되지 않음, 전체 재구성");
+        try {
+            reindex();
+        } catch (Exception e) {
+            logger.warn("본문 색인 재구성 실패 : {}", e.getMessage());
+        }
+    }
+
+    @Transactional
+    public void reindex() throws Exception {
+        long start = System.currentTimeMillis();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Semaphore pending = new Semaphore(parallelism * 2);
+        List<Future<?>> tasks = new ArrayList<>();
+        long count = 0;
+        boolean completed = false;
+
+        feedContentIndex.beginReindex();
+        try (ScrollableResults rows = feedRepository.scrollContents()) {
+            List<Object[]> batch = new ArrayList<>(batchSize);
+            while (rows.next()) {
+                batch.add(rows.get().clone());
+                if (batch.size() == batchSize) {
+                    tasks.add(submit(pool, pending, batch));
+                    count += batch.size();
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                tasks.add(submit(pool, pending, batch));
+                count += batch.size();
+            }
+
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+            completed = true;
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.MINUTES); // 실패했을 때 남은 묶음이 endReindex 뒤에 쓰지 않게
+            feedContentIndex.endReindex(completed);
+        }
+
+        feedContentIndex.commit();
+        logger.info("본문 색인 재구성 : {} 건, {} ms", count, System.currentTimeMillis() - start);
+    }
+
+    private Future<?> submit(ForkJoinPool pool, Semaphore pending, List<Object[]> batch) throws InterruptedException {
+        pending.acquire();
+        return pool.submit(() -> {
+            try {
+                for (Object[] row : batch) {
+                    feedContentIndex.reindex((Long) row[0], (String) row[1], (LocalDateTime) row[2]);
+                }
+            } finally {
+                pending.release();
+            }
+        });
+    }
+}
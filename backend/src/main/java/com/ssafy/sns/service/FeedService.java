@@ -13,6 +13,12 @@ public interface FeedService {
     // 한페이지 불러오기
     FeedListResponseDto readList(Long userId, int num);
 
+    // 커서 이후 내가 쓴 글 불러오기
+    FeedSliceResponseDto findMySlice(Long userId, Long targetId, String cursor);
+
+    // 커서 이후 한페이지 불러오기
+    FeedSliceResponseDto readSlice(Long userId, String cursor);
+
     // 피드 글 불러오기
     FeedResponseDto read(Long userId, Long feedId);
 
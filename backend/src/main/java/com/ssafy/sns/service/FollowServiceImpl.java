@@ -3,14 +3,14 @@ package com.ssafy.sns.service;
 import com.ssafy.sns.domain.follow.Follow;
 import com.ssafy.sns.domain.newsfeed.Feed;
 import com.ssafy.sns.domain.notice.Notice;
-import com.ssafy.sns.domain.notice.NoticeFollow;
 import com.ssafy.sns.domain.user.User;
 import com.ssafy.sns.dto.user.UserFollowDto;
+import com.ssafy.sns.event.FollowEvent;
 import com.ssafy.sns.repository.FeedRepository;
 import com.ssafy.sns.repository.FollowRepository;
-import com.ssafy.sns.repository.NoticeRepositoryImpl;
 import com.ssafy.sns.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
@@ -36,7 +36,9 @@ public class FollowServiceImpl {
         return (int) followRepository.countByToUserId(id);
     }
 
-    private final NoticeRepositoryImpl noticeRepository;
+    private final NoticeServiceImpl noticeService;
+
+    private final ApplicationEventPublisher eventPublisher;
 
 //    public List<Long> fromMeToOthersList(Long id) {
 //        List<Follow> follows = followRepository.findByFromId(id);
@@ -71,11 +73,13 @@ public class FollowServiceImpl {
         if (followRepository.findByToUserAndFromUser(fromUser.getId(), toUser.getId()).isPresent()) {
             // 팔로윙 취소
             followRepository.deleteByUser(fromUser.getId(), toUser.getId());
+            eventPublisher.publishEvent(new FollowEvent(fromUser.getId(), toUser.getId(), false));
         } else {
             Follow follow = new Follow(fromUser, toUser);
             // 팔로잉
             Follow save = followRepository.save(follow);
-            noticeRepository.save(new NoticeFollow(save.getId()));
+            noticeService.notifyFollow(fromUser, toUser);
+            eventPublisher.publishEvent(new FollowEvent(fromUser.getId(), toUser.getId(), true));
         }
     }
 
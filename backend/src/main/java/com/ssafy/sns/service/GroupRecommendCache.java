@@ -0,0 +1,202 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.domain.newsfeed.FeedCategory;
+import com.ssafy.sns.event.FeedClapEvent;
+import com.ssafy.sns.event.FeedDeletedEvent;
+import com.ssafy.sns.event.FeedWrittenEvent;
+import com.ssafy.sns.event.GroupDeletedEvent;
+import com.ssafy.sns.repository.FollowRepository;
+import com.ssafy.sns.repository.GroupMemberRepository;
+import com.ssafy.sns.repository.InsiderRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 그룹 추천 게시글 5개를 주기적으로 계산해서 피드 id 만 들고 있는다.
+ * 1. 멤버 많은 그룹 최신 글
+ * 2. 멤버 많은 그룹 박수 많은 글
+ * 3. 박수 많은 글
+ * 4. 가장 최근 생긴 그룹 글
+ * 5. 팔로워 가장 많은 사람이 쓴 최신 글
+ * 후보 글 (그룹 글 전체) 은 서버 시작 시 한 번 읽어 메모리에 두고, 글 작성 / 박수 / 삭제, 그룹 삭제 이벤트로만 바꾼다.
+ * 주기 갱신은 스칼라 값 쿼리 2개 (그룹 멤버 수, 작성자 팔로워 수) + 메모리 후보 한 번 순회로 기준마다 상위 5개만 유지한다.
+ * (앞 순서에서 뽑힌 글은 건너뛰므로 5개면 충분) 요청 스레드에서는 계산하지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class GroupRecommendCache {
+
+    public static final Logger logger = LoggerFactory.getLogger(GroupRecommendCache.class);
+    private static final int SLOT_CNT = 5;
+
+    private final InsiderRepository insiderRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final FollowRepository followRepository;
+
+    private final Map<Long, Candidate> candidates = new ConcurrentHashMap<>();
+    private final Set<Long> touched = ConcurrentHashMap.newKeySet();
+    private volatile boolean warming;
+    private volatile List<Long> feedIds = Collections.emptyList();
+
+    // 서버 시작 직후 계산 전까지는 빈 목록
+    public List<Long> getFeedIds() {
+        return feedIds;
+    }
+
+    /**
+     * 후보 글 전체를 한 번 읽는다. 읽는 동안 이벤트로 바뀐 글은 DB 에서 읽은 값이 더 오래됐을 수 있으므로
+     * 다 읽은 뒤 그 글만 다시 읽는다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        warming = true;
+        try {
+            for (Object[] row : insiderRepository.findRecommendCandidates()) {
+                Candidate candidate = new Candidate(row);
+                candidates.put(candidate.feedId, candidate);
+            }
+        } catch (Exception e) {
+            logger.warn("그룹 추천 후보 구성 실패 : {}", e.getMessage());
+        } finally {
+            warming = false;
+        }
+        List<Long> changed = new ArrayList<>(touched);
+        touched.clear();
+        for (Long feedId : changed) {
+            reload(feedId);
+        }
+        logger.info("그룹 추천 후보 구성 : {}", candidates.size());
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${group.recommend.refresh:180000}")
+    public void refresh() {
+        try {
+            feedIds = compute();
+        } catch (Exception e) {
+            logger.warn("그룹 추천 갱신 실패 : {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFeedWritten(FeedWrittenEvent event) {
+        if (event.getCategory() != FeedCategory.INSIDER) return;
+        if (warming) touched.add(event.getFeedId());
+        reload(event.getFeedId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFeedClap(FeedClapEvent event) {
+        if (event.getCategory() != FeedCategory.INSIDER) return;
+        if (warming) touched.add(event.getFeedId());
+        candidates.computeIfPresent(event.getFeedId(), (id, c) -> c.withClap(event.getDelta()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFeedDeleted(FeedDeletedEvent event) {
+        if (event.getCategory() != FeedCategory.INSIDER) return;
+        if (warming) touched.add(event.getFeedId());
+        candidates.remove(event.getFeedId());
+        if (feedIds.contains(event.getFeedId())) refresh();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onGroupDeleted(GroupDeletedEvent event) {
+        candidates.values().removeIf(c -> c.groupId == event.getGroupId());
+        if (feedIds.stream().anyMatch(id -> !candidates.containsKey(id))) refresh();
+    }
+
+    private void reload(Long feedId) {
+        List<Object[]> rows = insiderRepository.findRecommendCandidate(feedId);
+        if (rows.isEmpty()) candidates.remove(feedId);
+        else candidates.put(feedId, new Candidate(rows.get(0)));
+    }
+
+    private List<Long> compute() {
+        Map<Long, Long> memberCnts = toCountMap(groupMemberRepository.countMembersGroupByGroup());
+        Map<Long, Long> followerCnts = toCountMap(followRepository.countFollowersOfInsiderAuthors());
+
+        List<Comparator<Candidate>> slots = Arrays.asList(
+                Comparator.comparingLong((Candidate c) -> memberCnts.getOrDefault(c.groupId, 0L)).thenComparing(c -> c.createdDate),
+                Comparator.comparingLong((Candidate c) -> memberCnts.getOrDefault(c.groupId, 0L)).thenComparingInt(c -> c.clapCnt),
+                Comparator.comparingInt((Candidate c) -> c.clapCnt).thenComparing(c -> c.createdDate),
+                Comparator.comparing((Candidate c) -> c.groupCreatedDate).thenComparing(c -> c.createdDate),
+                Comparator.comparingLong((Candidate c) -> followerCnts.getOrDefault(c.authorId, 0L)).thenComparing(c -> c.createdDate));
+
+        // 기준별 상위 5개 (가장 약한 후보가 head)
+        List<PriorityQueue<Candidate>> tops = new ArrayList<>();
+        for (Comparator<Candidate> slot : slots) {
+            tops.add(new PriorityQueue<>(slot.thenComparingLong(c -> c.feedId)));
+        }
+
+        for (Candidate candidate : candidates.values()) {
+            for (PriorityQueue<Candidate> top : tops) {
+                top.add(candidate);
+                if (top.size() > SLOT_CNT) top.poll();
+            }
+        }
+
+        List<Long> result = new ArrayList<>();
+        for (PriorityQueue<Candidate> top : tops) {
+            List<Candidate> ranked = new ArrayList<>(top);
+            ranked.sort(top.comparator().reversed());
+            for (Candidate candidate : ranked) {
+                if (!result.contains(candidate.feedId)) {
+                    result.add(candidate.feedId);
+                    break;
+                }
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private Map<Long, Long> toCountMap(List<Object[]> rows) {
+        Map<Long, Long> result = new HashMap<>();
+        for (Object[] row : rows) {
+            result.put((Long) row[0], (Long) row[1]);
+        }
+        return result;
+    }
+
+    // 박수 수가 바뀌면 새로 만든다 (계산 중인 순회와 섞이지 않게)
+    private static class Candidate {
+
+        private final long feedId;
+        private final long groupId;
+        private final long authorId;
+        private final int clapCnt;
+        private final LocalDateTime createdDate;
+        private final LocalDateTime groupCreatedDate;
+
+        Candidate(Object[] row) {
+            this((Long) row[0], (Long) row[1], (Long) row[2], ((Number) row[4]).intValue(),
+                    row[3] == null ? LocalDateTime.MIN : (LocalDateTime) row[3],
+                    row[5] == null ? LocalDateTime.MIN : (LocalDateTime) row[5]);
+        }
+
+        private Candidate(long feedId, long groupId, long authorId, int clapCnt,
+                          LocalDateTime createdDate, LocalDateTime groupCreatedDate) {
+            this.feedId = feedId;
+            this.groupId = groupId;
+            this.authorId = authorId;
+            this.clapCnt = clapCnt;
+            this.createdDate = createdDate;
+            this.groupCreatedDate = groupCreatedDate;
+        }
+
+        Candidate withClap(int delta) {
+            return new Candidate(feedId, groupId, authorId, Math.max(0, clapCnt + delta), createdDate, groupCreatedDate);
+        }
+    }
+}
@@ -3,15 +3,16 @@ package com.ssafy.sns.service;
 import com.ssafy.sns.domain.group.Group;
 import com.ssafy.sns.domain.group.GroupMember;
 import com.ssafy.sns.domain.group.MemberRole;
-import com.ssafy.sns.domain.notice.NoticeGroup;
 import com.ssafy.sns.domain.user.User;
 import com.ssafy.sns.dto.group.GroupReqDto;
 import com.ssafy.sns.dto.group.GroupCreateResDto;
 import com.ssafy.sns.dto.group.GroupResDto;
+import com.ssafy.sns.event.GroupDeletedEvent;
+import com.ssafy.sns.event.SearchTextEvent;
 import com.ssafy.sns.repository.GroupMemberRepository;
 import com.ssafy.sns.repository.GroupRepository;
-import com.ssafy.sns.repository.NoticeRepositoryImpl;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -28,7 +29,8 @@ public class GroupService {
     private final GroupRepository groupRepository;
     private final GroupMemberRepository groupMemberRepository;
     private final S3Service s3Service;
-    private final NoticeRepositoryImpl noticeRepository;
+    private final NoticeServiceImpl noticeService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public GroupCreateResDto create(User user, GroupReqDto reqDto) throws IOException {
         // 이미 그룹 이름이 있다면!!
@@ -39,6 +41,7 @@ public class GroupService {
         Group group = groupRepository.save(reqDto.toEntity());
         GroupMember leader = groupMemberRepository.save(new GroupMember(user, group, MemberRole.LEADER));
         group.join(leader);
+        eventPublisher.publishEvent(new SearchTextEvent(SearchTextEvent.Target.GROUP, group.getId(), group.getName()));
         return new GroupCreateResDto(group.getId());
     }
 
@@ -55,7 +58,7 @@ public class GroupService {
         // 이미 가입했는 지 확인
         if (!groupMemberRepository.findByUserAndGroup(user, group).isPresent()) {
             groupMemberRepository.save(new GroupMember(user, group, MemberRole.MEMBER));
-            noticeRepository.save(new NoticeGroup(groupId, user.getId()));
+            noticeService.notifyGroupJoin(user, group);
             return true;
         }
         return false;
@@ -116,6 +119,8 @@ public class GroupService {
         }
         groupMemberRepository.deleteAll(members);
         groupRepository.delete(group);
+        eventPublisher.publishEvent(new SearchTextEvent(SearchTextEvent.Target.GROUP, groupId, null));
+        eventPublisher.publishEvent(new GroupDeletedEvent(groupId));
     }
 
     public void updateGroup(User user, Long groupId, GroupReqDto reqDto) throws Exception {
@@ -125,6 +130,7 @@ public class GroupService {
             throw new Exception("권한이 없습니다.");
         }
         group.updateGroup(reqDto);
+        eventPublisher.publishEvent(new SearchTextEvent(SearchTextEvent.Target.GROUP, groupId, group.getName()));
     }
 
 }
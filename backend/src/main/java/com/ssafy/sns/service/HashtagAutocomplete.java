@@ -0,0 +1,178 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.dto.search.SearchHashtagDto;
+import com.ssafy.sns.event.HashtagUsageEvent;
+import com.ssafy.sns.event.SearchTextEvent;
+import com.ssafy.sns.repository.HashtagRepositoryImpl;
+import com.ssafy.sns.util.AutocompleteTrie;
+import com.ssafy.sns.util.AutocompleteTrie.Entry;
+import com.ssafy.sns.util.UnicodeHandler;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * 해쉬태그 자동완성. 자모로 푼 태그 이름(splitHangeulToConsonant)과 초성으로 각각 AutocompleteTrie 를 만든다.
+ * - "ㅅㅍ" 처럼 자음만 입력하면 초성 트라이, 그 외에는 자모 트라이에서 접두어로 찾는다.
+ * - 사용 수는 HashtagUsageEvent 로 커밋된 변경만 더하고 뺀다.
+ * 서버 시작 시와 autocomplete.rebuild-interval 마다 DB 에서 새로 만들어 바꿔 끼운다. (그 사이 어긋난 수 보정)
+ * 새로 만드는 동안 이벤트로 바뀐 id 는 DB 에서 읽은 값이 더 오래됐을 수 있으므로, 바꿔 끼운 뒤 그 id 만 다시 읽어 맞춘다.
+ */
+@Component
+@RequiredArgsConstructor
+public class HashtagAutocomplete {
+
+    public static final Logger logger = LoggerFactory.getLogger(HashtagAutocomplete.class);
+
+    private final HashtagRepositoryImpl hashtagRepository;
+    private final UnicodeHandler unicodeHandler;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${autocomplete.size:5}")
+    private int size;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Long> touched = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private Tries tries;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${autocomplete.rebuild-interval:86400000}",
+            fixedDelayString = "${autocomplete.rebuild-interval:86400000}")
+    public void rebuild() {
+        rebuilding = true;
+        Tries fresh = new Tries(size);
+        // 스트림은 트랜잭션 안에서 읽고, 다시 읽기는 그 스냅샷 밖에서 한다
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = hashtagRepository.streamUsage()) {
+                    rows.forEach(row -> fresh.add(new Entry((Long) row[0], (String) row[1], ((Long) row[2]).intValue())));
+                }
+            });
+        } catch (Exception e) {
+            logger.warn("태그 자동완성 구성 실패 : {}", e.getMessage());
+            rebuilding = false;
+            touched.clear();
+            return;
+        }
+
+        List<Long> changed;
+        lock.writeLock().lock();
+        try {
+            tries = fresh;
+            rebuilding = false;
+            changed = new ArrayList<>(touched);
+            touched.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // 구성 중에 바뀐 태그는 커밋된 값으로 다시 맞춘다
+        if (!changed.isEmpty()) {
+            List<Object[]> rows = hashtagRepository.findUsage(changed);
+            lock.writeLock().lock();
+            try {
+                for (Object[] row : rows) {
+                    tries.set(new Entry((Long) row[0], (String) row[1], ((Long) row[2]).intValue()));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        logger.info("태그 자동완성 구성 : {} (다시 읽음 {})", fresh.entries.size(), changed.size());
+    }
+
+    public List<SearchHashtagDto> complete(String text) {
+        String query = text.trim().toLowerCase(Locale.ROOT);
+        boolean chosung = unicodeHandler.isChosungOnly(query);
+        String key = chosung ? query : unicodeHandler.splitHangeulToConsonant(query);
+
+        List<SearchHashtagDto> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (tries == null) return result;
+            for (Entry entry : (chosung ? tries.byChosung : tries.byJamo).top(key)) {
+                result.add(new SearchHashtagDto(entry.getName(), entry.getCount()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    // 새 해쉬태그 (피드가 붙기 전까지는 0 이라 목록에 나오지 않는다)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onHashtag(SearchTextEvent event) {
+        if (event.getTarget() != SearchTextEvent.Target.HASHTAG || event.getText() == null) return;
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) touched.add(event.getId());
+            if (tries != null && !tries.entries.containsKey(event.getId())) {
+                tries.add(new Entry(event.getId(), event.getText(), 0));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUsage(HashtagUsageEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) touched.add(event.getHashtagId());
+            if (tries != null) tries.addCount(event.getHashtagId(), event.getDelta());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private class Tries {
+
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private final AutocompleteTrie byJamo;
+        private final AutocompleteTrie byChosung;
+
+        Tries(int size) {
+            byJamo = new AutocompleteTrie(size);
+            byChosung = new AutocompleteTrie(size);
+        }
+
+        void add(Entry entry) {
+            entries.put(entry.getId(), entry);
+            String name = entry.getName().toLowerCase(Locale.ROOT);
+            byJamo.add(unicodeHandler.splitHangeulToConsonant(name), entry);
+            byChosung.add(unicodeHandler.extractChosung(name), entry);
+        }
+
+        // 없으면 넣고, 있으면 사용 수만 맞춘다
+        void set(Entry fresh) {
+            Entry entry = entries.get(fresh.getId());
+            if (entry == null) add(fresh);
+            else addCount(fresh.getId(), fresh.getCount() - entry.getCount());
+        }
+
+        void addCount(Long id, int delta) {
+            Entry entry = entries.get(id);
+            if (entry == null) return; // 다음 재구성 때 반영
+            entry.addCount(delta);
+            String name = entry.getName().toLowerCase(Locale.ROOT);
+            byJamo.update(unicodeHandler.splitHangeulToConsonant(name));
+            byChosung.update(unicodeHandler.extractChosung(name));
+        }
+    }
+}
@@ -1,14 +1,19 @@
 package com.ssafy.sns.service;
 
-import com.ssafy.sns.domain.follow.Follow;
 import com.ssafy.sns.domain.hashtag.FeedHashtag;
 import com.ssafy.sns.domain.hashtag.Hashtag;
 import com.ssafy.sns.domain.newsfeed.Feed;
+import com.ssafy.sns.domain.newsfeed.FeedCategory;
 import com.ssafy.sns.domain.newsfeed.Indoor;
 import com.ssafy.sns.domain.user.User;
 import com.ssafy.sns.dto.newsfeed.*;
 import com.ssafy.sns.repository.*;
+import com.ssafy.sns.util.FeedCursor;
+import com.ssafy.sns.event.FeedDeletedEvent;
+import com.ssafy.sns.event.FeedContentEvent;
+import com.ssafy.sns.event.FeedWrittenEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -17,7 +22,6 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 
@@ -28,54 +32,85 @@ public class IndoorServiceImpl implements FeedService {
 
     private final FeedRepositoryImpl feedRepository;
     private final HashtagRepositoryImpl hashtagRepository;
-    private final FeedClapRepositoryImpl feedClapRepository;
-    private final CommentRepositoryImpl commentRepository;
     private final UserRepository userRepository;
     private final S3Service s3Service;
     private final FileServiceImpl fileService;
-    private final FollowServiceImpl followService;
+    private final FeedCardAssembler feedCardAssembler;
+    private final TrendingCounter trendingCounter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public FeedListResponseDto findMyList(Long userId, Long targetId, int num) {
-        User user = userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
         List<Feed> indoorList = feedRepository.findMyList(targetId, num, Indoor.class);
+        FeedCards cards = feedCardAssembler.assemble(userId, indoorList);
         List<IndoorResponseDto> indoorResponseDtoList = new ArrayList<>();
         for (Feed feed : indoorList) {
             indoorResponseDtoList.add(new IndoorResponseDto((Indoor) feed,
-                    (int) commentRepository.findListById(feed).count(),
-                    feedClapRepository.findClapAll(feed).size(),
-                    feedClapRepository.findClap(user, feed).isPresent(),
-                    followService.isFollow(userId, feed)
-                    ));
+                    cards.getCommentCnt(feed),
+                    cards.getLikeCnt(feed),
+                    cards.isClap(feed),
+                    cards.isFollow(feed)));
         }
         return new FeedListResponseDto<>(indoorResponseDtoList, num + indoorList.size());
     }
 
     @Override
     public FeedListResponseDto readList(Long userId, int num) {
-        User user = userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
         List<Feed> indoorList = feedRepository.findList(num, Indoor.class);
+        FeedCards cards = feedCardAssembler.assemble(userId, indoorList);
         List<IndoorResponseDto> indoorResponseDtoList = new ArrayList<>();
         for (Feed feed : indoorList) {
             indoorResponseDtoList.add(new IndoorResponseDto((Indoor) feed,
-                    (int) commentRepository.findListById(feed).count(),
-                    feedClapRepository.findClapAll(feed).size(),
-                    feedClapRepository.findClap(user, feed).isPresent(),
-                    followService.isFollow(userId, feed)));
+                    cards.getCommentCnt(feed),
+                    cards.getLikeCnt(feed),
+                    cards.isClap(feed),
+                    cards.isFollow(feed)));
         }
         return new FeedListResponseDto<>(indoorResponseDtoList, num + indoorList.size());
     }
 
+    @Override
+    public FeedSliceResponseDto findMySlice(Long userId, Long targetId, String cursor) {
+        FeedCursor after = FeedCursor.decode(cursor);
+        return toSlice(userId, feedRepository.findMyListAfter(targetId, Indoor.class,
+                after.getCreatedDate(), after.getId(), FeedCursor.PAGE_SIZE + 1));
+    }
+
+    @Override
+    public FeedSliceResponseDto readSlice(Long userId, String cursor) {
+        FeedCursor after = FeedCursor.decode(cursor);
+        return toSlice(userId, feedRepository.findListAfter(Indoor.class,
+                after.getCreatedDate(), after.getId(), FeedCursor.PAGE_SIZE + 1));
+    }
+
+    // 한 개 더 읽어서 다음 페이지 여부 판단
+    private FeedSliceResponseDto toSlice(Long userId, List<Feed> indoorList) {
+        boolean hasNext = indoorList.size() > FeedCursor.PAGE_SIZE;
+        if (hasNext) indoorList = indoorList.subList(0, FeedCursor.PAGE_SIZE);
+
+        FeedCards cards = feedCardAssembler.assemble(userId, indoorList);
+        List<IndoorResponseDto> indoorResponseDtoList = new ArrayList<>();
+        for (Feed feed : indoorList) {
+            indoorResponseDtoList.add(new IndoorResponseDto((Indoor) feed,
+                    cards.getCommentCnt(feed),
+                    cards.getLikeCnt(feed),
+                    cards.isClap(feed),
+                    cards.isFollow(feed)));
+        }
+        String nextCursor = indoorList.isEmpty() ? null : FeedCursor.next(indoorList.get(indoorList.size() - 1));
+        return new FeedSliceResponseDto<>(indoorResponseDtoList, nextCursor, hasNext);
+    }
+
     @Override
     public FeedResponseDto read(Long userId, Long feedId) {
-        User user = userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
         Feed feed = feedRepository.findById(feedId);
         if (!(feed instanceof Indoor)) throw new NoSuchElementException();
+        FeedCards cards = feedCardAssembler.assemble(userId, feed);
         return new IndoorResponseDto((Indoor) feed,
-                (int) commentRepository.findListById(feed).count(),
-                feedClapRepository.findClapAll(feed).size(),
-                feedClapRepository.findClap(user, feed).isPresent(),
-                followService.isFollow(userId, feed));
+                cards.getCommentCnt(feed),
+                cards.getLikeCnt(feed),
+                cards.isClap(feed),
+                cards.isFollow(feed));
     }
 
     @Override
@@ -108,6 +143,8 @@ public class IndoorServiceImpl implements FeedService {
             hashtag.addFeedHashtag(feedHashtag);
         }
 
+        eventPublisher.publishEvent(new FeedWrittenEvent(indoor.getId(), userId, FeedCategory.INDOOR));
+        eventPublisher.publishEvent(new FeedContentEvent(indoor.getId(), indoor.getContent(), indoor.getCreatedDate()));
         return indoor.getId();
     }
 
@@ -138,6 +175,7 @@ public class IndoorServiceImpl implements FeedService {
 
         user.deleteFeed(indoor);
         feedRepository.remove(indoor);
+        eventPublisher.publishEvent(new FeedDeletedEvent(feedId, userId, FeedCategory.INDOOR));
     }
 
     @Override
@@ -152,6 +190,7 @@ public class IndoorServiceImpl implements FeedService {
 
         // 글 수정
         indoor.update((IndoorRequestDto) feedRequestDto);
+        eventPublisher.publishEvent(new FeedContentEvent(indoor.getId(), indoor.getContent(), indoor.getCreatedDate()));
 
         // 태그 찾고 삭제
         List<FeedHashtag> feedHashtags = hashtagRepository.findFeedHashTag(indoor);
@@ -184,17 +223,14 @@ public class IndoorServiceImpl implements FeedService {
     }
 
     public FeedListResponseDto feedRecommend(Long userId) {
-        User user = userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
-        List<Feed> indoorRecommend = feedRepository.findIndoorRecommend();
+        FeedCards cards = feedCardAssembler.assembleByIds(userId, trendingCounter.top(FeedCategory.INDOOR, 6));
         List<IndoorResponseDto> indoorResponseDtoList = new ArrayList<>();
-        for (Feed feed : indoorRecommend) {
-            if (feed instanceof Indoor)
-                indoorResponseDtoList.add(new IndoorResponseDto((Indoor) feed,
-                        (int) commentRepository.findListById(feed).count(),
-                        feedClapRepository.findClapAll(feed).size(),
-                        feedClapRepository.findClap(user, feed).isPresent(),
-                        followService.isFollow(userId, feed)));
-            if (indoorResponseDtoList.size() > 5) break;
+        for (Feed feed : cards.getFeeds()) {
+            indoorResponseDtoList.add(new IndoorResponseDto((Indoor) feed,
+                    cards.getCommentCnt(feed),
+                    cards.getLikeCnt(feed),
+                    cards.isClap(feed),
+                    cards.isFollow(feed)));
         }
         return new FeedListResponseDto(indoorResponseDtoList, 0);
     }
@@ -4,12 +4,17 @@ import com.ssafy.sns.domain.group.Group;
 import com.ssafy.sns.domain.hashtag.FeedHashtag;
 import com.ssafy.sns.domain.hashtag.Hashtag;
 import com.ssafy.sns.domain.newsfeed.Feed;
+import com.ssafy.sns.domain.newsfeed.FeedCategory;
 import com.ssafy.sns.domain.newsfeed.Insider;
 import com.ssafy.sns.domain.user.User;
 import com.ssafy.sns.dto.newsfeed.*;
 import com.ssafy.sns.repository.*;
+import com.ssafy.sns.util.FeedCursor;
+import com.ssafy.sns.event.FeedDeletedEvent;
+import com.ssafy.sns.event.FeedContentEvent;
+import com.ssafy.sns.event.FeedWrittenEvent;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -18,7 +23,6 @@ import org.springframework.web.multipart.MultipartFile;
 import javax.transaction.Transactional;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.stream.Collectors;
@@ -31,125 +35,39 @@ public class InsiderService {
 
     private final FeedRepositoryImpl feedRepository;
     private final HashtagRepositoryImpl hashtagRepository;
-    private final FeedClapRepositoryImpl feedClapRepository;
-    private final CommentRepositoryImpl commentRepository;
     private final UserRepository userRepository;
     private final S3Service s3Service;
     private final FileServiceImpl fileService;
     private final InsiderRepository insiderRepository;
     private final GroupRepository groupRepository;
-    private final FollowServiceImpl followService;
+    private final GroupRecommendCache groupRecommendCache;
+    private final FeedCardAssembler feedCardAssembler;
+    private final ApplicationEventPublisher eventPublisher;
 
 
+    // 미리 계산해둔 추천 5개만 조회
     public List<InsiderResDto> getGroupRecommend(Long userId) {
-        User user = userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
-        List<Insider> insiders = insiderRepository.findAll();
+        FeedCards cards = feedCardAssembler.assembleByIds(userId, groupRecommendCache.getFeedIds());
         List<InsiderResDto> insiderResDtos = new ArrayList<>();
-        List<Insider> recommends = new ArrayList<>();
-        // 1. 멤버 많은 그룹 최신 글
-        insiders.sort((o1, o2) -> {
-            if (o1.getGroup().getGroupMembers().size() == o2.getGroup().getGroupMembers().size()) {
-                return o2.getCreatedDate().compareTo(o1.getCreatedDate());
-            }
-            return o1.getGroup().getGroupMembers().size() - o2.getGroup().getGroupMembers().size();
-        });
-        recommends.add(insiders.get(0));
-        // 2. 멤버 많은 그룹 좋아요 수 많은 글
-        insiders.sort((o1, o2) -> {
-            if (o1.getGroup().getGroupMembers().size() == o2.getGroup().getGroupMembers().size()) {
-                return o2.getFeedClapList().size() - o1.getFeedClapList().size();
-            }
-            return o1.getGroup().getGroupMembers().size() - o2.getGroup().getGroupMembers().size();
-        });
-        for (Insider insider : insiders) {
-            boolean isIn = false;
-            for (Insider recommend: recommends) {
-                if (insider.getId() == recommend.getId()) {
-                    isIn = true;
-                }
-            }
-            if (!isIn) {
-                recommends.add(insider);
-                break;
-            }
-        }
-        // 3. 멤버 많은 그룹 좋아요 수 많은 글
-        insiders.sort((o1, o2) -> o2.getFeedClapList().size() - o1.getFeedClapList().size());
-        for (Insider insider : insiders) {
-            boolean isIn = false;
-            for (Insider recommend: recommends) {
-                if (insider.getId() == recommend.getId()) {
-                    isIn = true;
-                }
-            }
-            if (!isIn) {
-                recommends.add(insider);
-                break;
-            }
-        }
-        // 4. 가장 최근 그룹 피드
-        insiders.sort((o1, o2) -> o2.getGroup().getCreatedDate().compareTo(o1.getGroup().getCreatedDate()));
-        for (Insider insider : insiders) {
-            boolean isIn = false;
-            for (Insider recommend: recommends) {
-                if (insider.getId() == recommend.getId()) {
-                    isIn = true;
-                }
-            }
-            if (!isIn) {
-                recommends.add(insider);
-                break;
-            }
-        }
-        // 5. 팔로워 가장 많은 사람이 쓴 최신 글
-        insiders.sort((o1, o2) -> {
-            int o1Cnt = followService.toMeFromOthers(o1.getUser().getId());
-            int o2Cnt = followService.toMeFromOthers(o2.getUser().getId());
-            if (o1Cnt == o2Cnt) {
-                return o2.getCreatedDate().compareTo(o1.getCreatedDate());
-            }
-            return o2Cnt - o1Cnt;
-        });
-        for (Insider insider : insiders) {
-            boolean isIn = false;
-            for (Insider recommend: recommends) {
-                if (insider.getId() == recommend.getId()) {
-                    isIn = true;
-                }
-            }
-            if (!isIn) {
-                recommends.add(insider);
-                break;
-            }
-        }
-
-        for (Insider insider : recommends) {
-            insiderResDtos.add(new InsiderResDto(insider,
-                    (int) commentRepository.findListById(insider).count(),
-                    feedClapRepository.findClapAll(insider).size(),
-                    feedClapRepository.findClap(user, insider).isPresent(),
-                    2,
-                    followService.isFollow(userId, insider),
-                    insider.getGroup().getId(),
-                    insider.getGroup().getName()));
+        for (Feed feed : cards.getFeeds()) {
+            insiderResDtos.add(cards.toResDto(feed));
         }
-
         return insiderResDtos;
     }
 
     // 그룹 카테고리의 모든 게시물 출력 (10개씩)
     public FeedListResponseDto findAll(Long userId, int num) {
-        User user = userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
         PageRequest pageRequest = PageRequest.of(num, 10, Sort.by("createdDate").descending());
-        Page<Insider> insiders = insiderRepository.findAll(pageRequest);
+        List<Insider> insiders = insiderRepository.findAllBy(pageRequest).getContent();
+        FeedCards cards = feedCardAssembler.assemble(userId, insiders);
         List<InsiderResDto> insiderResDtos = new ArrayList<>();
         for (Insider insider : insiders) {
             insiderResDtos.add(new InsiderResDto(insider,
-                    (int) commentRepository.findListById(insider).count(),
-                    feedClapRepository.findClapAll(insider).size(),
-                    feedClapRepository.findClap(user, insider).isPresent(),
+                    cards.getCommentCnt(insider),
+                    cards.getLikeCnt(insider),
+                    cards.isClap(insider),
                     2,
-                    followService.isFollow(userId, insider),
+                    cards.isFollow(insider),
                     insider.getGroup().getId(),
                     insider.getGroup().getName()));
         }
@@ -158,18 +76,18 @@ public class InsiderService {
 
     // 그룹아이디에 속하는 모든 게시물 출력 (10개씩)
     public FeedListResponseDto findAllByGroupId(Long userId, Long groupId, int num) {
-        User user = userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
         PageRequest pageRequest = PageRequest.of(num, 10, Sort.by("createdDate").descending());
         List<Insider> insiders = insiderRepository.findAllByGroupId(groupId, pageRequest);
+        FeedCards cards = feedCardAssembler.assemble(userId, insiders);
         List<InsiderResDto> insiderResDtos = new ArrayList<>();
         Group group = groupRepository.findById(groupId).orElseThrow();
         for (Insider insider : insiders) {
             insiderResDtos.add(new InsiderResDto(insider,
-                    (int) commentRepository.findListById(insider).count(),
-                    feedClapRepository.findClapAll(insider).size(),
-                    feedClapRepository.findClap(user, insider).isPresent(),
+                    cards.getCommentCnt(insider),
+                    cards.getLikeCnt(insider),
+                    cards.isClap(insider),
                     2,
-                    followService.isFollow(userId, insider),
+                    cards.isFollow(insider),
                     groupId,
                     group.getName()));
         }
@@ -178,36 +96,87 @@ public class InsiderService {
 
     // 해당 유저가 작성한 모든 그룹 게시물
     public FeedListResponseDto findAllByUserIdAndGroupId(Long viewerId, Long userId, Long groupId, int num) {
-        User user = userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
-        User viewer = userRepository.findById(viewerId).orElseThrow(NoSuchElementException::new);
         PageRequest pageRequest = PageRequest.of(num, 10, Sort.by("createdDate").descending());
         List<Insider> insiders = insiderRepository.findAllByUserIdAndGroupId(userId, groupId, pageRequest);
+        FeedCards cards = feedCardAssembler.assemble(viewerId, insiders);
         List<InsiderResDto> insiderResDtos = new ArrayList<>();
         Group group = groupRepository.findById(groupId).orElseThrow();
         for (Insider insider : insiders) {
             insiderResDtos.add(new InsiderResDto(insider,
-                    (int) commentRepository.findListById(insider).count(),
-                    feedClapRepository.findClapAll(insider).size(),
-                    feedClapRepository.findClap(viewer, insider).isPresent(),
+                    cards.getCommentCnt(insider),
+                    cards.getLikeCnt(insider),
+                    cards.isClap(insider),
                     2,
-                    followService.isFollow(userId, insider),
+                    cards.isFollow(insider),
                     groupId,
                     group.getName()));
         }
         return new FeedListResponseDto(insiderResDtos, num + 1);
     }
 
+    // 그룹 카테고리의 모든 게시물 (커서 이후 10개)
+    public FeedSliceResponseDto findAllSlice(Long userId, String cursor) {
+        FeedCursor after = FeedCursor.decode(cursor);
+        return toSlice(userId, insiderRepository.findAllAfter(after.getCreatedDate(), after.getId(), slicePage()));
+    }
+
+    // 그룹아이디에 속하는 게시물 (커서 이후 10개)
+    public FeedSliceResponseDto findAllByGroupIdSlice(Long userId, Long groupId, String cursor) {
+        FeedCursor after = FeedCursor.decode(cursor);
+        return toSlice(userId, insiderRepository.findAllByGroupIdAfter(groupId,
+                after.getCreatedDate(), after.getId(), slicePage()));
+    }
+
+    // 해당 유저가 그룹에 작성한 게시물 (커서 이후 10개)
+    public FeedSliceResponseDto findAllByUserIdAndGroupIdSlice(Long viewerId, Long userId, Long groupId, String cursor) {
+        FeedCursor after = FeedCursor.decode(cursor);
+        return toSlice(viewerId, insiderRepository.findAllByUserIdAndGroupIdAfter(userId, groupId,
+                after.getCreatedDate(), after.getId(), slicePage()));
+    }
+
+    // 한 유저가 작성한 그룹 카테고리 게시물 (커서 이후 10개)
+    public FeedSliceResponseDto findAllByUserSlice(Long viewerId, Long userId, String cursor) {
+        FeedCursor after = FeedCursor.decode(cursor);
+        return toSlice(viewerId, insiderRepository.findAllByUserIdAfter(userId,
+                after.getCreatedDate(), after.getId(), slicePage()));
+    }
+
+    // 한 개 더 읽어서 다음 페이지 여부 판단 (정렬은 쿼리에 있음)
+    private PageRequest slicePage() {
+        return PageRequest.of(0, FeedCursor.PAGE_SIZE + 1);
+    }
+
+    private FeedSliceResponseDto toSlice(Long userId, List<Insider> insiders) {
+        boolean hasNext = insiders.size() > FeedCursor.PAGE_SIZE;
+        if (hasNext) insiders = insiders.subList(0, FeedCursor.PAGE_SIZE);
+
+        FeedCards cards = feedCardAssembler.assemble(userId, insiders);
+        List<InsiderResDto> insiderResDtos = new ArrayList<>();
+        for (Insider insider : insiders) {
+            insiderResDtos.add(new InsiderResDto(insider,
+                    cards.getCommentCnt(insider),
+                    cards.getLikeCnt(insider),
+                    cards.isClap(insider),
+                    2,
+                    cards.isFollow(insider),
+                    insider.getGroup().getId(),
+                    insider.getGroup().getName()));
+        }
+        String nextCursor = insiders.isEmpty() ? null : FeedCursor.next(insiders.get(insiders.size() - 1));
+        return new FeedSliceResponseDto<>(insiderResDtos, nextCursor, hasNext);
+    }
+
     // 피드 하나의 detail
     public InsiderResDto findByGroupIdAndFeedId(Long userId, Long feedId, Long groupId) {
-        User user = userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
         Insider insider = insiderRepository.findByGroupIdAndId(groupId, feedId).orElseThrow();
         Group group = groupRepository.findById(groupId).orElseThrow();
+        FeedCards cards = feedCardAssembler.assemble(userId, insider);
         return new InsiderResDto(insider,
-                (int) commentRepository.findListById(insider).count(),
-                feedClapRepository.findClapAll(insider).size(),
-                feedClapRepository.findClap(user, insider).isPresent(),
+                cards.getCommentCnt(insider),
+                cards.getLikeCnt(insider),
+                cards.isClap(insider),
                 2,
-                followService.isFollow(userId, insider),
+                cards.isFollow(insider),
                 groupId,
                 group.getName());
     }
@@ -244,6 +213,8 @@ public class InsiderService {
             hashtag.addFeedHashtag(feedHashtag);
         }
 
+        eventPublisher.publishEvent(new FeedWrittenEvent(insider.getId(), userId, FeedCategory.INSIDER));
+        eventPublisher.publishEvent(new FeedContentEvent(insider.getId(), insider.getContent(), insider.getCreatedDate()));
         return insider.getId();
     }
 
@@ -274,6 +245,7 @@ public class InsiderService {
 
         // 컨텐츠 수정
         insider.update(insiderReqDto.getContent());
+        eventPublisher.publishEvent(new FeedContentEvent(insider.getId(), insider.getContent(), insider.getCreatedDate()));
 
         // 태그 찾고 삭제
         List<FeedHashtag> feedHashtags = hashtagRepository.findFeedHashTag(insider);
@@ -322,23 +294,23 @@ public class InsiderService {
 
 //        feedRepository.remove(insider); // 이게 정석일 거 같지만
         insiderRepository.delete(insider); // 이거로 해도 될듯?
+        eventPublisher.publishEvent(new FeedDeletedEvent(feedId, userId, FeedCategory.INSIDER));
         return true;
     }
 
     // 한 유저가 작성한 그룹 카테고리 내 모든 게시물 (10개 단위)
     public FeedListResponseDto findAllByUser(Long viewerId, Long userId, int num) {
-//        User user = userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
-        User viewer = userRepository.findById(viewerId).orElseThrow(NoSuchElementException::new);
         PageRequest pageRequest = PageRequest.of(num, 10, Sort.by("createdDate").descending());
         List<Insider> insiders = insiderRepository.findAllByUserId(userId, pageRequest);
+        FeedCards cards = feedCardAssembler.assemble(viewerId, insiders);
         List<InsiderResDto> insiderResDtos = new ArrayList<>();
         for (Insider insider : insiders) {
             insiderResDtos.add(new InsiderResDto(insider,
-                    (int) commentRepository.findListById(insider).count(),
-                    feedClapRepository.findClapAll(insider).size(),
-                    feedClapRepository.findClap(viewer, insider).isPresent(),
+                    cards.getCommentCnt(insider),
+                    cards.getLikeCnt(insider),
+                    cards.isClap(insider),
                     2,
-                    followService.isFollow(viewerId, insider),
+                    cards.isFollow(insider),
                     insider.getGroup().getId(),
                     insider.getGroup().getName()));
         }
@@ -0,0 +1,28 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.dto.firebase.FcmMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 푸시를 실제로 보내지 않는 전송 (FCM 설정이 없을 때 기본)
+@Component
+@ConditionalOnProperty(name = "push.transport", havingValue = "log", matchIfMissing = true)
+public class LogPushTransport implements PushTransport {
+
+    public static final Logger logger = LoggerFactory.getLogger(LogPushTransport.class);
+
+    @Override
+    public List<PushResult> send(List<FcmMessage> messages) {
+        List<PushResult> results = new ArrayList<>(messages.size());
+        for (FcmMessage message : messages) {
+            logger.debug("push (log) : {}", message.getMessage().getToken());
+            results.add(PushResult.SUCCESS);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,140 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.dto.notice.NoticeBadgeResponseDto;
+import com.ssafy.sns.event.NoticeBadgeEvent;
+import com.ssafy.sns.event.NoticeEvent;
+import com.ssafy.sns.repository.NoticeBadgeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 알림 배지. notice_badge 한 행을 최근에 쓴 유저 notice.badge.cache-size 명만큼 메모리(LRU)에 들고 있다.
+ * DB 는 OutboxProcessor (알림 저장과 같은 트랜잭션) 와 markRead 가 먼저 쓰고, 캐시는 커밋 뒤에 맞춘다.
+ * 새 알림은 캐시에서 더하고, 알림 수가 줄어드는 경우 (취소, 읽음, 보관 기간 삭제) 는 캐시를 비운다.
+ * DB 를 읽는 사이에 그 유저의 배지가 바뀌면 읽은 값은 캐시에 넣지 않는다.
+ * 그래도 엇갈린 캐시는 notice.badge.ttl 이 지나면 다시 읽는다.
+ * 묶음 알림에 사람이 더해지는 경우는 새 알림이 아니므로 세지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class NoticeBadgeService {
+
+    private final NoticeBadgeRepository noticeBadgeRepository;
+
+    @Value("${notice.badge.cache-size:10000}")
+    private int cacheSize;
+
+    @Value("${notice.badge.ttl:60000}")
+    private long ttl;
+
+    private final Map<Long, Badge> cache = new LinkedHashMap<Long, Badge>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Badge> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    // DB 를 읽는 중인 유저. 읽는 사이에 바뀐 횟수를 센다 (cache 락 안에서만)
+    private final Map<Long, Loading> loading = new HashMap<>();
+
+    public NoticeBadgeResponseDto find(Long userId) {
+        long now = System.nanoTime();
+        synchronized (cache) {
+            Badge badge = cache.get(userId);
+            if (badge != null && now - badge.loadedAt < TimeUnit.MILLISECONDS.toNanos(ttl)) {
+                return new NoticeBadgeResponseDto(badge.unreadCnt, badge.lastReadId);
+            }
+        }
+        return load(userId, now);
+    }
+
+    // lastReadId 가 없으면 지금까지 받은 알림 전부 읽음
+    public NoticeBadgeResponseDto markRead(Long userId, Long lastReadId) {
+        if (lastReadId == null) lastReadId = noticeBadgeRepository.findLatestNoticeId(userId);
+        noticeBadgeRepository.markRead(userId, lastReadId);
+        evict(userId);
+        return load(userId, System.nanoTime());
+    }
+
+    // 새 알림 (noticeId == null) 만 센다. 캐시에 없으면 다음 조회 때 DB 에서 읽는다
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNotice(NoticeEvent event) {
+        if (event.getNoticeId() != null) return;
+        synchronized (cache) {
+            changed(event.getRecipientId());
+            Badge badge = cache.get(event.getRecipientId());
+            if (badge != null) badge.unreadCnt++;
+        }
+    }
+
+    // 트랜잭션 밖 (보관 기간 삭제) 에서 보낸 이벤트는 바로 처리한다
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBadgeChanged(NoticeBadgeEvent event) {
+        for (Long userId : event.getUserIds()) {
+            evict(userId);
+        }
+    }
+
+    private void evict(Long userId) {
+        synchronized (cache) {
+            changed(userId);
+            cache.remove(userId);
+        }
+    }
+
+    // cache 락 안에서 부른다
+    private void changed(Long userId) {
+        Loading inFlight = loading.get(userId);
+        if (inFlight != null) inFlight.changes++;
+    }
+
+    private NoticeBadgeResponseDto load(Long userId, long now) {
+        Loading inFlight;
+        long changes;
+        synchronized (cache) {
+            inFlight = loading.computeIfAbsent(userId, id -> new Loading());
+            inFlight.loaders++;
+            changes = inFlight.changes;
+        }
+        NoticeBadgeResponseDto result = null;
+        try {
+            result = noticeBadgeRepository.find(userId);
+        } finally {
+            synchronized (cache) {
+                if (--inFlight.loaders == 0) loading.remove(userId);
+                // 읽는 사이에 바뀌었으면 읽은 값이 맞는지 알 수 없으므로 넣지 않는다
+                if (result != null && inFlight.changes == changes) {
+                    cache.put(userId, new Badge(result.getUnreadCnt(), result.getLastReadId(), now));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static class Loading {
+
+        private int loaders;
+        private long changes;
+    }
+
+    private static class Badge {
+
+        private int unreadCnt;
+        private final long lastReadId;
+        private final long loadedAt;
+
+        Badge(int unreadCnt, long lastReadId, long loadedAt) {
+            this.unreadCnt = unreadCnt;
+            this.lastReadId = lastReadId;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.domain.notice.Notification;
+import com.ssafy.sns.event.FeedDeletedEvent;
+import com.ssafy.sns.event.FollowEvent;
+import com.ssafy.sns.event.GroupDeletedEvent;
+import com.ssafy.sns.event.NoticeBadgeEvent;
+import com.ssafy.sns.repository.NoticeBadgeRepository;
+import com.ssafy.sns.repository.NoticeRetentionRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 알림 보관 정책. notice.retention.max-age-days 보다 오래된 알림과 사람마다 max-per-user 개를 넘는 알림을 지운다.
+ * 삭제는 chunk-size 개씩 끊어 (문장마다 자동 커밋) 락을 오래 잡지 않고, 묶음 사이에 쉬므로 @Scheduled 공용 스레드가 아닌 자기 스레드에서 돈다.
+ * notice.retention.partitioned=true 면 notification 을 월별 파티션으로 바꾸고, 기간 삭제는 DROP PARTITION 으로 한다.
+ * 어느 경우든 안 읽은 알림을 지우면 notice_badge 도 내린다. (DROP PARTITION 은 그 달에 알림이 있던 사람의 배지를 다시 센다)
+ * 피드 / 그룹 삭제, 팔로우 취소로 대상이 없어진 알림은 테이블을 훑지 않고 그 이벤트에서 바로 지운다.
+ * (댓글 삭제는 CommentServiceImpl 이 묶음 알림에서 빼는 outbox 를 남긴다)
+ */
+@Component
+@RequiredArgsConstructor
+public class NoticeRetentionJob {
+
+    public static final Logger logger = LoggerFactory.getLogger(NoticeRetentionJob.class);
+
+    private final NoticeRetentionRepository noticeRetentionRepository;
+    private final NoticeBadgeRepository noticeBadgeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${notice.retention.max-age-days:90}")
+    private int maxAgeDays;
+
+    @Value("${notice.retention.max-per-user:1000}")
+    private int maxPerUser;
+
+    @Value("${notice.retention.chunk-size:1000}")
+    private int chunkSize;
+
+    // 묶음 사이에 쉬는 시간 (복제 지연, 다른 쓰기 양보)
+    @Value("${notice.retention.pause:50}")
+    private long pause;
+
+    @Value("${notice.retention.partitioned:false}")
+    private boolean partitioned;
+
+    // 미리 만들어 둘 달 수
+    @Value("${notice.retention.months-ahead:2}")
+    private int monthsAhead;
+
+    @Value("${notice.retention.initial-delay:120000}")
+    private long initialDelay;
+
+    @Value("${notice.retention.interval:3600000}")
+    private long interval;
+
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "notice-retention"));
+        executor.scheduleWithFixedDelay(this::run, initialDelay, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public void run() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(maxAgeDays);
+        try {
+            if (partitioned) {
+                rotatePartitions(cutoff.toLocalDate());
+            } else {
+                List<Object[]> rows;
+                do {
+                    rows = noticeRetentionRepository.findOlderThan(cutoff, chunkSize);
+                    delete(rows);
+                    rest();
+                } while (rows.size() == chunkSize);
+            }
+            trimOverflow();
+            purgeLegacy(cutoff);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("알림 정리 실패 : {}", e.getMessage());
+        }
+    }
+
+    private void trimOverflow() throws InterruptedException {
+        List<Long> recipients = noticeRetentionRepository.findOverflowRecipients(maxPerUser);
+        for (Long recipientId : recipients) {
+            Long boundaryId = noticeRetentionRepository.findOverflowBoundary(recipientId, maxPerUser);
+            if (boundaryId == null) continue;
+            List<Object[]> rows;
+            do {
+                rows = noticeRetentionRepository.findUpTo(recipientId, boundaryId, chunkSize);
+                delete(rows);
+                rest();
+            } while (rows.size() == chunkSize);
+        }
+    }
+
+    // 예전 Notice 테이블은 더 읽지 않으므로 기간이 지났거나 원본이 없는 것부터 비운다
+    private void purgeLegacy(LocalDateTime cutoff) throws InterruptedException {
+        int deleted;
+        do {
+            deleted = noticeRetentionRepository.purgeLegacy(cutoff, chunkSize);
+            rest();
+        } while (deleted == chunkSize);
+    }
+
+    private void rotatePartitions(LocalDate cutoff) throws InterruptedException {
+        LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+        LocalDate until = thisMonth.plusMonths(monthsAhead + 1);
+
+        Map<String, LocalDate> partitions = noticeRetentionRepository.findPartitions();
+        if (partitions.isEmpty()) {
+            logger.info("notification 월별 파티션 전환");
+            noticeRetentionRepository.partitionByMonth(cutoff.withDayOfMonth(1), until);
+            partitions = noticeRetentionRepository.findPartitions();
+        }
+
+        // 앞으로 쓸 달을 pmax 에서 떼어 둔다
+        LocalDate last = null;
+        for (LocalDate upper : partitions.values()) {
+            if (upper != null) last = upper;
+        }
+        for (LocalDate month = last == null ? thisMonth : last; month.isBefore(until); month = month.plusMonths(1)) {
+            noticeRetentionRepository.addMonthPartition(month);
+        }
+
+        // 상한이 cutoff 이하면 파티션 전체가 보관 기간 밖이다
+        for (Map.Entry<String, LocalDate> partition : partitions.entrySet()) {
+            LocalDate upper = partition.getValue();
+            if (upper != null && !upper.isAfter(cutoff)) {
+                logger.info("notification 파티션 삭제 : {}", partition.getKey());
+                List<Long> recipients = noticeRetentionRepository.findPartitionRecipients(partition.getKey());
+                noticeRetentionRepository.dropPartition(partition.getKey());
+                for (int from = 0; from < recipients.size(); from += chunkSize) {
+                    List<Long> chunk = new ArrayList<>(recipients.subList(from, Math.min(recipients.size(), from + chunkSize)));
+                    noticeBadgeRepository.recount(chunk);
+                    eventPublisher.publishEvent(new NoticeBadgeEvent(chunk));
+                    rest();
+                }
+            }
+        }
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFeedDeleted(FeedDeletedEvent event) {
+        List<Object[]> rows;
+        do {
+            rows = noticeRetentionRepository.findByFeed(event.getFeedId(), chunkSize);
+            delete(rows);
+        } while (rows.size() == chunkSize);
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onGroupDeleted(GroupDeletedEvent event) {
+        List<Object[]> rows;
+        do {
+            rows = noticeRetentionRepository.findByGroup(event.getGroupId(), chunkSize);
+            delete(rows);
+        } while (rows.size() == chunkSize);
+    }
+
+    // 팔로우 취소 : 받은 사람 알림함의 팔로우 알림
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFollow(FollowEvent event) {
+        if (event.isFollow()) return;
+        delete(noticeRetentionRepository.findFollow(event.getToUserId(), event.getFromUserId(), Notification.FOLLOW));
+    }
+
+    // rows : [notification_id, recipient_id]. 안 읽은 알림이었으면 알림 수도 내린다
+    private void delete(List<Object[]> rows) {
+        if (rows.isEmpty()) return;
+        List<Long> ids = new ArrayList<>(rows.size());
+        List<Object[]> badges = new ArrayList<>(rows.size());
+        Set<Long> recipients = new HashSet<>();
+        for (Object[] row : rows) {
+            ids.add((Long) row[0]);
+            badges.add(new Object[]{row[1], row[0]});
+            recipients.add((Long) row[1]);
+        }
+        badges.sort(Comparator.comparingLong(row -> (Long) row[0]));
+        noticeRetentionRepository.deleteNotifications(ids);
+        noticeBadgeRepository.decrement(badges);
+        eventPublisher.publishEvent(new NoticeBadgeEvent(recipients));
+    }
+
+    private void rest() throws InterruptedException {
+        if (pause > 0) Thread.sleep(pause);
+    }
+}
@@ -1,36 +1,36 @@
 package com.ssafy.sns.service;
 
-import com.ssafy.sns.domain.clap.FeedClap;
 import com.ssafy.sns.domain.comment.Comment;
-import com.ssafy.sns.domain.follow.Follow;
 import com.ssafy.sns.domain.group.Group;
-import com.ssafy.sns.domain.notice.Notice;
+import com.ssafy.sns.domain.newsfeed.Feed;
 import com.ssafy.sns.domain.user.User;
-
-import java.util.List;
+import com.ssafy.sns.dto.notice.NoticeListResponseDto;
+import com.ssafy.sns.dto.notice.NoticeSliceResponseDto;
 
 public interface NoticeService {
 
-    // 팔로우 알림 전체목록 불러오기
-    List<Notice> followList(User user);
+    // 팔로우 알림 (받는 사람 : toUser)
+    void notifyFollow(User fromUser, User toUser);
 
-    // 좋아요 알림 전체목록 불러오기
-    List<Notice> feedClabList(User user);
+    // 좋아요 알림 (받는 사람 : 피드 작성자)
+    void notifyFeedClap(User user, Feed feed);
 
-    // 댓글 알림 전체목록 불러오기
-    List<Notice> commentList(User user);
+    // 박수 취소 : 묶음 알림에서 빼기
+    void retractFeedClap(User user, Feed feed);
 
-    // 그룹 알림 전체목록 불러오기
-    List<Notice> groupList(User user);
+    // 댓글 알림 (받는 사람 : 피드 작성자)
+    void notifyComment(User user, Feed feed, Comment comment);
 
-    Follow findFollow(Long followId);
+    // 피드에 남긴 댓글을 모두 지움 : 묶음 알림에서 빼기
+    void retractComment(User user, Feed feed);
 
-    Comment findComment(Long commentId);
+    // 그룹 가입 알림 (받는 사람 : 그룹장)
+    void notifyGroupJoin(User member, Group group);
 
-    FeedClap findFeedClap(Long feedClapId);
+    // 알림 목록 (cursor : 이전 응답의 nextCursor)
+    NoticeSliceResponseDto inbox(Long userId, Long cursor);
 
-    Group findGroup(Long groupId);
+    // 알림 목록 (startNum 부터 10개)
+    NoticeListResponseDto list(Long userId, int startNum);
 
-    Object findCategory(Long feedId);
-    
 }
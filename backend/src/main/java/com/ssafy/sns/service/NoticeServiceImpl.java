@@ -1,83 +1,150 @@
 package com.ssafy.sns.service;
 
-import com.ssafy.sns.domain.clap.FeedClap;
 import com.ssafy.sns.domain.comment.Comment;
-import com.ssafy.sns.domain.follow.Follow;
 import com.ssafy.sns.domain.group.Group;
-import com.ssafy.sns.domain.notice.Notice;
+import com.ssafy.sns.domain.newsfeed.Feed;
+import com.ssafy.sns.domain.newsfeed.FeedCategory;
+import com.ssafy.sns.domain.notice.Notification;
+import com.ssafy.sns.domain.outbox.OutboxType;
 import com.ssafy.sns.domain.user.User;
-import com.ssafy.sns.repository.*;
+import com.ssafy.sns.dto.notice.NoticeListResponseDto;
+import com.ssafy.sns.dto.notice.NoticeResponseDto;
+import com.ssafy.sns.dto.notice.NoticeSliceResponseDto;
+import com.ssafy.sns.dto.outbox.NoticePayload;
+import com.ssafy.sns.repository.NotificationRepository;
+import com.ssafy.sns.util.FeedCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+/**
+ * 알림은 받는 사람 기준으로 (Notification) 보여줄 내용까지 만들어서 저장해두고,
+ * 목록은 받는 사람 인덱스에서 id 내림차순으로 잘라 읽기만 한다.
+ * 요청에서는 내용을 outbox 에 남기기만 하고, 저장과 실시간 전송은 OutboxProcessor 가 한다.
+ */
 @Service
 @Transactional
 @RequiredArgsConstructor
-public class NoticeServiceImpl implements NoticeService{
+public class NoticeServiceImpl implements NoticeService {
 
-    private final NoticeRepositoryImpl noticeRepository;
-    private final FollowRepository followRepository;
-    private final CommentRepositoryImpl commentRepository;
-    private final FeedClapRepositoryImpl feedClapRepository;
-    private final FeedRepositoryImpl feedRepository;
-    private final GroupMemberRepository groupMemberRepository;
-    private final GroupRepository groupRepository;
+    private final NotificationRepository notificationRepository;
+    private final OutboxPublisher outboxPublisher;
 
     @Override
-    public List<Notice> followList(User user) {
-        return noticeRepository.followList(user);
+    public void notifyFollow(User fromUser, User toUser) {
+        append(toUser.getId(), actor(NoticePayload.builder(), fromUser)
+                .recipientId(toUser.getId())
+                .type(Notification.FOLLOW)
+                .build());
     }
 
     @Override
-    public List<Notice> feedClabList(User user) {
-        return noticeRepository.feedClabList(user);
+    public void notifyFeedClap(User user, Feed feed) {
+        Long recipientId = feed.getUser().getId();
+        if (recipientId.equals(user.getId())) return;
+
+        append(recipientId, actor(NoticePayload.builder(), user)
+                .recipientId(recipientId)
+                .type(Notification.FEED_CLAP)
+                .feedId(feed.getId())
+                .category(category(feed))
+                .build());
     }
 
     @Override
-    public List<Notice> commentList(User user) {
-        return noticeRepository.commentList(user);
+    public void retractFeedClap(User user, Feed feed) {
+        Long recipientId = feed.getUser().getId();
+        if (recipientId.equals(user.getId())) return;
+
+        append(recipientId, actor(NoticePayload.builder(), user)
+                .recipientId(recipientId)
+                .type(Notification.FEED_CLAP)
+                .feedId(feed.getId())
+                .retract(true)
+                .build());
     }
 
     @Override
-    public List<Notice> groupList(User user) {
-        List<Group> groupList = noticeRepository.groupLeader(user);
-        List<Notice> noticeList = new ArrayList<>();
-        for (Group g : groupList) {
-            noticeList = Stream.concat(noticeList.stream(), noticeRepository.groupList(g).stream())
-                    .collect(Collectors.toList());
-        }
-        return noticeList;
+    public void notifyComment(User user, Feed feed, Comment comment) {
+        Long recipientId = feed.getUser().getId();
+        if (recipientId.equals(user.getId())) return;
+
+        append(recipientId, actor(NoticePayload.builder(), user)
+                .recipientId(recipientId)
+                .type(Notification.COMMENT)
+                .feedId(feed.getId())
+                .category(category(feed))
+                .snippet(comment.getContent())
+                .build());
     }
 
     @Override
-    public Follow findFollow(Long followId) {
-        return followRepository.findFollowById(followId);
+    public void retractComment(User user, Feed feed) {
+        Long recipientId = feed.getUser().getId();
+        if (recipientId.equals(user.getId())) return;
+
+        append(recipientId, actor(NoticePayload.builder(), user)
+                .recipientId(recipientId)
+                .type(Notification.COMMENT)
+                .feedId(feed.getId())
+                .retract(true)
+                .build());
     }
 
     @Override
-    public Comment findComment(Long commentId) {
-        return commentRepository.findById(commentId);
+    public void notifyGroupJoin(User member, Group group) {
+        // 받는 그룹장은 처리할 때 정한다
+        append(group.getId(), actor(NoticePayload.builder(), member)
+                .type(Notification.GROUP_JOIN)
+                .groupId(group.getId())
+                .groupName(group.getName())
+                .groupImg(group.getGroupImg())
+                .build());
     }
 
     @Override
-    public FeedClap findFeedClap(Long feedClapId) {
-        return feedClapRepository.findById(feedClapId);
+    public NoticeSliceResponseDto inbox(Long userId, Long cursor) {
+        long before = cursor == null ? Long.MAX_VALUE : cursor;
+        List<Notification> notifications = notificationRepository.findInbox(userId, before,
+                PageRequest.of(0, FeedCursor.PAGE_SIZE + 1));
+
+        boolean hasNext = notifications.size() > FeedCursor.PAGE_SIZE;
+        if (hasNext) notifications = notifications.subList(0, FeedCursor.PAGE_SIZE);
+
+        String nextCursor = notifications.isEmpty() ? null
+                : String.valueOf(notifications.get(notifications.size() - 1).getId());
+        return new NoticeSliceResponseDto(toDtos(notifications), nextCursor, hasNext);
     }
 
     @Override
-    public Group findGroup(Long groupId) {
-        return groupRepository.findById(groupId).get();
+    public NoticeListResponseDto list(Long userId, int startNum) {
+        if (startNum < 0) throw new IllegalArgumentException("잘못된 시작 위치 : " + startNum);
+        List<Notification> notifications = notificationRepository.findByRecipientIdFrom(userId, startNum, FeedCursor.PAGE_SIZE);
+        return new NoticeListResponseDto(toDtos(notifications), startNum + notifications.size());
     }
 
-    @Override
-    public Object findCategory(Long feedId) {
-        return feedRepository.findCategory(feedId);
+    private void append(Long aggregateId, NoticePayload payload) {
+        outboxPublisher.append(OutboxType.NOTICE, aggregateId, payload);
+    }
+
+    private NoticePayload.NoticePayloadBuilder actor(NoticePayload.NoticePayloadBuilder builder, User user) {
+        return builder.actorId(user.getId())
+                .actorNickname(user.getNickname())
+                .actorImg(user.getImg());
     }
 
+    // 응답 category 값은 피드 엔티티 이름 (Indoor, Insider, ...)
+    private String category(Feed feed) {
+        return FeedCategory.of(feed).getType().getSimpleName();
+    }
+
+    private List<NoticeResponseDto> toDtos(List<Notification> notifications) {
+        return notifications.stream()
+                .map(NoticeResponseDto::new)
+                .collect(Collectors.toList());
+    }
 }
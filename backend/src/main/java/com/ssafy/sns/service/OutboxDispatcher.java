@@ -0,0 +1,147 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.domain.outbox.OutboxEvent;
+import com.ssafy.sns.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * outbox_event 를 레인(aggregate_id % outbox.lanes) 별로 나눠 비운다.
+ * 레인마다 스레드 하나가 id 순서대로 처리하므로 같은 aggregate 의 작업 순서가 유지된다.
+ * 재시도를 기다리는 행이 있는 aggregate 는 그 뒤의 행도 건너뛴다.
+ * 폴링은 @Scheduled 공용 스레드가 아닌 자기 스레드에서 outbox.poll-interval 마다 돈다.
+ * 여러 서버가 같은 테이블을 보면 중복 처리되므로 한 대에서만 켠다. (outbox.dispatcher.enabled)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxDispatcher {
+
+    public static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxProcessor outboxProcessor;
+
+    @Value("${outbox.lanes:4}")
+    private int lanes;
+
+    @Value("${outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${outbox.retry-delay:1000}")
+    private long retryDelay;
+
+    @Value("${outbox.poll-interval:200}")
+    private long pollInterval;
+
+    private ScheduledExecutorService poller;
+    private ExecutorService executor;
+    private AtomicBoolean[] running;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newFixedThreadPool(lanes);
+        running = new AtomicBoolean[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            running[lane] = new AtomicBoolean();
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "outbox-poller"));
+        poller.scheduleWithFixedDelay(this::poll, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdown();
+        executor.shutdown();
+    }
+
+    // 예외가 밖으로 나가면 scheduleWithFixedDelay 가 멈추므로 여기서 삼킨다
+    public void poll() {
+        try {
+            for (int lane = 0; lane < lanes; lane++) {
+                int target = lane;
+                if (!running[target].compareAndSet(false, true)) continue;
+                executor.execute(() -> {
+                    try {
+                        // 밀려 있으면 다음 묶음 바로 처리
+                        int processed;
+                        do {
+                            processed = drain(target);
+                        } while (processed >= batchSize);
+                    } catch (Exception e) {
+                        logger.warn("outbox 레인 {} 처리 실패 : {}", target, e.getMessage());
+                    } finally {
+                        running[target].set(false);
+                    }
+                });
+            }
+        } catch (Exception e) {
+            logger.warn("outbox 폴링 실패 : {}", e.getMessage());
+        }
+    }
+
+    // 처리한 행 수
+    private int drain(int lane) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> rows = outboxRepository.findLane(lanes, lane, batchSize, now);
+
+        Set<Long> blocked = new HashSet<>();
+        List<OutboxEvent> ready = new ArrayList<>(rows.size());
+        for (OutboxEvent row : rows) {
+            if (blocked.contains(row.getAggregateId())) continue;
+            if (row.getNextAttemptAt().isAfter(now)) {
+                blocked.add(row.getAggregateId());
+                continue;
+            }
+            ready.add(row);
+        }
+        if (ready.isEmpty()) return 0;
+
+        try {
+            outboxProcessor.process(ready);
+        } catch (Exception e) {
+            // 묶음이 실패하면 한 줄씩 다시 해서 실패한 행만 재시도로 돌린다
+            logger.warn("outbox 묶음 처리 실패, 한 건씩 재시도 : {}", e.getMessage());
+            Set<Long> failed = new HashSet<>();
+            for (OutboxEvent row : ready) {
+                if (failed.contains(row.getAggregateId())) continue;
+                try {
+                    outboxProcessor.process(Collections.singletonList(row));
+                } catch (Exception ex) {
+                    failed.add(row.getAggregateId());
+                    retryLater(row, ex);
+                }
+            }
+        }
+        return ready.size();
+    }
+
+    private void retryLater(OutboxEvent row, Exception e) {
+        int attempts = row.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            logger.warn("outbox {} 포기 ({} 회) : {}", row.getId(), attempts, e.getMessage());
+            outboxRepository.markDead(row.getId(), attempts);
+            return;
+        }
+        long delay = retryDelay << Math.min(attempts - 1, 16);
+        outboxRepository.markRetry(row.getId(), attempts, LocalDateTime.now().plus(delay, ChronoUnit.MILLIS));
+    }
+}
@@ -0,0 +1,236 @@
+package com.ssafy.sns.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.sns.domain.group.MemberRole;
+import com.ssafy.sns.domain.notice.Notification;
+import com.ssafy.sns.domain.outbox.OutboxEvent;
+import com.ssafy.sns.dto.notice.NoticeResponseDto;
+import com.ssafy.sns.dto.outbox.FeedCountPayload;
+import com.ssafy.sns.dto.outbox.NoticePayload;
+import com.ssafy.sns.event.FeedCountEvent;
+import com.ssafy.sns.event.NoticeBadgeEvent;
+import com.ssafy.sns.event.NoticeEvent;
+import com.ssafy.sns.repository.CommentRepository;
+import com.ssafy.sns.repository.FeedClapRepository;
+import com.ssafy.sns.repository.GroupMemberRepository;
+import com.ssafy.sns.repository.NoticeBadgeRepository;
+import com.ssafy.sns.repository.NotificationRepository;
+import com.ssafy.sns.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * outbox 묶음 하나를 한 트랜잭션으로 처리한다.
+ * 알림은 JDBC batch insert 한 번, 피드 카운터는 피드별로 합쳐서 batch update 한 번, 처리한 행 삭제.
+ * 박수 / 댓글 알림은 (받는 사람, 종류, 피드) 별로 모아서 notice.coalesce.window-minutes 안의 기존 알림에 합친다.
+ * 그래서 알림 행 수는 행동 수가 아니라 대상 수만큼 늘어난다.
+ * 새 알림 수만큼 받는 사람의 안 읽은 수(notice_badge)를 같은 트랜잭션에서 올리고, 박수 취소로 지워진 안 읽은 알림만큼 내린다.
+ * 실시간 전송 이벤트는 커밋된 뒤에 SseHub 로 나간다.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class OutboxProcessor {
+
+    private final OutboxRepository outboxRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final ObjectMapper objectMapper;
+    private final NotificationRepository notificationRepository;
+    private final NoticeBadgeRepository noticeBadgeRepository;
+    private final FeedClapRepository feedClapRepository;
+    private final CommentRepository commentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${notice.coalesce.window-minutes:60}")
+    private long coalesceWindowMinutes;
+
+    @Value("${notice.coalesce.sample-size:3}")
+    private int sampleSize;
+
+    public void process(List<OutboxEvent> events) {
+        List<Notification> notifications = new ArrayList<>();
+        Map<Long, int[]> feedDeltas = new LinkedHashMap<>();
+        Map<Long, List<Long>> groupLeaders = new HashMap<>();
+        Map<List<Object>, List<NoticePayload>> coalescing = new LinkedHashMap<>();
+        List<Long> ids = new ArrayList<>(events.size());
+
+        for (OutboxEvent event : events) {
+            switch (event.getType()) {
+                case NOTICE:
+                    NoticePayload notice = read(event, NoticePayload.class);
+                    if (Notification.isCoalescing(notice.getType())) {
+                        coalescing.computeIfAbsent(Arrays.asList(notice.getRecipientId(), notice.getType(), notice.getFeedId()),
+                                key -> new ArrayList<>()).add(notice);
+                        break;
+                    }
+                    if (notice.getRecipientId() != null) {
+                        notifications.add(notice.toEntity(notice.getRecipientId()));
+                        break;
+                    }
+                    // 그룹 가입 : 그룹장들에게
+                    List<Long> leaderIds = groupLeaders.computeIfAbsent(notice.getGroupId(),
+                            groupId -> groupMemberRepository.findUserIdsByGroupIdAndRole(groupId, MemberRole.LEADER));
+                    for (Long leaderId : leaderIds) {
+                        if (!leaderId.equals(notice.getActorId())) {
+                            notifications.add(notice.toEntity(leaderId));
+                        }
+                    }
+                    break;
+                case FEED_COUNT:
+                    FeedCountPayload count = read(event, FeedCountPayload.class);
+                    int[] delta = feedDeltas.computeIfAbsent(count.getFeedId(), feedId -> new int[2]);
+                    delta[0] += count.getClapDelta();
+                    delta[1] += count.getCommentDelta();
+                    break;
+            }
+            ids.add(event.getId());
+        }
+
+        List<Notification> deleted = new ArrayList<>();
+        Collection<Notification> updated = coalesce(coalescing, notifications, deleted);
+        outboxRepository.insertNotifications(notifications);
+        noticeBadgeRepository.increment(countByRecipient(notifications));
+        noticeBadgeRepository.decrement(toBadgeArgs(deleted));
+        if (!deleted.isEmpty()) {
+            eventPublisher.publishEvent(new NoticeBadgeEvent(deleted.stream()
+                    .map(Notification::getRecipientId)
+                    .collect(Collectors.toSet())));
+        }
+        outboxRepository.addFeedCounts(feedDeltas);
+        outboxRepository.deleteAll(ids);
+
+        for (Notification notification : notifications) {
+            eventPublisher.publishEvent(new NoticeEvent(notification.getRecipientId(), null,
+                    new NoticeResponseDto(notification)));
+        }
+        for (Notification notification : updated) {
+            eventPublisher.publishEvent(new NoticeEvent(notification.getRecipientId(), notification.getId(),
+                    new NoticeResponseDto(notification)));
+        }
+        for (Object[] row : outboxRepository.findFeedCounts(feedDeltas.keySet())) {
+            eventPublisher.publishEvent(new FeedCountEvent((Long) row[0], (Integer) row[1], (Integer) row[2]));
+        }
+    }
+
+    /**
+     * 대상별로 열린(기간 안의) 알림에 순서대로 더하고 뺀다. 새로 만들 알림은 created 에, 지운 알림은 deleted 에 넣고,
+     * 바뀐 기존 알림을 돌려준다.
+     * 취소는 그 사이에 다시 박수 / 댓글을 남겼으면 무시한다. 아니면 그 사람이 actorSample 에 있는 알림 (열린 것, 지난 것 순),
+     * 없으면 actorSample 밖에 묶인 사람이 있는 가장 최근 알림에서 한 명 뺀다. 어디에도 없으면 무시한다.
+     * 0 명이 되면 알림을 지운다.
+     */
+    private Collection<Notification> coalesce(Map<List<Object>, List<NoticePayload>> coalescing,
+                                              List<Notification> created, List<Notification> deleted) {
+        LocalDateTime since = LocalDateTime.now().minusMinutes(coalesceWindowMinutes);
+        Set<Notification> updated = new LinkedHashSet<>();
+        for (Map.Entry<List<Object>, List<NoticePayload>> entry : coalescing.entrySet()) {
+            Long recipientId = (Long) entry.getKey().get(0);
+            int type = (Integer) entry.getKey().get(1);
+            Long feedId = (Long) entry.getKey().get(2);
+
+            Notification open = notificationRepository
+                    .findFirstByRecipientIdAndTypeAndFeedIdAndCreatedDateAfterOrderByIdDesc(recipientId, type, feedId, since)
+                    .orElse(null);
+            boolean isNew = false;
+            List<Notification> past = null;
+            for (NoticePayload notice : entry.getValue()) {
+                if (!notice.isRetract()) {
+                    if (open == null) {
+                        open = notice.toEntity(recipientId);
+                        isNew = true;
+                    } else {
+                        open.addActor(notice.getActorId(), notice.getActorNickname(), notice.getActorImg(),
+                                notice.getSnippet(), sampleSize);
+                    }
+                    continue;
+                }
+
+                if (stillActs(type, notice.getActorId(), feedId)) continue;
+                if (past == null) {
+                    past = notificationRepository.findByRecipientIdAndTypeAndFeedIdOrderByIdDesc(recipientId, type, feedId);
+                }
+                Notification target = findRetractTarget(open, past, deleted, notice.getActorId());
+                if (target == null) continue;
+                if (target.removeActor(notice.getActorId()) > 0) {
+                    if (target != open) updated.add(target);
+                    continue;
+                }
+                if (target == open) {
+                    if (!isNew) delete(open, updated, deleted);
+                    open = null;
+                    isNew = false;
+                } else {
+                    delete(target, updated, deleted);
+                }
+            }
+
+            if (open == null) continue;
+            if (isNew) created.add(open);
+            else updated.add(open);
+        }
+        return updated;
+    }
+
+    // 취소 뒤에 다시 박수를 치거나 댓글이 남아 있으면 아직 묶인 사람이다
+    private boolean stillActs(int type, Long actorId, Long feedId) {
+        if (type == Notification.FEED_CLAP) return feedClapRepository.existsByUserAndFeed(actorId, feedId);
+        return commentRepository.existsByUserAndFeed(actorId, feedId);
+    }
+
+    // actorSample 에 그 사람이 있는 알림, 없으면 actorSample 밖에 사람이 있는 가장 최근 알림 (열린 알림 먼저)
+    private Notification findRetractTarget(Notification open, List<Notification> past, List<Notification> deleted, Long actorId) {
+        if (open != null && open.inSample(actorId)) return open;
+        for (Notification notification : past) {
+            if (notification == open || deleted.contains(notification)) continue;
+            if (notification.inSample(actorId)) return notification;
+        }
+        if (open != null && open.hasHiddenActors()) return open;
+        for (Notification notification : past) {
+            if (notification == open || deleted.contains(notification)) continue;
+            if (notification.hasHiddenActors()) return notification;
+        }
+        return null;
+    }
+
+    private void delete(Notification notification, Set<Notification> updated, List<Notification> deleted) {
+        notificationRepository.delete(notification);
+        updated.remove(notification);
+        deleted.add(notification);
+    }
+
+    // [user_id, notification_id] (받는 사람 id 순서)
+    private List<Object[]> toBadgeArgs(List<Notification> deleted) {
+        List<Object[]> args = new ArrayList<>(deleted.size());
+        for (Notification notification : deleted) {
+            args.add(new Object[]{notification.getRecipientId(), notification.getId()});
+        }
+        args.sort(Comparator.comparingLong(row -> (Long) row[0]));
+        return args;
+    }
+
+    // 레인끼리 같은 행을 엇갈려 잠그지 않게 id 순서로
+    private Map<Long, Integer> countByRecipient(List<Notification> notifications) {
+        Map<Long, Integer> counts = new TreeMap<>();
+        for (Notification notification : notifications) {
+            counts.merge(notification.getRecipientId(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    // javax @Transactional 은 checked 예외에 롤백하지 않으므로 런타임 예외로 바꾼다
+    private <T> T read(OutboxEvent event, Class<T> type) {
+        try {
+            return objectMapper.readValue(event.getPayload(), type);
+        } catch (IOException e) {
+            throw new IllegalStateException("outbox 내용 변환 실패 : " + event.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ssafy.sns.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.sns.domain.outbox.OutboxType;
+import com.ssafy.sns.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// 요청 트랜잭션 안에서 후속 작업을 outbox 에 한 줄로 남긴다 (처리는 OutboxDispatcher)
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public void append(OutboxType type, Long aggregateId, Object payload) {
+        try {
+            outboxRepository.append(type, aggregateId, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("outbox 내용 변환 실패 : " + type, e);
+        }
+    }
+}
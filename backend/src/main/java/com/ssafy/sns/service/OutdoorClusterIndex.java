@@ -0,0 +1,145 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.domain.newsfeed.FeedCategory;
+import com.ssafy.sns.event.FeedClapEvent;
+import com.ssafy.sns.event.FeedDeletedEvent;
+import com.ssafy.sns.event.FeedWrittenEvent;
+import com.ssafy.sns.repository.OutdoorRepo;
+import com.ssafy.sns.util.TileClusterIndex;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * 청산별곡 지도 핀 묶음 (TileClusterIndex). 위치가 있는 글 전부를 줌 0 ~ outdoor.cluster.max-zoom 단계로 들고 있다.
+ * 지도 줌 z 화면에서는 z + outdoor.cluster.cell-shift 단계 칸으로 묶는다. (shift 2 : 타일 256px 을 64px 칸으로)
+ * 서버 시작 시 DB 에서 한 번 채우고, 글 작성 / 삭제 / 박수 이벤트로 그 글의 칸들만 바꾼다.
+ * 채우는 동안 이벤트가 온 글은 스트림 값이 더 오래됐을 수 있으므로, 바꿔 끼운 뒤 그 글만 다시 읽어 맞춘다. (지워졌으면 뺀다)
+ */
+@Component
+@RequiredArgsConstructor
+public class OutdoorClusterIndex {
+
+    public static final Logger logger = LoggerFactory.getLogger(OutdoorClusterIndex.class);
+
+    private final OutdoorRepo outdoorRepo;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${outdoor.cluster.max-zoom:18}")
+    private int maxZoom;
+
+    @Value("${outdoor.cluster.cell-shift:2}")
+    private int cellShift;
+
+    @Value("${outdoor.cluster.max-cells:4096}")
+    private int maxCells;
+
+    private TileClusterIndex index;
+    private final Set<Long> touched = new HashSet<>(); // this 로 동기화
+    private boolean rebuilding;
+
+    @PostConstruct
+    public void init() {
+        index = new TileClusterIndex(maxZoom);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            rebuilding = true;
+        }
+        TileClusterIndex fresh = new TileClusterIndex(maxZoom);
+        // 스트림은 트랜잭션 안에서 읽고, 다시 읽기는 그 스냅샷 밖에서 한다
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = outdoorRepo.streamLocations()) {
+                    rows.forEach(row -> put(fresh, row));
+                }
+            });
+        } catch (Exception e) {
+            synchronized (this) {
+                rebuilding = false;
+                touched.clear();
+            }
+            logger.warn("청산별곡 지도 묶음 구성 실패 : {}", e.getMessage());
+            return;
+        }
+
+        List<Long> changed;
+        synchronized (this) {
+            index = fresh;
+            rebuilding = false;
+            changed = new ArrayList<>(touched);
+            touched.clear();
+        }
+
+        // 구성 중에 작성 / 삭제 / 박수가 있었던 글은 커밋된 값으로 다시 맞춘다
+        if (!changed.isEmpty()) {
+            List<Object[]> rows = outdoorRepo.findLocations(changed);
+            synchronized (this) {
+                changed.forEach(index::remove);
+                rows.forEach(row -> put(index, row));
+            }
+        }
+        logger.info("청산별곡 지도 묶음 구성 : {} (다시 읽음 {})", size(), changed.size());
+    }
+
+    // 화면 (south, west) ~ (north, east), 지도 줌 zoom
+    public synchronized List<TileClusterIndex.Cluster> clusters(double south, double west, double north, double east, int zoom) {
+        if (south > north || south < -90 || north > 90 || west < -180 || west > 180 || east < -180 || east > 180) {
+            throw new IllegalArgumentException("잘못된 화면 : " + south + ", " + west + ", " + north + ", " + east);
+        }
+        return index.clusters(south, west, north, east, zoom + cellShift, maxCells);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFeedWritten(FeedWrittenEvent event) {
+        if (event.getCategory() != FeedCategory.OUTDOOR) return;
+
+        outdoorRepo.findById(event.getFeedId()).ifPresent(outdoor -> {
+            synchronized (this) {
+                if (rebuilding) touched.add(outdoor.getId());
+                if (outdoor.getLat() == null || outdoor.getLng() == null) return;
+                index.put(outdoor.getId(), outdoor.getLat(), outdoor.getLng(), outdoor.getClapCnt());
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void onFeedClap(FeedClapEvent event) {
+        if (event.getCategory() != FeedCategory.OUTDOOR) return;
+        if (rebuilding) touched.add(event.getFeedId());
+        index.addClap(event.getFeedId(), event.getDelta());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void onFeedDeleted(FeedDeletedEvent event) {
+        if (event.getCategory() != FeedCategory.OUTDOOR) return;
+        if (rebuilding) touched.add(event.getFeedId());
+        index.remove(event.getFeedId());
+    }
+
+    // [feed_id, 위도, 경도, 작성시간, 박수 수]
+    private static void put(TileClusterIndex target, Object[] row) {
+        target.put((Long) row[0], (Double) row[1], (Double) row[2], ((Number) row[4]).intValue());
+    }
+
+    private synchronized int size() {
+        return index.size();
+    }
+}
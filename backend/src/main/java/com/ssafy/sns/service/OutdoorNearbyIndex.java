@@ -0,0 +1,141 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.domain.newsfeed.FeedCategory;
+import com.ssafy.sns.event.FeedDeletedEvent;
+import com.ssafy.sns.event.FeedWrittenEvent;
+import com.ssafy.sns.repository.OutdoorRepo;
+import com.ssafy.sns.util.GeoGridIndex;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * 청산별곡 위치 색인 (GeoGridIndex). 위치가 있는 글 전부를 메모리에 들고 있다.
+ * 서버 시작 시 DB 에서 한 번 채우고, 이후에는 글 작성 / 삭제 이벤트로만 바꾼다. (수정은 위치를 바꾸지 않는다)
+ * 채우는 동안 이벤트가 온 글은 스트림 값이 더 오래됐을 수 있으므로, 바꿔 끼운 뒤 그 글만 다시 읽어 맞춘다. (지워졌으면 뺀다)
+ * 칸 크기는 outdoor.nearby.cell-deg 도 (기본 0.05 도, 위도 방향 약 5.5km), 반경은 outdoor.nearby.max-radius m 까지.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutdoorNearbyIndex {
+
+    public static final Logger logger = LoggerFactory.getLogger(OutdoorNearbyIndex.class);
+
+    private final OutdoorRepo outdoorRepo;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${outdoor.nearby.cell-deg:0.05}")
+    private double cellDeg;
+
+    @Value("${outdoor.nearby.max-radius:50000}")
+    private double maxRadius;
+
+    private volatile GeoGridIndex index;
+
+    // 이벤트 반영과 바꿔 끼우기를 묶는다 (조회는 GeoGridIndex 자체 락만)
+    private final Object writeLock = new Object();
+    private final Set<Long> touched = new HashSet<>(); // writeLock 으로 동기화
+    private boolean rebuilding;
+
+    @PostConstruct
+    public void init() {
+        index = new GeoGridIndex(cellDeg);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (writeLock) {
+            rebuilding = true;
+        }
+        GeoGridIndex fresh = new GeoGridIndex(cellDeg);
+        // 스트림은 트랜잭션 안에서 읽고, 다시 읽기는 그 스냅샷 밖에서 한다
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = outdoorRepo.streamLocations()) {
+                    rows.forEach(row -> put(fresh, row));
+                }
+            });
+        } catch (Exception e) {
+            synchronized (writeLock) {
+                rebuilding = false;
+                touched.clear();
+            }
+            logger.warn("청산별곡 위치 색인 구성 실패 : {}", e.getMessage());
+            return;
+        }
+
+        List<Long> changed;
+        synchronized (writeLock) {
+            index = fresh;
+            rebuilding = false;
+            changed = new ArrayList<>(touched);
+            touched.clear();
+        }
+
+        // 구성 중에 작성 / 삭제된 글은 커밋된 값으로 다시 맞춘다
+        if (!changed.isEmpty()) {
+            List<Object[]> rows = outdoorRepo.findLocations(changed);
+            synchronized (writeLock) {
+                changed.forEach(index::remove);
+                rows.forEach(row -> put(index, row));
+            }
+        }
+        logger.info("청산별곡 위치 색인 구성 : {} (다시 읽음 {})", fresh.size(), changed.size());
+    }
+
+    // radius 는 outdoor.nearby.max-radius m 까지
+    public List<GeoGridIndex.Hit> nearby(double lat, double lng, double radius, GeoGridIndex.Hit after, int limit) {
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180 || !(radius > 0)) {
+            throw new IllegalArgumentException("잘못된 위치 : " + lat + ", " + lng + ", " + radius);
+        }
+        return index.nearby(lat, lng, Math.min(radius, maxRadius), after, limit);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFeedWritten(FeedWrittenEvent event) {
+        if (event.getCategory() != FeedCategory.OUTDOOR) return;
+
+        outdoorRepo.findById(event.getFeedId()).ifPresent(outdoor -> {
+            synchronized (writeLock) {
+                if (rebuilding) touched.add(outdoor.getId());
+                if (outdoor.getLat() == null || outdoor.getLng() == null) return;
+                index.put(outdoor.getId(), outdoor.getLat(), outdoor.getLng(), toMillis(outdoor.getCreatedDate()));
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFeedDeleted(FeedDeletedEvent event) {
+        if (event.getCategory() != FeedCategory.OUTDOOR) return;
+        synchronized (writeLock) {
+            if (rebuilding) touched.add(event.getFeedId());
+            index.remove(event.getFeedId());
+        }
+    }
+
+    // [feed_id, 위도, 경도, 작성시간, ...]
+    private void put(GeoGridIndex target, Object[] row) {
+        target.put((Long) row[0], (Double) row[1], (Double) row[2], toMillis((LocalDateTime) row[3]));
+    }
+
+    private long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
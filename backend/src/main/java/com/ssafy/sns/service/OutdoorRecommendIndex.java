@@ -0,0 +1,194 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.domain.newsfeed.FeedCategory;
+import com.ssafy.sns.event.FeedClapEvent;
+import com.ssafy.sns.event.FeedDeletedEvent;
+import com.ssafy.sns.event.FeedWrittenEvent;
+import com.ssafy.sns.repository.OutdoorRepo;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 청산별곡 추천용 지역 코드(1 ~ 17)별 박수 순위.
+ * 최근 outdoor.recommend.window-hours 시간 안의 글만 들고 있고, 글 작성 / 삭제 / 박수 때마다 갱신한다.
+ * 기간이 지난 글은 주기적으로 빼고, 서버 시작 시 DB 에서 한 번 채운다.
+ * 채우는 동안 이벤트가 온 글은 DB 에서 읽은 값이 더 오래됐을 수 있으므로, 바꿔 끼운 뒤 그 글만 다시 읽어 맞춘다. (지워졌으면 뺀다)
+ */
+@Component
+@RequiredArgsConstructor
+public class OutdoorRecommendIndex {
+
+    public static final Logger logger = LoggerFactory.getLogger(OutdoorRecommendIndex.class);
+    private static final int CODE_CNT = 17;
+
+    // 박수 많은 순, 같으면 최신 글
+    private static final Comparator<Entry> RANK = Comparator.comparingInt((Entry e) -> -e.clapCnt)
+            .thenComparingLong(e -> -e.feedId);
+    private static final Comparator<Entry> BY_CREATED = Comparator.comparing((Entry e) -> e.createdDate)
+            .thenComparingLong(e -> e.feedId);
+
+    private final OutdoorRepo outdoorRepo;
+
+    @Value("${outdoor.recommend.window-hours:72}")
+    private long windowHours;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> byCreated = new TreeSet<>(BY_CREATED);
+    private final List<TreeSet<Entry>> byCode = new ArrayList<>();
+    private final Set<Long> touched = new HashSet<>(); // this 로 동기화
+    private boolean rebuilding;
+    {
+        for (int code = 0; code <= CODE_CNT; code++) {
+            byCode.add(new TreeSet<>(RANK));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            rebuilding = true;
+        }
+        List<Long> changed;
+        try {
+            List<Object[]> rows = outdoorRepo.findRecommendRowsAfter(windowStart());
+            synchronized (this) {
+                entries.clear();
+                byCreated.clear();
+                byCode.forEach(TreeSet::clear);
+                for (Object[] row : rows) {
+                    add(toEntry(row));
+                }
+                rebuilding = false;
+                changed = new ArrayList<>(touched);
+                touched.clear();
+            }
+
+            // 구성 중에 작성 / 삭제 / 박수가 있었던 글은 커밋된 값으로 다시 맞춘다
+            if (!changed.isEmpty()) {
+                List<Object[]> reread = outdoorRepo.findRecommendRows(changed);
+                LocalDateTime start = windowStart();
+                synchronized (this) {
+                    for (Long feedId : changed) {
+                        remove(entries.get(feedId));
+                    }
+                    for (Object[] row : reread) {
+                        Entry entry = toEntry(row);
+                        if (entry.createdDate.isAfter(start)) add(entry);
+                    }
+                }
+            }
+            logger.info("청산별곡 추천 인덱스 구성 : {} (다시 읽음 {})", rows.size(), changed.size());
+        } catch (Exception e) {
+            synchronized (this) {
+                rebuilding = false;
+                touched.clear();
+            }
+            logger.warn("청산별곡 추천 인덱스 구성 실패 : {}", e.getMessage());
+        }
+    }
+
+    // 지역별 1등 피드 id
+    public synchronized List<Long> recommend() {
+        LocalDateTime start = windowStart();
+        List<Long> result = new ArrayList<>();
+        for (int code = 1; code <= CODE_CNT; code++) {
+            for (Entry entry : byCode.get(code)) {
+                if (entry.createdDate.isAfter(start)) {
+                    result.add(entry.feedId);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFeedWritten(FeedWrittenEvent event) {
+        if (event.getCategory() != FeedCategory.OUTDOOR) return;
+
+        outdoorRepo.findById(event.getFeedId()).ifPresent(outdoor -> {
+            synchronized (this) {
+                if (rebuilding) touched.add(outdoor.getId());
+                if (outdoor.getCode() == null) return;
+                add(new Entry(outdoor.getId(), outdoor.getCode(), outdoor.getCreatedDate(), outdoor.getClapCnt()));
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void onFeedClap(FeedClapEvent event) {
+        if (event.getCategory() != FeedCategory.OUTDOOR) return;
+        if (rebuilding) touched.add(event.getFeedId());
+
+        // 기간 밖의 글은 들고 있지 않으므로 무시
+        Entry entry = entries.get(event.getFeedId());
+        if (entry == null) return;
+        byCode.get(entry.code).remove(entry);
+        entry.clapCnt += event.getDelta();
+        byCode.get(entry.code).add(entry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void onFeedDeleted(FeedDeletedEvent event) {
+        if (event.getCategory() != FeedCategory.OUTDOOR) return;
+        if (rebuilding) touched.add(event.getFeedId());
+        remove(entries.get(event.getFeedId()));
+    }
+
+    @Scheduled(fixedDelayString = "${outdoor.recommend.evict-interval:60000}")
+    public synchronized void evictExpired() {
+        LocalDateTime start = windowStart();
+        while (!byCreated.isEmpty() && !byCreated.first().createdDate.isAfter(start)) {
+            remove(byCreated.first());
+        }
+    }
+
+    private void add(Entry entry) {
+        if (entry.code < 1 || entry.code > CODE_CNT || entries.containsKey(entry.feedId)) return;
+        entries.put(entry.feedId, entry);
+        byCreated.add(entry);
+        byCode.get(entry.code).add(entry);
+    }
+
+    private void remove(Entry entry) {
+        if (entry == null) return;
+        entries.remove(entry.feedId);
+        byCreated.remove(entry);
+        byCode.get(entry.code).remove(entry);
+    }
+
+    // [feed_id, code, 작성시간, 박수 수]
+    private static Entry toEntry(Object[] row) {
+        return new Entry((Long) row[0], (Integer) row[1], (LocalDateTime) row[2], ((Number) row[3]).intValue());
+    }
+
+    private LocalDateTime windowStart() {
+        return LocalDateTime.now().minusHours(windowHours);
+    }
+
+    private static class Entry {
+
+        private final long feedId;
+        private final int code;
+        private final LocalDateTime createdDate;
+        private int clapCnt; // 순위 TreeSet 에서 뺀 상태에서만 바꾼다
+
+        Entry(long feedId, int code, LocalDateTime createdDate, int clapCnt) {
+            this.feedId = feedId;
+            this.code = code;
+            this.createdDate = createdDate;
+            this.clapCnt = clapCnt;
+        }
+    }
+}
@@ -3,22 +3,28 @@ package com.ssafy.sns.service;
 import com.ssafy.sns.domain.hashtag.FeedHashtag;
 import com.ssafy.sns.domain.hashtag.Hashtag;
 import com.ssafy.sns.domain.newsfeed.Feed;
+import com.ssafy.sns.domain.newsfeed.FeedCategory;
 import com.ssafy.sns.domain.newsfeed.Indoor;
 import com.ssafy.sns.domain.newsfeed.Outdoor;
 import com.ssafy.sns.domain.user.User;
 import com.ssafy.sns.dto.newsfeed.*;
 import com.ssafy.sns.repository.*;
+import com.ssafy.sns.util.FeedCursor;
+import com.ssafy.sns.util.GeoCursor;
+import com.ssafy.sns.util.GeoGridIndex;
+import com.ssafy.sns.util.TileClusterIndex;
 import io.swagger.models.auth.In;
+import com.ssafy.sns.event.FeedDeletedEvent;
+import com.ssafy.sns.event.FeedContentEvent;
+import com.ssafy.sns.event.FeedWrittenEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.transaction.Transactional;
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,55 +34,87 @@ public class OutdoorServiceImpl implements FeedService {
 
     private final FeedRepositoryImpl feedRepository;
     private final HashtagRepositoryImpl hashtagRepository;
-    private final FeedClapRepositoryImpl feedClapRepository;
-    private final CommentRepositoryImpl commentRepository;
     private final UserRepository userRepository;
     private final S3Service s3Service;
     private final FileServiceImpl fileService;
-    private final FollowServiceImpl followService;
-    private final OutdoorRepo outdoorRepo;
-    private final FeedClapRepo feedClapRepo;
+    private final FeedCardAssembler feedCardAssembler;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutdoorRecommendIndex outdoorRecommendIndex;
+    private final OutdoorNearbyIndex outdoorNearbyIndex;
+    private final OutdoorClusterIndex outdoorClusterIndex;
 
     @Override
     public FeedListResponseDto findMyList(Long userId, Long targetId, int num) {
-        User user = userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
         List<Feed> outdoorList = feedRepository.findMyList(targetId, num, Outdoor.class);
+        FeedCards cards = feedCardAssembler.assemble(userId, outdoorList);
         List<OutdoorResponseDto> outdoorResponseDtoList = new ArrayList<>();
         for (Feed feed : outdoorList) {
             outdoorResponseDtoList.add(new OutdoorResponseDto((Outdoor) feed,
-                    (int) commentRepository.findListById(feed).count(),
-                    feedClapRepository.findClapAll(feed).size(),
-                    feedClapRepository.findClap(user, feed).isPresent(),
-                    followService.isFollow(userId, feed)));
+                    cards.getCommentCnt(feed),
+                    cards.getLikeCnt(feed),
+                    cards.isClap(feed),
+                    cards.isFollow(feed)));
         }
         return new FeedListResponseDto<>(outdoorResponseDtoList, num + outdoorList.size());
     }
 
     @Override
     public FeedListResponseDto readList(Long userId, int num) {
-        User user = userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
         List<Feed> outdoorList = feedRepository.findList(num, Outdoor.class);
+        FeedCards cards = feedCardAssembler.assemble(userId, outdoorList);
         List<OutdoorResponseDto> outdoorResponseDtoList = new ArrayList<>();
         for (Feed feed : outdoorList) {
             outdoorResponseDtoList.add(new OutdoorResponseDto((Outdoor) feed,
-                    (int) commentRepository.findListById(feed).count(),
-                    feedClapRepository.findClapAll(feed).size(),
-                    feedClapRepository.findClap(user, feed).isPresent(),
-                    followService.isFollow(userId, feed)));
+                    cards.getCommentCnt(feed),
+                    cards.getLikeCnt(feed),
+                    cards.isClap(feed),
+                    cards.isFollow(feed)));
         }
         return new FeedListResponseDto<>(outdoorResponseDtoList, num + outdoorList.size());
     }
 
+    @Override
+    public FeedSliceResponseDto findMySlice(Long userId, Long targetId, String cursor) {
+        FeedCursor after = FeedCursor.decode(cursor);
+        return toSlice(userId, feedRepository.findMyListAfter(targetId, Outdoor.class,
+                after.getCreatedDate(), after.getId(), FeedCursor.PAGE_SIZE + 1));
+    }
+
+    @Override
+    public FeedSliceResponseDto readSlice(Long userId, String cursor) {
+        FeedCursor after = FeedCursor.decode(cursor);
+        return toSlice(userId, feedRepository.findListAfter(Outdoor.class,
+                after.getCreatedDate(), after.getId(), FeedCursor.PAGE_SIZE + 1));
+    }
+
+    // 한 개 더 읽어서 다음 페이지 여부 판단
+    private FeedSliceResponseDto toSlice(Long userId, List<Feed> outdoorList) {
+        boolean hasNext = outdoorList.size() > FeedCursor.PAGE_SIZE;
+        if (hasNext) outdoorList = outdoorList.subList(0, FeedCursor.PAGE_SIZE);
+
+        FeedCards cards = feedCardAssembler.assemble(userId, outdoorList);
+        List<OutdoorResponseDto> outdoorResponseDtoList = new ArrayList<>();
+        for (Feed feed : outdoorList) {
+            outdoorResponseDtoList.add(new OutdoorResponseDto((Outdoor) feed,
+                    cards.getCommentCnt(feed),
+                    cards.getLikeCnt(feed),
+                    cards.isClap(feed),
+                    cards.isFollow(feed)));
+        }
+        String nextCursor = outdoorList.isEmpty() ? null : FeedCursor.next(outdoorList.get(outdoorList.size() - 1));
+        return new FeedSliceResponseDto<>(outdoorResponseDtoList, nextCursor, hasNext);
+    }
+
     @Override
     public FeedResponseDto read(Long userId, Long feedId) {
-        User user = userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
         Feed feed = feedRepository.findById(feedId);
         if (!(feed instanceof Outdoor)) throw new NoSuchElementException();
+        FeedCards cards = feedCardAssembler.assemble(userId, feed);
         return new OutdoorResponseDto((Outdoor) feed,
-                (int) commentRepository.findListById(feed).count(),
-                feedClapRepository.findClapAll(feed).size(),
-                feedClapRepository.findClap(user, feed).isPresent(),
-                followService.isFollow(userId, feed));
+                cards.getCommentCnt(feed),
+                cards.getLikeCnt(feed),
+                cards.isClap(feed),
+                cards.isFollow(feed));
     }
 
     @Override
@@ -108,6 +146,8 @@ public class OutdoorServiceImpl implements FeedService {
             hashtag.addFeedHashtag(feedHashtag);
         }
 
+        eventPublisher.publishEvent(new FeedWrittenEvent(outdoor.getId(), userId, FeedCategory.OUTDOOR));
+        eventPublisher.publishEvent(new FeedContentEvent(outdoor.getId(), outdoor.getContent(), outdoor.getCreatedDate()));
         return outdoor.getId();
     }
 
@@ -137,6 +177,7 @@ public class OutdoorServiceImpl implements FeedService {
 
         user.deleteFeed(outdoor);
         feedRepository.remove(outdoor);
+        eventPublisher.publishEvent(new FeedDeletedEvent(feedId, userId, FeedCategory.OUTDOOR));
     }
 
     @Override
@@ -151,6 +192,7 @@ public class OutdoorServiceImpl implements FeedService {
 
         // 글 수정
         outdoor.update((OutdoorRequestDto) feedRequestDto);
+        eventPublisher.publishEvent(new FeedContentEvent(outdoor.getId(), outdoor.getContent(), outdoor.getCreatedDate()));
 
         // 태그 찾고 삭제
         List<FeedHashtag> feedHashtags = hashtagRepository.findFeedHashTag(outdoor);
@@ -182,45 +224,52 @@ public class OutdoorServiceImpl implements FeedService {
         fileService.modifyFiles(prevFileNames, curFileNames);
     }
 
+    // 지역별 최근 3일 박수 1등 (OutdoorRecommendIndex 에서 id 만 받아 조회)
     public FeedListResponseDto feedRecommend(Long userId) {
-        User user = userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
-        // 3일 이내 피드들 리스트
-        System.out.println(LocalDateTime.now().minusDays(3));
-        List<Outdoor> outdoors = outdoorRepo.findAll().stream()
-                .filter(outdoor -> outdoor.getCreatedDate().isAfter(LocalDateTime.now().minusDays(3)))
-                .sorted((o1, o2) -> o2.getFeedClapList().size() - o1.getFeedClapList().size())
-                .collect(Collectors.toList());
-
-        Outdoor[] recommends = new Outdoor[18]; // 1 ~ 17 사용
-        int cnt = 0;
-        for (Outdoor outdoor : outdoors) {
-            if (outdoor.getCode() == null) {
-                continue;
-            }
-            int code = outdoor.getCode();
-
-            if (recommends[code] == null) {
-                recommends[code] = outdoor;
-                cnt++;
-            }
-            if (cnt == 17) {
-                break;
-            }
+        FeedCards cards = feedCardAssembler.assembleByIds(userId, outdoorRecommendIndex.recommend());
+        List<OutdoorResponseDto> outdoorResponseDtoList = new ArrayList<>();
+        for (Feed feed : cards.getFeeds()) {
+            outdoorResponseDtoList.add(new OutdoorResponseDto((Outdoor) feed,
+                    cards.getCommentCnt(feed),
+                    cards.getLikeCnt(feed),
+                    cards.isClap(feed),
+                    cards.isFollow(feed)));
         }
+        return new FeedListResponseDto<>(outdoorResponseDtoList, 0);
+    }
 
-        List<OutdoorResponseDto> outdoorResponseDtoList = new ArrayList<>();
-        for (Outdoor outdoor : recommends) {
-            if(outdoor == null) {
-                continue;
-            }
-            outdoorResponseDtoList.add(new OutdoorResponseDto(outdoor,
-                    (int) commentRepository.findListById(outdoor).count(),
-                    feedClapRepository.findClapAll(outdoor).size(),
-                    feedClapRepository.findClap(user, outdoor).isPresent(),
-                    followService.isFollow(userId, outdoor)));
+    // (lat, lng) 에서 radius m 안의 글, 가까운 순 (같으면 최신 글). cursor : 이전 응답의 nextCursor
+    public FeedSliceResponseDto<NearbyOutdoorResponseDto> readNearby(Long userId, double lat, double lng,
+                                                                     double radius, String cursor) {
+        List<GeoGridIndex.Hit> hits = outdoorNearbyIndex.nearby(lat, lng, radius, GeoCursor.decode(cursor),
+                FeedCursor.PAGE_SIZE + 1);
+        boolean hasNext = hits.size() > FeedCursor.PAGE_SIZE;
+        if (hasNext) hits = hits.subList(0, FeedCursor.PAGE_SIZE);
+
+        List<Long> feedIds = hits.stream().map(GeoGridIndex.Hit::getId).collect(Collectors.toList());
+        FeedCards cards = feedCardAssembler.assembleByIds(userId, feedIds);
+        Map<Long, Feed> feeds = cards.getFeeds().stream().collect(Collectors.toMap(Feed::getId, feed -> feed));
+        List<NearbyOutdoorResponseDto> outdoorResponseDtoList = new ArrayList<>();
+        for (GeoGridIndex.Hit hit : hits) {
+            Feed feed = feeds.get(hit.getId());
+            if (feed == null) continue;
+            outdoorResponseDtoList.add(new NearbyOutdoorResponseDto((Outdoor) feed,
+                    cards.getCommentCnt(feed),
+                    cards.getLikeCnt(feed),
+                    cards.isClap(feed),
+                    cards.isFollow(feed),
+                    hit.getDistance()));
         }
+        String nextCursor = hits.isEmpty() ? null : GeoCursor.next(hits.get(hits.size() - 1));
+        return new FeedSliceResponseDto<>(outdoorResponseDtoList, nextCursor, hasNext);
+    }
 
-        System.out.println(11111111);
-        return new FeedListResponseDto<>(outdoorResponseDtoList, 0);
+    // 지도 화면 안의 핀 묶음 (DB 를 읽지 않는다)
+    public List<OutdoorClusterDto> readClusters(double south, double west, double north, double east, int zoom) {
+        List<OutdoorClusterDto> result = new ArrayList<>();
+        for (TileClusterIndex.Cluster cluster : outdoorClusterIndex.clusters(south, west, north, east, zoom)) {
+            result.add(new OutdoorClusterDto(cluster));
+        }
+        return result;
     }
 }
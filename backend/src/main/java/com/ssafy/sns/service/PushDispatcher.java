@@ -0,0 +1,246 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.dto.firebase.FcmMessage;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 푸시 발송 큐. 요청 스레드는 send() 로 넣기만 하고, 발송 스레드 하나가 push.batch-size 개씩 묶어 PushTransport 로 보낸다.
+ * - 기기 토큰마다 토큰 버킷으로 보내는 양을 제한한다. (넘치면 버림)
+ * - RETRY 결과는 지수 백오프 + 지터 후 다시 보내고, push.max-attempts 를 넘기면 버린다.
+ *   서버가 Retry-After 를 주면 그보다 빨리 보내지 않는다.
+ * - 큐가 꽉 차면 새 푸시를 버린다. (요청 스레드를 막지 않는다)
+ */
+@Component
+@RequiredArgsConstructor
+public class PushDispatcher {
+
+    public static final Logger logger = LoggerFactory.getLogger(PushDispatcher.class);
+
+    private final PushTransport pushTransport;
+
+    @Value("${push.queue-size:10000}")
+    private int queueSize;
+
+    @Value("${push.batch-size:500}")
+    private int batchSize;
+
+    @Value("${push.flush-interval:100}")
+    private long flushInterval;
+
+    @Value("${push.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${push.retry-base:1000}")
+    private long retryBase;
+
+    @Value("${push.retry-max:60000}")
+    private long retryMax;
+
+    @Value("${push.token.burst:5}")
+    private int tokenBurst;
+
+    @Value("${push.token.per-minute:20}")
+    private int tokenPerMinute;
+
+    private BlockingQueue<Delivery> queue;
+    private final DelayQueue<Delivery> retries = new DelayQueue<>();
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor();
+    private volatile boolean running = true;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder limited = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueSize);
+        worker.execute(this::loop);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        worker.shutdownNow();
+    }
+
+    // 큐에 넣기만 한다. 꽉 찼으면 false
+    public boolean send(FcmMessage message) {
+        if (queue.offer(new Delivery(message))) return true;
+        dropped.increment();
+        return false;
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("queued", queue.size());
+        result.put("retrying", retries.size());
+        result.put("sent", sent.sum());
+        result.put("dropped", dropped.sum());
+        result.put("limited", limited.sum());
+        result.put("retried", retried.sum());
+        result.put("failed", failed.sum());
+        return result;
+    }
+
+    // 한동안 안 쓴 (가득 찬) 버킷 정리
+    @Scheduled(fixedDelayString = "${push.token.evict-interval:600000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    private void loop() {
+        while (running) {
+            try {
+                List<Delivery> batch = new ArrayList<>(batchSize);
+                Delivery first = queue.poll(flushInterval, TimeUnit.MILLISECONDS);
+                if (first != null) batch.add(first);
+                queue.drainTo(batch, batchSize - batch.size());
+                retries.drainTo(batch, batchSize - batch.size()); // 기다린 시간이 지난 것만 나온다
+                if (!batch.isEmpty()) deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.warn("푸시 발송 실패 : {}", e.getMessage());
+            }
+        }
+    }
+
+    private void deliver(List<Delivery> batch) {
+        List<Delivery> allowed = new ArrayList<>(batch.size());
+        long now = System.nanoTime();
+        for (Delivery delivery : batch) {
+            // 재시도는 처음 보낼 때 이미 한도를 썼다
+            if (delivery.attempts == 0 && !bucket(delivery.token()).tryAcquire(now)) {
+                limited.increment();
+                continue;
+            }
+            allowed.add(delivery);
+        }
+        if (allowed.isEmpty()) return;
+
+        List<FcmMessage> messages = new ArrayList<>(allowed.size());
+        for (Delivery delivery : allowed) {
+            messages.add(delivery.message);
+        }
+
+        List<PushResult> results;
+        long retryAfter = 0;
+        try {
+            results = pushTransport.send(messages);
+            retryAfter = pushTransport.retryAfterMillis();
+        } catch (Exception e) {
+            logger.warn("푸시 전송 오류 : {}", e.getMessage());
+            results = Collections.nCopies(allowed.size(), PushResult.RETRY);
+        }
+
+        for (int i = 0; i < allowed.size(); i++) {
+            Delivery delivery = allowed.get(i);
+            switch (results.get(i)) {
+                case SUCCESS:
+                    sent.increment();
+                    break;
+                case RETRY:
+                    retryLater(delivery, retryAfter);
+                    break;
+                case INVALID_TOKEN:
+                    logger.info("푸시 토큰 만료 : {}", delivery.token());
+                    failed.increment();
+                    break;
+                default:
+                    failed.increment();
+            }
+        }
+    }
+
+    // full jitter : 0 ~ min(retryMax, retryBase * 2^attempts) 사이에서 고른다. 서버가 준 floor (ms) 보다는 길게
+    private void retryLater(Delivery delivery, long floor) {
+        delivery.attempts++;
+        if (delivery.attempts >= maxAttempts) {
+            failed.increment();
+            return;
+        }
+        long ceiling = Math.min(retryMax, retryBase << Math.min(delivery.attempts, 20));
+        long delay = Math.max(floor, ThreadLocalRandom.current().nextLong(ceiling + 1));
+        delivery.readyAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+        retries.add(delivery);
+        retried.increment();
+    }
+
+    private TokenBucket bucket(String token) {
+        return buckets.computeIfAbsent(token, key -> new TokenBucket(tokenBurst, tokenPerMinute));
+    }
+
+    private static class Delivery implements Delayed {
+
+        private final FcmMessage message;
+        private int attempts;
+        private long readyAt; // System.nanoTime 기준
+
+        Delivery(FcmMessage message) {
+            this.message = message;
+        }
+
+        String token() {
+            return message.getMessage().getToken();
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(readyAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(readyAt, ((Delivery) other).readyAt);
+        }
+    }
+
+    // 기기 토큰 하나의 발송 한도 (burst 개까지 모아두고 분당 perMinute 개씩 채운다)
+    private static class TokenBucket {
+
+        private final int capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(int capacity, int perMinute) {
+            this.capacity = capacity;
+            this.refillPerNano = perMinute / (double) TimeUnit.MINUTES.toNanos(1);
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        synchronized boolean tryAcquire(long now) {
+            refill(now);
+            if (tokens < 1) return false;
+            tokens -= 1;
+            return true;
+        }
+
+        synchronized boolean isIdle(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+        }
+    }
+}
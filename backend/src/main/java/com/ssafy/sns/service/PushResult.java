@@ -0,0 +1,11 @@
+package com.ssafy.sns.service;
+
+// 푸시 한 건의 전송 결과
+public enum PushResult {
+
+    SUCCESS,
+    RETRY,         // 429, 5xx, 네트워크 오류 : 잠시 후 다시
+    INVALID_TOKEN, // 없어진 기기 토큰 : 버린다
+    FAILED         // 그 외 요청 오류 : 버린다
+
+}
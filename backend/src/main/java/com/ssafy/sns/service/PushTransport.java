@@ -0,0 +1,21 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.dto.firebase.FcmMessage;
+
+import java.util.List;
+
+/**
+ * 푸시 전송 방법. push.transport 로 고른다.
+ * - fcm : FCM HTTP v1 (push.fcm.url 을 바꾸면 로컬 HTTP 스텁으로도 보낼 수 있다)
+ * - log : 보내지 않고 로그만 (기본값)
+ */
+public interface PushTransport {
+
+    // messages 와 같은 순서의 결과
+    List<PushResult> send(List<FcmMessage> messages);
+
+    // 바로 앞 send 에서 서버가 알려 준 재시도 대기 시간 (ms, 없으면 0). RETRY 건은 이보다 빨리 다시 보내지 않는다
+    default long retryAfterMillis() {
+        return 0;
+    }
+}
@@ -3,30 +3,45 @@ package com.ssafy.sns.service;
 import com.amazonaws.auth.AWSCredentials;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
-import com.amazonaws.services.s3.model.CannedAccessControlList;
-import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.model.PutObjectRequest;
-import com.amazonaws.services.s3.model.S3Object;
-import com.amazonaws.util.IOUtils;
+import com.amazonaws.services.s3.model.*;
 import com.ssafy.sns.domain.file.File;
+import com.ssafy.sns.util.ByteBufferPool;
 import lombok.NoArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.annotation.PostConstruct;
-import java.io.ByteArrayInputStream;
+import javax.annotation.PreDestroy;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.*;
 
+/**
+ * 파일 업로드는 힙에 통째로 올리지 않고 MultipartFile 스트림에서 바로 보낸다.
+ * - cloud.aws.s3.part-size 이하 : putObject 한 번 (길이는 MultipartFile.getSize)
+ * - 더 크면 multipart upload. 조각은 direct ByteBuffer 풀(cloud.aws.s3.buffer-count 개)에서 빌려 채우고,
+ *   업로드 하나가 동시에 보내는 조각은 cloud.aws.s3.upload-concurrency 개까지라 업로드당 메모리는 part-size * concurrency 이다.
+ * cloud.aws.s3.endpoint 를 주면 그 주소(MinIO, localstack 같은 S3 호환 서버)로 보낸다. (path-style)
+ */
 @Service
 @NoArgsConstructor
 public class S3Service {
 
+    public static final Logger logger = LoggerFactory.getLogger(S3Service.class);
+
     private AmazonS3 s3Client;
 
     // application.properties or yml 파일에서 정보를 가져옵니다.
@@ -42,6 +57,27 @@ public class S3Service {
     @Value("${cloud.aws.region.static}")
     private String region;
 
+    // 비어 있으면 AWS
+    @Value("${cloud.aws.s3.endpoint:}")
+    private String endpoint;
+
+    // S3 multipart 조각 최소 크기는 5MB (마지막 조각 제외)
+    @Value("${cloud.aws.s3.part-size:5242880}")
+    private int partSize;
+
+    @Value("${cloud.aws.s3.upload-concurrency:2}")
+    private int uploadConcurrency;
+
+    @Value("${cloud.aws.s3.buffer-count:8}")
+    private int bufferCount;
+
+    // 풀에 버퍼가 없을 때 기다리는 최대 시간 (ms). 넘으면 업로드 실패
+    @Value("${cloud.aws.s3.buffer-wait:30000}")
+    private long bufferWait;
+
+    private ByteBufferPool bufferPool;
+    private ExecutorService partUploader;
+
     // 클라우드 프론트 사용을 위한 도메인 이름 지정
     public static final String CLOUD_FRONT_DOMAIN_NAME = "dtbqjjy7vxgz8.cloudfront.net";
 
@@ -49,10 +85,25 @@ public class S3Service {
     public void setS3Client() {
         AWSCredentials credentials = new BasicAWSCredentials(this.accessKey, this.secretKey);
 
-        s3Client = AmazonS3ClientBuilder.standard()
-                .withCredentials(new AWSStaticCredentialsProvider(credentials))
-                .withRegion(this.region)
-                .build();
+        AmazonS3ClientBuilder builder = AmazonS3ClientBuilder.standard()
+                .withCredentials(new AWSStaticCredentialsProvider(credentials));
+        if (endpoint.isEmpty()) {
+            builder.withRegion(this.region);
+        } else {
+            builder.withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(endpoint, region))
+                    .withPathStyleAccessEnabled(true);
+        }
+        s3Client = builder.build();
+
+        // 빌린 버퍼는 곧 올릴 조각이므로 버퍼 수만큼 스레드를 둔다
+        partSize = Math.max(partSize, 5 * 1024 * 1024);
+        bufferPool = new ByteBufferPool(partSize, bufferCount);
+        partUploader = Executors.newFixedThreadPool(bufferCount);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        partUploader.shutdown();
     }
 
     // 프로필 올리기 위한 메소드
@@ -72,13 +123,7 @@ public class S3Service {
 //        }
 
         // 파일 업로드
-        byte[] bytes = IOUtils.toByteArray(file.getInputStream());
-        ObjectMetadata metadata = new ObjectMetadata();
-        metadata.setContentLength(bytes.length);
-        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(bytes);
-
-        s3Client.putObject(new PutObjectRequest(bucket, fileName, byteArrayInputStream, metadata)
-                .withCannedAcl(CannedAccessControlList.PublicRead));
+        upload(fileName, file);
 
         return fileName;
     }
@@ -91,13 +136,7 @@ public class S3Service {
         String fileName = date.format(new Date()) + "_" + file.getOriginalFilename();
 
         // 파일 업로드
-        byte[] bytes = IOUtils.toByteArray(file.getInputStream());
-        ObjectMetadata metadata = new ObjectMetadata();
-        metadata.setContentLength(bytes.length);
-        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(bytes);
-
-        s3Client.putObject(new PutObjectRequest(bucket, fileName, byteArrayInputStream, metadata)
-                .withCannedAcl(CannedAccessControlList.PublicRead));
+        upload(fileName, file);
 
         return fileName;
     }
@@ -115,4 +154,140 @@ public class S3Service {
         }
     }
 
-}
\ No newline at end of file
+    private void upload(String key, MultipartFile file) throws IOException {
+        long size = file.getSize();
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(file.getContentType());
+
+        if (size <= partSize) {
+            metadata.setContentLength(size);
+            try (InputStream in = file.getInputStream()) {
+                s3Client.putObject(new PutObjectRequest(bucket, key, in, metadata)
+                        .withCannedAcl(CannedAccessControlList.PublicRead));
+            }
+            return;
+        }
+
+        String uploadId = s3Client.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucket, key, metadata)
+                .withCannedACL(CannedAccessControlList.PublicRead)).getUploadId();
+        Semaphore inFlight = new Semaphore(uploadConcurrency);
+        List<Future<PartETag>> parts = new ArrayList<>();
+        try (ReadableByteChannel in = Channels.newChannel(file.getInputStream())) {
+            boolean eof = false;
+            for (int partNumber = 1; !eof; partNumber++) {
+                inFlight.acquire();
+                ByteBuffer buffer = null;
+                boolean submitted = false;
+                try {
+                    buffer = bufferPool.take(bufferWait, TimeUnit.MILLISECONDS);
+                    if (buffer == null) throw new IOException("업로드 버퍼 대기 시간 초과 : " + key);
+                    eof = fill(in, buffer);
+                    buffer.flip();
+                    if (!buffer.hasRemaining()) break;
+                    parts.add(partUploader.submit(uploadPart(key, uploadId, partNumber, buffer, inFlight)));
+                    submitted = true;
+                } finally {
+                    // 조각으로 넘기지 못했으면 (빈 마지막 조각, 클라이언트 중단 등) 여기서 반납
+                    if (!submitted) {
+                        if (buffer != null) bufferPool.release(buffer);
+                        inFlight.release();
+                    }
+                }
+            }
+
+            List<PartETag> etags = new ArrayList<>(parts.size());
+            for (Future<PartETag> part : parts) {
+                etags.add(part.get());
+            }
+            s3Client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, key, uploadId, etags));
+        } catch (Exception e) {
+            // 대기 중인 조각을 취소하면 버퍼가 풀로 돌아오지 않으므로 끝나기를 기다린다
+            for (Future<PartETag> part : parts) {
+                try {
+                    part.get();
+                } catch (Exception ignored) {
+                }
+            }
+            try {
+                s3Client.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, key, uploadId));
+            } catch (Exception ex) {
+                logger.warn("multipart 업로드 취소 실패 : {} {}", key, ex.getMessage());
+            }
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            throw new IOException("파일 업로드 실패 : " + key, e instanceof ExecutionException ? e.getCause() : e);
+        }
+    }
+
+    // 버퍼가 찰 때까지 읽는다. 스트림이 끝났으면 true
+    private boolean fill(ReadableByteChannel in, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer) < 0) return true;
+        }
+        return false;
+    }
+
+    // 조각 하나 올리고 버퍼와 자리 반납
+    private Callable<PartETag> uploadPart(String key, String uploadId, int partNumber, ByteBuffer buffer, Semaphore inFlight) {
+        return () -> {
+            try {
+                return s3Client.uploadPart(new UploadPartRequest()
+                        .withBucketName(bucket)
+                        .withKey(key)
+                        .withUploadId(uploadId)
+                        .withPartNumber(partNumber)
+                        .withPartSize(buffer.remaining())
+                        .withInputStream(new ByteBufferInputStream(buffer)))
+                        .getPartETag();
+            } finally {
+                bufferPool.release(buffer);
+                inFlight.release();
+            }
+        };
+    }
+
+    // 재시도 때 처음부터 다시 읽을 수 있게 mark / reset 을 지원한다
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+        private int mark;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.mark = buffer.position();
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) return 0;
+            if (!buffer.hasRemaining()) return -1;
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(int readLimit) {
+            mark = buffer.position();
+        }
+
+        @Override
+        public synchronized void reset() {
+            buffer.position(mark);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.jwt.JwtService;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 전체 검색(/search/all). 피드, 유저, 그룹 검색을 전용 스레드 풀에서 동시에 돌린다.
+ * - 갈래마다 읽기 전용 트랜잭션을 따로 열고, search.all.timeout.* 안에 끝나지 않으면 빈 결과로 넘긴다.
+ * - 응답 시간은 세 검색의 합이 아니라 가장 느린 갈래(또는 제한 시간)가 된다.
+ * - 풀과 대기열(search.all.threads, search.all.queue)이 차면 요청 스레드에서 바로 실행한다.
+ * search.all.parallel=false 이면 예전처럼 차례대로 실행한다. (시간 제한 없음)
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchAllService {
+
+    public static final Logger logger = LoggerFactory.getLogger(SearchAllService.class);
+
+    public static final String OK = "OK";
+    public static final String TIMEOUT = "TIMEOUT";
+    public static final String ERROR = "ERROR";
+
+    private final SearchServiceImpl searchService;
+    private final JwtService jwtService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${search.all.parallel:true}")
+    private boolean parallel;
+
+    @Value("${search.all.threads:8}")
+    private int threads;
+
+    @Value("${search.all.queue:64}")
+    private int queueSize;
+
+    @Value("${search.all.timeout.feed:1500}")
+    private long feedTimeout;
+
+    @Value("${search.all.timeout.user:800}")
+    private long userTimeout;
+
+    @Value("${search.all.timeout.group:800}")
+    private long groupTimeout;
+
+    private ExecutorService executor;
+
+    // 갈래 하나의 결과
+    @Getter
+    public static class Branch {
+
+        private final String name;
+        private final long timeoutMs;
+        private final Supplier<List<?>> search;
+        private List<?> result = Collections.emptyList();
+        private String status = OK;
+        private long elapsedMs;
+
+        Branch(String name, long timeoutMs, Supplier<List<?>> search) {
+            this.name = name;
+            this.timeoutMs = timeoutMs;
+            this.search = search;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger seq = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "search-all-" + seq.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // authorization : 요청의 Authorization 헤더 (요청 객체는 다른 스레드에서 읽지 않는다)
+    public List<Branch> searchAll(String authorization, String keyword) {
+        List<Branch> branches = Arrays.asList(
+                new Branch("feedList", feedTimeout,
+                        () -> searchService.searchFeeds(jwtService.findId(authorization), keyword, 0)),
+                new Branch("userList", userTimeout, () -> searchService.searchUsers(keyword)),
+                new Branch("groupList", groupTimeout, () -> searchService.searchGroup(keyword)));
+
+        if (!parallel) {
+            for (Branch branch : branches) {
+                long start = System.nanoTime();
+                try {
+                    branch.result = inReadOnly(branch);
+                } catch (Exception e) {
+                    fail(branch, e);
+                }
+                branch.elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            }
+            return branches;
+        }
+
+        long start = System.nanoTime();
+        Map<Branch, Future<List<?>>> futures = new LinkedHashMap<>();
+        Map<Branch, long[]> finished = new ConcurrentHashMap<>();
+        for (Branch branch : branches) {
+            futures.put(branch, executor.submit(() -> {
+                try {
+                    return inReadOnly(branch);
+                } finally {
+                    finished.put(branch, new long[]{System.nanoTime()});
+                }
+            }));
+        }
+
+        // 모두 같은 시각에 시작했으므로 갈래마다 시작 + 제한 시간까지만 기다린다
+        for (Map.Entry<Branch, Future<List<?>>> entry : futures.entrySet()) {
+            Branch branch = entry.getKey();
+            long remaining = start + TimeUnit.MILLISECONDS.toNanos(branch.timeoutMs) - System.nanoTime();
+            try {
+                branch.result = entry.getValue().get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                entry.getValue().cancel(true);
+                branch.status = TIMEOUT;
+                logger.warn("전체 검색 {} 시간 초과 : {} ms", branch.name, branch.timeoutMs);
+            } catch (ExecutionException e) {
+                fail(branch, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(branch, e);
+            }
+            long[] end = finished.get(branch);
+            branch.elapsedMs = TimeUnit.NANOSECONDS.toMillis((end == null ? System.nanoTime() : end[0]) - start);
+        }
+        return branches;
+    }
+
+    private List<?> inReadOnly(Branch branch) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        if (parallel) tx.setTimeout((int) Math.max(1, (branch.timeoutMs + 999) / 1000));
+        return tx.execute(status -> branch.search.get());
+    }
+
+    private void fail(Branch branch, Throwable e) {
+        branch.result = Collections.emptyList();
+        branch.status = ERROR;
+        logger.warn("전체 검색 {} 에러 : {}", branch.name, e.getMessage());
+    }
+}
@@ -0,0 +1,95 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.event.SearchTextEvent;
+import com.ssafy.sns.event.SearchTextEvent.Target;
+import com.ssafy.sns.repository.SearchRepository;
+import com.ssafy.sns.util.NgramIndex;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.transaction.Transactional;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 해쉬태그 이름, 닉네임, 그룹 이름 부분 문자열 검색 색인. (NgramIndex)
+ * 서버 시작 시 DB 에서 다시 만들고, 이후에는 SearchTextEvent 로 커밋된 변경만 반영한다.
+ * 다시 만드는 동안 이벤트로 바뀐 id 는 (DB 에서 읽은 값이 더 오래됐을 수 있으므로) 건너뛴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchIndex {
+
+    public static final Logger logger = LoggerFactory.getLogger(SearchIndex.class);
+
+    private final SearchRepository searchRepository;
+
+    @Value("${search.ngram.max-results:1000}")
+    private int maxResults;
+
+    private final Map<Target, NgramIndex> indexes = new EnumMap<>(Target.class);
+    private final Map<Target, Set<Long>> touched = new EnumMap<>(Target.class);
+    private volatile boolean rebuilding;
+
+    @PostConstruct
+    public void init() {
+        for (Target target : Target.values()) {
+            indexes.put(target, new NgramIndex());
+            touched.put(target, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        rebuilding = true;
+        try {
+            load(Target.HASHTAG, searchRepository.streamHashtagNames());
+            load(Target.USER, searchRepository.streamUserNicknames());
+            load(Target.GROUP, searchRepository.streamGroupNames());
+            logger.info("검색 색인 구성 : 해쉬태그 {}, 유저 {}, 그룹 {}", indexes.get(Target.HASHTAG).size(),
+                    indexes.get(Target.USER).size(), indexes.get(Target.GROUP).size());
+        } catch (Exception e) {
+            logger.warn("검색 색인 구성 실패 : {}", e.getMessage());
+        } finally {
+            rebuilding = false;
+            touched.values().forEach(Set::clear);
+        }
+    }
+
+    // keyword 를 포함하는 id (작은 것부터 search.ngram.max-results 개까지)
+    public List<Long> search(Target target, String keyword) {
+        return indexes.get(target).search(keyword, maxResults);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChanged(SearchTextEvent event) {
+        NgramIndex index = indexes.get(event.getTarget());
+        synchronized (index) {
+            if (rebuilding) touched.get(event.getTarget()).add(event.getId());
+            if (event.getText() == null) index.remove(event.getId());
+            else index.put(event.getId(), event.getText());
+        }
+    }
+
+    private void load(Target target, Stream<Object[]> rows) {
+        NgramIndex index = indexes.get(target);
+        Set<Long> changed = touched.get(target);
+        try (rows) {
+            rows.forEach(row -> {
+                synchronized (index) {
+                    if (!changed.contains((Long) row[0])) index.put((Long) row[0], (String) row[1]);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.event.FeedDeletedEvent;
+import com.ssafy.sns.event.HashtagUsageEvent;
+import com.ssafy.sns.event.SearchTextEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 자주 들어오는 검색어의 결과 캐시. 키는 (종류, 앞뒤 공백을 뺀 소문자 검색어 : NgramIndex 와 같은 정규화) 이고 DTO 가 아니라 id 만 담는다.
+ * (좋아요, 팔로우 같은 보는 사람별 정보는 매번 새로 채운다)
+ * - HASHTAG / USER / GROUP : 이름 검색 결과 id
+ * - FEED : 태그 페이지별 최신 피드 [태그 id, 피드 id, 태그 전체 피드 수] 행 (키에 페이지 번호도 넣는다)
+ * search.cache.size 를 넘으면 오래 안 쓴 것부터 빼고, search.cache.ttl 이 지나면 다시 읽는다.
+ * 이름이 바뀌면 (SearchTextEvent) 그 id 를 담았거나 새 이름이 검색어를 포함하는 항목만 지운다.
+ * 태그가 붙고 떨어지거나 (HashtagUsageEvent) 피드가 지워지면 (FeedDeletedEvent) 관련된 FEED 항목만 지운다.
+ * 지운 뒤에 끝난 (지우기 전에 읽기 시작한) 조회 결과는 넣지 않는다.
+ */
+@Component
+public class SearchResultCache {
+
+    private enum Kind {
+        HASHTAG, USER, GROUP, FEED
+    }
+
+    @Value("${search.cache.size:10000}")
+    private int cacheSize;
+
+    @Value("${search.cache.ttl:30000}")
+    private long ttl;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    // 종류별로 지울 때마다 올린다. 조회 시작 때와 다르면 결과를 넣지 않는다
+    private final long[] versions = new long[Kind.values().length];
+
+    private final Map<String, Entry> cache = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() <= cacheSize) return false;
+            evictions.increment();
+            return true;
+        }
+    };
+
+    @SuppressWarnings("unchecked")
+    public List<Long> ids(SearchTextEvent.Target target, String keyword, Supplier<List<Long>> loader) {
+        Kind kind = Kind.valueOf(target.name());
+        String normalized = normalize(keyword);
+        Object cached = get(kind, normalized);
+        if (cached != null) return (List<Long>) cached;
+
+        long version = version(kind);
+        List<Long> ids = Collections.unmodifiableList(new ArrayList<>(loader.get()));
+        put(kind, normalized, version, new Entry(normalized, ids, toArray(ids), new long[0]));
+        return ids;
+    }
+
+    // hashtagIds : 이 검색어로 찾은 태그 전부 (피드가 없는 태그도 새 피드가 붙으면 페이지 나눔이 바뀐다)
+    @SuppressWarnings("unchecked")
+    public List<Object[]> feedRows(String keyword, int page, List<Long> hashtagIds, Supplier<List<Object[]>> loader) {
+        String normalized = normalize(keyword);
+        String key = page + ":" + normalized;
+        Object cached = get(Kind.FEED, key);
+        if (cached != null) return (List<Object[]>) cached;
+
+        long version = version(Kind.FEED);
+        List<Object[]> rows = Collections.unmodifiableList(new ArrayList<>(loader.get()));
+        long[] feedIds = new long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            feedIds[i] = (Long) rows.get(i)[1];
+        }
+        put(Kind.FEED, key, version, new Entry(normalized, rows, toArray(hashtagIds), feedIds));
+        return rows;
+    }
+
+    // 이름 추가 / 변경 / 삭제. 태그 이름이 생기면 그 태그로 찾는 FEED 결과도 바뀐다
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSearchText(SearchTextEvent event) {
+        Kind kind = Kind.valueOf(event.getTarget().name());
+        String text = event.getText() == null ? null : normalize(event.getText());
+        synchronized (cache) {
+            invalidate(kind, event.getId(), text);
+            if (kind == Kind.HASHTAG) invalidate(Kind.FEED, event.getId(), text);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onHashtagUsage(HashtagUsageEvent event) {
+        synchronized (cache) {
+            invalidate(Kind.FEED, event.getHashtagId(), null);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFeedDeleted(FeedDeletedEvent event) {
+        long feedId = event.getFeedId();
+        synchronized (cache) {
+            versions[Kind.FEED.ordinal()]++;
+            removeIf(Kind.FEED, entry -> contains(entry.feedIds, feedId));
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        long hitCnt = hits.sum();
+        long lookups = hitCnt + misses.sum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        synchronized (cache) {
+            result.put("size", cache.size());
+        }
+        result.put("hits", hitCnt);
+        result.put("misses", misses.sum());
+        result.put("hitRatio", lookups == 0 ? 0.0 : (double) hitCnt / lookups);
+        result.put("evictions", evictions.sum());
+        result.put("expirations", expirations.sum());
+        result.put("invalidations", invalidations.sum());
+        return result;
+    }
+
+    private Object get(Kind kind, String normalized) {
+        String key = kind + ":" + normalized; // FEED 는 "페이지:검색어"
+        long now = System.nanoTime();
+        synchronized (cache) {
+            Entry entry = cache.get(key);
+            if (entry != null && now - entry.loadedAt < TimeUnit.MILLISECONDS.toNanos(ttl)) {
+                hits.increment();
+                return entry.value;
+            }
+            if (entry != null) {
+                cache.remove(key);
+                expirations.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    private long version(Kind kind) {
+        synchronized (cache) {
+            return versions[kind.ordinal()];
+        }
+    }
+
+    private void put(Kind kind, String normalized, long version, Entry entry) {
+        synchronized (cache) {
+            if (versions[kind.ordinal()] == version) cache.put(kind + ":" + normalized, entry);
+        }
+    }
+
+    // id 를 담았거나, 새 이름(text)이 검색어를 포함하는 항목 (n-gram 부분 일치 검색과 같은 기준)
+    private void invalidate(Kind kind, long id, String text) {
+        versions[kind.ordinal()]++;
+        removeIf(kind, entry -> contains(entry.ids, id) || (text != null && text.contains(entry.keyword)));
+    }
+
+    private void removeIf(Kind kind, Predicate<Entry> predicate) {
+        String prefix = kind + ":";
+        Iterator<Map.Entry<String, Entry>> it = cache.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Entry> e = it.next();
+            if (e.getKey().startsWith(prefix) && predicate.test(e.getValue())) {
+                it.remove();
+                invalidations.increment();
+            }
+        }
+    }
+
+    private String normalize(String keyword) {
+        return keyword.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long[] toArray(List<Long> ids) {
+        long[] result = new long[ids.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids.get(i);
+        }
+        return result;
+    }
+
+    private static boolean contains(long[] ids, long id) {
+        for (long value : ids) {
+            if (value == id) return true;
+        }
+        return false;
+    }
+
+    private static class Entry {
+
+        private final String keyword;
+        private final Object value;
+        private final long[] ids;     // 결과에 들어간 id (FEED 는 태그 id)
+        private final long[] feedIds;
+        private final long loadedAt = System.nanoTime();
+
+        Entry(String keyword, Object value, long[] ids, long[] feedIds) {
+            this.keyword = keyword;
+            this.value = value;
+            this.ids = ids;
+            this.feedIds = feedIds;
+        }
+    }
+}
@@ -2,18 +2,25 @@ package com.ssafy.sns.service;
 
 import com.ssafy.sns.domain.hashtag.Hashtag;
 import com.ssafy.sns.dto.group.GroupResDto;
+import com.ssafy.sns.dto.newsfeed.FeedSliceResponseDto;
 import com.ssafy.sns.dto.newsfeed.InsiderResDto;
 import com.ssafy.sns.dto.search.SearchHashtagDto;
+import com.ssafy.sns.dto.search.SearchResponseDto;
 import com.ssafy.sns.dto.search.SearchUserDto;
 import com.ssafy.sns.dto.user.SimpleUserDto;
 
+import java.io.IOException;
 import java.util.List;
 
 public interface SearchService {
 
     List<Hashtag> searchHashtags(String keyword);
 
-    List<InsiderResDto> searchFeeds(Long userId, Hashtag hash);
+    List<SearchResponseDto> searchFeeds(Long userId, String keyword, int page);
+
+    SearchResponseDto searchFeedsMore(Long userId, String tagName, String cursor);
+
+    FeedSliceResponseDto<InsiderResDto> searchContent(Long userId, String keyword, String cursor) throws IOException;
 
     List<SimpleUserDto> searchUsers(String keyword);
 
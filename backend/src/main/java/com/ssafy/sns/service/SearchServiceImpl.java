@@ -5,19 +5,24 @@ import com.ssafy.sns.domain.hashtag.Hashtag;
 import com.ssafy.sns.domain.newsfeed.*;
 import com.ssafy.sns.domain.user.User;
 import com.ssafy.sns.dto.group.GroupResDto;
+import com.ssafy.sns.dto.newsfeed.FeedSliceResponseDto;
 import com.ssafy.sns.dto.newsfeed.InsiderResDto;
 import com.ssafy.sns.dto.search.SearchHashtagDto;
+import com.ssafy.sns.dto.search.SearchResponseDto;
 import com.ssafy.sns.dto.search.SearchUserDto;
 import com.ssafy.sns.repository.*;
 import com.ssafy.sns.dto.user.SimpleUserDto;
+import com.ssafy.sns.event.SearchTextEvent.Target;
+import com.ssafy.sns.util.FeedCursor;
 import com.ssafy.sns.util.UnicodeHandler;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.NoSuchElementException;
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,66 +31,118 @@ import java.util.stream.Collectors;
 public class SearchServiceImpl implements SearchService{
 
     private final SearchRepository searchRepository;
-    private final FeedClapRepositoryImpl feedClapRepository;
     private final UserRepository userRepository;
-    private final CommentRepositoryImpl commentRepository;
     private final HashtagRepositoryImpl hashtagRepository;
-    private final UserRepositoryImpl userRepositoryImpl;
     private final UnicodeHandler unicodeHandler;
-    private final FollowServiceImpl followService;
+    private final FeedCardAssembler feedCardAssembler;
+    private final SearchIndex searchIndex;
+    private final FeedRepositoryImpl feedRepository;
+    private final HashtagAutocomplete hashtagAutocomplete;
+    private final UserAutocomplete userAutocomplete;
+    private final FeedContentIndex feedContentIndex;
+    private final SearchResultCache searchResultCache;
+
+    @Value("${search.feed.tags-per-page:5}")
+    private int tagsPerPage;
 
     @Override
     public List<Hashtag> searchHashtags(String keyword) {
-        return searchRepository.searchHashtags(keyword);
+        return searchRepository.findHashtags(cachedIds(Target.HASHTAG, keyword));
 
     }
 
+    /**
+     * 키워드에 맞는 태그 중 피드가 있는 것을 id 순으로 search.feed.tags-per-page 개씩 나눈 page 번째 묶음과, 태그별 최신 피드 FeedCursor.PAGE_SIZE 개.
+     * 태그들의 피드 id 를 쿼리 한 번으로 가져오고, 피드와 부가 정보도 한 번에 읽는다. 빈 목록이면 마지막 페이지를 지난 것이다.
+     */
     @Override
-    public List<InsiderResDto> searchFeeds(Long userId, Hashtag hash) {
-        User user = userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
-        List<Feed> feedList = searchRepository.searchFeeds(hash);
-        List<InsiderResDto> feedResponseDtoList = new ArrayList<>();
-        for (Feed feed : feedList) {
-            if(feed instanceof Indoor) {
-                feedResponseDtoList.add(new InsiderResDto(feed,
-                        (int) commentRepository.findListById(feed).count(),
-                        feedClapRepository.findClapAll(feed).size(),
-                        feedClapRepository.findClap(user, feed).isPresent(),
-                        1,
-                        followService.isFollow(userId, feed), null, null));
-            } else if(feed instanceof Insider) {
-                feedResponseDtoList.add(new InsiderResDto(feed,
-                        (int) commentRepository.findListById(feed).count(),
-                        feedClapRepository.findClapAll(feed).size(),
-                        feedClapRepository.findClap(user, feed).isPresent(),
-                        2,
-                        followService.isFollow(userId, feed),
-                        ((Insider) feed).getGroup().getId(),
-                        ((Insider) feed).getGroup().getName()
-                        ));
-            } else if (feed instanceof Outdoor) {
-                feedResponseDtoList.add(new InsiderResDto(feed,
-                        (int) commentRepository.findListById(feed).count(),
-                        feedClapRepository.findClapAll(feed).size(),
-                        feedClapRepository.findClap(user, feed).isPresent(),
-                        3,
-                        followService.isFollow(userId, feed), null, null));
-            }
-            else if(feed instanceof Worker) {
-                feedResponseDtoList.add(new InsiderResDto(feed,
-                        (int) commentRepository.findListById(feed).count(),
-                        feedClapRepository.findClapAll(feed).size(),
-                        feedClapRepository.findClap(user, feed).isPresent(),
-                        4,
-                        followService.isFollow(userId, feed), null, null));
+    public List<SearchResponseDto> searchFeeds(Long userId, String keyword, int page) {
+        if (page < 0) throw new IllegalArgumentException("잘못된 페이지 : " + page);
+        List<Long> candidates = cachedIds(Target.HASHTAG, keyword);
+
+        Map<Long, List<Long>> feedIdsByTag = new LinkedHashMap<>();
+        Map<Long, Long> totals = new HashMap<>();
+        Set<Long> feedIds = new LinkedHashSet<>();
+        List<Object[]> rows = searchResultCache.feedRows(keyword, page, candidates, () -> {
+            List<Long> tagIds = searchRepository.findHashtagIdsWithFeeds(candidates);
+            int from = (int) Math.min(tagIds.size(), (long) page * tagsPerPage);
+            int to = Math.min(tagIds.size(), from + tagsPerPage);
+            return searchRepository.findFeedIdsByHashtags(tagIds.subList(from, to), FeedCursor.PAGE_SIZE);
+        });
+        for (Object[] row : rows) {
+            feedIdsByTag.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+            totals.put((Long) row[0], (Long) row[2]);
+            feedIds.add((Long) row[1]);
+        }
+
+        List<Hashtag> hashtags = searchRepository.findHashtags(new ArrayList<>(feedIdsByTag.keySet()));
+        List<Feed> feeds = feedRepository.findAllByIds(new ArrayList<>(feedIds));
+        FeedCards cards = feedCardAssembler.assemble(userId, feeds);
+        Map<Long, Feed> feedMap = feeds.stream().collect(Collectors.toMap(Feed::getId, Function.identity()));
+
+        List<SearchResponseDto> result = new ArrayList<>();
+        for (Hashtag hashtag : hashtags) {
+            List<Feed> tagFeeds = new ArrayList<>();
+            for (Long feedId : feedIdsByTag.get(hashtag.getId())) {
+                Feed feed = feedMap.get(feedId);
+                if (feed != null) tagFeeds.add(feed);
             }
+            if (tagFeeds.isEmpty()) continue;
+            long total = totals.get(hashtag.getId());
+            result.add(toSearchResponse(hashtag.getTagName(), tagFeeds, cards, total, total > tagFeeds.size()));
         }
-        return feedResponseDtoList;
+        return result;
+    }
+
+    // 태그 하나의 다음 피드 (cursor : 이전 응답의 nextCursor)
+    @Override
+    public SearchResponseDto searchFeedsMore(Long userId, String tagName, String cursor) {
+        Hashtag hashtag = hashtagRepository.findByTag(tagName).orElseThrow(NoSuchElementException::new);
+        FeedCursor after = FeedCursor.decode(cursor);
+        List<Long> feedIds = searchRepository.findFeedIdsByHashtagAfter(hashtag.getId(),
+                after.getCreatedDate(), after.getId(), FeedCursor.PAGE_SIZE + 1);
+        boolean hasNext = feedIds.size() > FeedCursor.PAGE_SIZE;
+        if (hasNext) feedIds = feedIds.subList(0, FeedCursor.PAGE_SIZE);
+
+        List<Feed> feeds = feedRepository.findAllByIds(feedIds);
+        FeedCards cards = feedCardAssembler.assemble(userId, feeds);
+        return toSearchResponse(tagName, feeds, cards, searchRepository.countFeedsByHashtag(hashtag.getId()), hasNext);
+    }
+
+    // 본문에 keyword 가 들어간 피드 (최신순, cursor : 이전 응답의 nextCursor)
+    @Override
+    public FeedSliceResponseDto<InsiderResDto> searchContent(Long userId, String keyword, String cursor) throws IOException {
+        List<Long> feedIds = feedContentIndex.search(keyword, FeedCursor.decode(cursor), FeedCursor.PAGE_SIZE + 1);
+        boolean hasNext = feedIds.size() > FeedCursor.PAGE_SIZE;
+        if (hasNext) feedIds = feedIds.subList(0, FeedCursor.PAGE_SIZE);
+
+        List<Feed> feeds = feedRepository.findAllByIds(feedIds);
+        FeedCards cards = feedCardAssembler.assemble(userId, feeds);
+        List<InsiderResDto> feedList = new ArrayList<>();
+        for (Feed feed : feeds) {
+            feedList.add(cards.toResDto(feed));
+        }
+        String nextCursor = feeds.isEmpty() ? null : FeedCursor.next(feeds.get(feeds.size() - 1));
+        return new FeedSliceResponseDto<>(feedList, nextCursor, hasNext);
+    }
+
+    // 검색어별 결과 id 는 캐시, 엔티티는 매번 id 로 읽는다
+    private List<Long> cachedIds(Target target, String keyword) {
+        return searchResultCache.ids(target, keyword, () -> searchIndex.search(target, keyword));
+    }
+
+    private SearchResponseDto toSearchResponse(String tagName, List<Feed> feeds, FeedCards cards, long total, boolean hasNext) {
+        List<InsiderResDto> feedResponseDtoList = new ArrayList<>();
+        for (Feed feed : feeds) {
+            feedResponseDtoList.add(cards.toResDto(feed));
+        }
+        String nextCursor = feeds.isEmpty() ? null : FeedCursor.next(feeds.get(feeds.size() - 1));
+        return new SearchResponseDto(tagName, feedResponseDtoList, total, nextCursor, hasNext);
     }
 
     @Override
     public List<SimpleUserDto> searchUsers(String keyword) {
-        List<User> userList = searchRepository.searchUsers(keyword);
+        List<User> userList = searchRepository.findUsers(cachedIds(Target.USER, keyword));
         List<SimpleUserDto> userDtoList = new ArrayList<>();
         for (User u : userList) {
             userDtoList.add(new SimpleUserDto(u));
@@ -95,27 +152,17 @@ public class SearchServiceImpl implements SearchService{
 
     @Override
     public List<SearchHashtagDto> hashtagAutocomplete(String text) {
-        List search = hashtagRepository.search(unicodeHandler.splitHangeulToConsonant(text));
-        List<SearchHashtagDto> list = new ArrayList<>();
-        for (Object o : search) {
-            Object[] result = (Object[]) o;
-            list.add(new SearchHashtagDto(((Hashtag)result[0]).getTagName(), ((Long)result[1]).intValue()));
-        }
-        return list;
+        return hashtagAutocomplete.complete(text);
     }
 
     @Override
     public List<SearchUserDto> userAutocomplete(Long userId, String text) {
-        User user = userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
-        return userRepositoryImpl.search(user, unicodeHandler.splitHangeulToConsonant(text))
-                .stream()
-                .map(u -> new SearchUserDto(u.getNickname()))
-                .collect(Collectors.toList());
+        return userAutocomplete.complete(userId, text);
     }
 
     @Override
     public List<GroupResDto> searchGroup(String keyword) {
-        List<Group> groupList = searchRepository.searchGroups(keyword);
+        List<Group> groupList = searchRepository.findGroups(cachedIds(Target.GROUP, keyword));
         List<GroupResDto> groupResDtoList = new ArrayList<>();
         for (Group g : groupList) {
             groupResDtoList.add(new GroupResDto(g));
@@ -0,0 +1,263 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.event.FeedCountEvent;
+import com.ssafy.sns.event.NoticeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 서버 안에서 도는 SSE 발행 / 구독 허브 (외부 브로커 없음).
+ * 연결마다 크기가 정해진 큐를 두고 발송 스레드가 비운다. 큐가 꽉 찬 (느린) 연결이나 한 번 보내는 데
+ * sse.send-timeout 보다 오래 걸리는 (멈춘) 연결은 끊어서 다른 연결이나 커밋 스레드가 기다리지 않게 한다.
+ * 끊긴 클라이언트는 다시 연결해서 /notice/inbox 로 따라잡는다.
+ * - 유저별 : 새 알림 (notice)
+ * - 피드별 : 보고 있는 피드의 박수 / 댓글 수 (count)
+ */
+@Component
+public class SseHub {
+
+    public static final Logger logger = LoggerFactory.getLogger(SseHub.class);
+
+    @Value("${sse.timeout:1800000}")
+    private long timeout;
+
+    @Value("${sse.queue-size:64}")
+    private int queueSize;
+
+    @Value("${sse.max-watch-feeds:50}")
+    private int maxWatchFeeds;
+
+    @Value("${sse.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${sse.send-timeout:5000}")
+    private long sendTimeout;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Connection> connections = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Connection>> byUser = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Connection>> byFeed = new ConcurrentHashMap<>();
+    private ExecutorService sender;
+
+    @PostConstruct
+    public void init() {
+        sender = Executors.newFixedThreadPool(senderThreads);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        connections.values().forEach(connection -> close(connection, true));
+    }
+
+    // 연결 직후 connected 이벤트로 연결 id 를 보낸다 (보고 있는 피드 등록에 사용)
+    public SseEmitter connect(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeout);
+        Connection connection = new Connection(sequence.incrementAndGet(), userId, emitter, queueSize);
+
+        emitter.onCompletion(() -> close(connection, false));
+        emitter.onTimeout(() -> close(connection, true));
+        emitter.onError(e -> close(connection, false));
+
+        connections.put(connection.id, connection);
+        subscribe(byUser, userId, connection);
+        offer(connection, SseEmitter.event().name("connected").data(connection.id));
+        return emitter;
+    }
+
+    // 연결이 보고 있는 피드를 feedIds 로 바꾼다
+    public boolean watch(Long userId, Long connectionId, Collection<Long> feedIds) {
+        Connection connection = connections.get(connectionId);
+        if (connection == null || !connection.userId.equals(userId)) return false;
+
+        Set<Long> next = new HashSet<>();
+        for (Long feedId : feedIds) {
+            if (next.size() >= maxWatchFeeds) break;
+            next.add(feedId);
+        }
+        synchronized (connection) {
+            if (connection.closed.get()) return false;
+            for (Long feedId : connection.feedIds) {
+                if (!next.contains(feedId)) unsubscribe(byFeed, feedId, connection);
+            }
+            for (Long feedId : next) {
+                subscribe(byFeed, feedId, connection);
+            }
+            connection.feedIds = next;
+        }
+        return true;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNotice(NoticeEvent event) {
+        publish(byUser.get(event.getRecipientId()), () -> {
+            SseEmitter.SseEventBuilder builder = SseEmitter.event().name("notice").data(event.getNotice());
+            return event.getNoticeId() == null ? builder : builder.id(String.valueOf(event.getNoticeId()));
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFeedCount(FeedCountEvent event) {
+        publish(byFeed.get(event.getFeedId()), () -> SseEmitter.event()
+                .name("count")
+                .data(event));
+    }
+
+    // 프록시 / 로드밸런서가 유휴 연결을 끊지 않도록
+    @Scheduled(fixedDelayString = "${sse.heartbeat-interval:25000}")
+    public void heartbeat() {
+        for (Connection connection : connections.values()) {
+            offer(connection, SseEmitter.event().comment("ping"));
+        }
+    }
+
+    // 보내다 멈춘 연결을 끊고 발송 스레드를 깨워서 다른 연결 발송으로 돌려보낸다.
+    // emitter 의 send / complete 는 같은 락을 잡으므로 여기서는 complete 하지 않고, 발송 스레드가 빠져나오며 한다
+    @Scheduled(fixedDelayString = "${sse.stall-check-interval:1000}")
+    public void evictStalled() {
+        long now = System.currentTimeMillis();
+        for (Connection connection : connections.values()) {
+            long since = connection.sendingSince;
+            if (since == 0 || now - since < sendTimeout) continue;
+            logger.info("SSE 멈춘 연결 끊기 : user {}, connection {}", connection.userId, connection.id);
+            Thread thread = connection.sendingThread;
+            close(connection, false);
+            if (thread != null && connection.sendingSince == since) thread.interrupt();
+        }
+    }
+
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    private void publish(Set<Connection> targets, Callable<SseEmitter.SseEventBuilder> event) {
+        if (targets == null || targets.isEmpty()) return;
+        for (Connection connection : targets) {
+            try {
+                offer(connection, event.call());
+            } catch (Exception e) {
+                logger.warn("SSE 이벤트 생성 실패 : {}", e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void offer(Connection connection, SseEmitter.SseEventBuilder event) {
+        if (connection.closed.get()) return;
+        if (!connection.queue.offer(event)) {
+            logger.info("SSE 느린 연결 끊기 : user {}, connection {}", connection.userId, connection.id);
+            close(connection, true);
+            return;
+        }
+        if (connection.draining.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(connection));
+            } catch (RejectedExecutionException e) {
+                connection.draining.set(false);
+            }
+        }
+    }
+
+    // 한 연결의 큐는 한 번에 한 스레드만 비운다
+    private void drain(Connection connection) {
+        while (true) {
+            SseEmitter.SseEventBuilder event;
+            while ((event = connection.queue.poll()) != null) {
+                connection.sendingThread = Thread.currentThread();
+                connection.sendingSince = System.currentTimeMillis();
+                try {
+                    connection.emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    close(connection, false);
+                    return;
+                } finally {
+                    connection.sendingSince = 0;
+                    connection.sendingThread = null;
+                    // 멈춘 연결을 끊으며 건 interrupt 가 다음 연결 발송에 남지 않게 지운다
+                    Thread.interrupted();
+                }
+                // 보내는 사이에 끊긴 연결은 여기서 마무리한다 (close 는 보내는 중이면 complete 하지 않는다)
+                if (connection.closed.get()) {
+                    complete(connection);
+                    return;
+                }
+            }
+            connection.draining.set(false);
+            // 내려놓는 사이에 들어온 이벤트가 있으면 다시 잡는다
+            if (connection.queue.isEmpty() || !connection.draining.compareAndSet(false, true)) return;
+        }
+    }
+
+    private void close(Connection connection, boolean complete) {
+        if (!connection.closed.compareAndSet(false, true)) return;
+        connection.queue.clear();
+        connections.remove(connection.id);
+        unsubscribe(byUser, connection.userId, connection);
+        synchronized (connection) {
+            for (Long feedId : connection.feedIds) {
+                unsubscribe(byFeed, feedId, connection);
+            }
+            connection.feedIds = Collections.emptySet();
+        }
+        if (complete && connection.sendingSince == 0) complete(connection);
+    }
+
+    private void complete(Connection connection) {
+        try {
+            connection.emitter.complete();
+        } catch (Exception ignored) {
+            // 이미 끝난 연결
+        }
+    }
+
+    // 빈 구독 목록은 지우므로 compute 안에서 더해야 지워지는 목록에 들어가지 않는다
+    private void subscribe(Map<Long, Set<Connection>> index, Long key, Connection connection) {
+        index.compute(key, (k, set) -> {
+            if (set == null) set = ConcurrentHashMap.newKeySet();
+            set.add(connection);
+            return set;
+        });
+    }
+
+    private void unsubscribe(Map<Long, Set<Connection>> index, Long key, Connection connection) {
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(connection);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static class Connection {
+
+        private final long id;
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Set<Long> feedIds = Collections.emptySet();
+        // 보내는 중이면 시작 시각 (아니면 0) 과 보내는 스레드
+        private volatile long sendingSince;
+        private volatile Thread sendingThread;
+
+        Connection(long id, Long userId, SseEmitter emitter, int queueSize) {
+            this.id = id;
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+    }
+}
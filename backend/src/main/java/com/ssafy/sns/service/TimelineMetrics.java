@@ -0,0 +1,48 @@
+package com.ssafy.sns.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// 타임라인 팬아웃 / 읽기 병합 통계 (서버 시작 이후 누적)
+@Component
+public class TimelineMetrics {
+
+    private final LongAdder feedWrites = new LongAdder();
+    private final LongAdder inboxWrites = new LongAdder();
+    private final LongAdder celebrityWrites = new LongAdder();
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder mergedStreams = new LongAdder();
+    private final LongAccumulator maxMergeWidth = new LongAccumulator(Math::max, 0);
+
+    // 글 하나가 몇 개의 타임라인에 들어갔는지
+    public void recordFanout(int inboxCount, boolean celebrity) {
+        feedWrites.increment();
+        inboxWrites.add(inboxCount);
+        if (celebrity) celebrityWrites.increment();
+    }
+
+    // 읽기 한 번에 병합한 스트림 수 (타임라인 1 + 팔로우한 셀럽 수)
+    public void recordRead(int mergeWidth) {
+        reads.increment();
+        mergedStreams.add(mergeWidth);
+        maxMergeWidth.accumulate(mergeWidth);
+    }
+
+    public Map<String, Object> snapshot() {
+        long writes = feedWrites.sum();
+        long readCnt = reads.sum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("feedWrites", writes);
+        result.put("inboxWrites", inboxWrites.sum());
+        result.put("celebrityWrites", celebrityWrites.sum());
+        result.put("writeAmplification", writes == 0 ? 0.0 : (double) inboxWrites.sum() / writes);
+        result.put("reads", readCnt);
+        result.put("avgMergeWidth", readCnt == 0 ? 0.0 : (double) mergedStreams.sum() / readCnt);
+        result.put("maxMergeWidth", maxMergeWidth.get());
+        return result;
+    }
+}
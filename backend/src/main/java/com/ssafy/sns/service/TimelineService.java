@@ -0,0 +1,189 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.domain.newsfeed.Feed;
+import com.ssafy.sns.domain.timeline.TimelineItem;
+import com.ssafy.sns.dto.newsfeed.FeedSliceResponseDto;
+import com.ssafy.sns.dto.newsfeed.InsiderResDto;
+import com.ssafy.sns.event.CelebrityDemotedEvent;
+import com.ssafy.sns.event.FeedDeletedEvent;
+import com.ssafy.sns.event.FeedWrittenEvent;
+import com.ssafy.sns.event.FollowEvent;
+import com.ssafy.sns.repository.FeedRepositoryImpl;
+import com.ssafy.sns.repository.FollowRepository;
+import com.ssafy.sns.repository.TimelineStore;
+import com.ssafy.sns.util.FeedCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.transaction.Transactional;
+import java.util.*;
+
+/**
+ * 팔로우한 사람들의 글을 모아 보는 홈 타임라인.
+ * 글이 작성되면(커밋 이후) 팔로워들의 타임라인에 피드 id 를 넣어두고 (fan-out on write),
+ * 읽을 때는 타임라인 한 구간 + 카드 정보 일괄 조회만 한다.
+ * 팔로워가 아주 많은 유저(CelebrityRegistry)의 글은 넣지 않고, 읽을 때 작성자별 최근 글을 가져와 병합한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class TimelineService {
+
+    private final TimelineStore timelineStore;
+    private final FollowRepository followRepository;
+    private final FeedRepositoryImpl feedRepository;
+    private final FeedCardAssembler feedCardAssembler;
+    private final CelebrityRegistry celebrityRegistry;
+    private final TimelineMetrics timelineMetrics;
+
+    @Value("${timeline.inbox-size:500}")
+    private int inboxSize;
+
+    @Value("${timeline.backfill-size:50}")
+    private int backfillSize;
+
+    // cursor : 이전 응답의 nextCursor (마지막 피드 id)
+    @Transactional
+    public FeedSliceResponseDto read(Long userId, Long cursor) {
+        if (!timelineStore.isLoaded(userId)) {
+            rebuild(userId);
+        }
+
+        long before = cursor == null ? Long.MAX_VALUE : cursor;
+        int limit = FeedCursor.PAGE_SIZE + 1;
+
+        // 타임라인 + 팔로우한 셀럽별 최근 글 (모두 피드 id 내림차순)
+        List<List<Long>> streams = new ArrayList<>();
+        streams.add(timelineStore.read(userId, before, limit));
+        for (Long celebrityId : celebrityRegistry.filter(followRepository.findToUserIdsByFromUserId(userId))) {
+            if (celebrityId.equals(userId)) continue;
+            streams.add(feedRepository.findRecentIdsByUser(celebrityId, before, limit));
+        }
+        timelineMetrics.recordRead(streams.size());
+
+        List<Long> feedIds = merge(streams, limit);
+        boolean hasNext = feedIds.size() > FeedCursor.PAGE_SIZE;
+        if (hasNext) feedIds = feedIds.subList(0, FeedCursor.PAGE_SIZE);
+
+        // 삭제된 피드는 조회되지 않으므로 자연히 빠진다
+        FeedCards cards = feedCardAssembler.assembleByIds(userId, feedIds);
+        List<InsiderResDto> feedList = new ArrayList<>();
+        for (Feed feed : cards.getFeeds()) {
+            feedList.add(cards.toResDto(feed));
+        }
+        String nextCursor = feedIds.isEmpty() ? null : String.valueOf(feedIds.get(feedIds.size() - 1));
+        return new FeedSliceResponseDto<>(feedList, nextCursor, hasNext);
+    }
+
+    /**
+     * 내림차순 스트림 k 개를 우선순위 큐로 병합해서 limit 개.
+     * 피드 id 는 작성 순서대로 증가하므로 id 순서가 작성시간 순서와 같다.
+     * 셀럽 분류가 바뀌는 사이에는 같은 글이 두 스트림에 있을 수 있어 중복은 건너뛴다.
+     */
+    static List<Long> merge(List<List<Long>> streams, int limit) {
+        PriorityQueue<StreamHead> heads = new PriorityQueue<>();
+        for (List<Long> stream : streams) {
+            Iterator<Long> it = stream.iterator();
+            if (it.hasNext()) heads.add(new StreamHead(it.next(), it));
+        }
+
+        List<Long> result = new ArrayList<>(limit);
+        while (!heads.isEmpty() && result.size() < limit) {
+            StreamHead head = heads.poll();
+            if (result.isEmpty() || result.get(result.size() - 1) != head.feedId) {
+                result.add(head.feedId);
+            }
+            if (head.rest.hasNext()) {
+                heads.add(new StreamHead(head.rest.next(), head.rest));
+            }
+        }
+        return result;
+    }
+
+    private static class StreamHead implements Comparable<StreamHead> {
+
+        private final long feedId;
+        private final Iterator<Long> rest;
+
+        StreamHead(long feedId, Iterator<Long> rest) {
+            this.feedId = feedId;
+            this.rest = rest;
+        }
+
+        // 큰 id 먼저
+        @Override
+        public int compareTo(StreamHead o) {
+            return Long.compare(o.feedId, feedId);
+        }
+    }
+
+    // 팔로우 목록(+ 내 글)으로 타임라인 다시 채우기. 셀럽 글은 읽을 때 가져오므로 제외
+    // DB 를 읽기 전에 먼저 표시해 둔다. 그 사이 팬아웃된 글은 타임라인에 바로 들어가고, 읽은 목록은 그 위에 합쳐진다 (같은 글은 한 번만)
+    private void rebuild(Long userId) {
+        timelineStore.markLoaded(userId);
+        List<Long> followeeIds = followRepository.findToUserIdsByFromUserId(userId);
+        List<Long> celebrityIds = celebrityRegistry.filter(followeeIds);
+        List<Long> authorIds = new ArrayList<>();
+        for (Long followeeId : followeeIds) {
+            if (!celebrityIds.contains(followeeId)) authorIds.add(followeeId);
+        }
+        authorIds.add(userId);
+        timelineStore.pushItems(userId, feedRepository.findRecentItems(authorIds, inboxSize));
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFeedWritten(FeedWrittenEvent event) {
+        Long authorId = event.getAuthorId();
+        List<Long> ownerIds = new ArrayList<>();
+        boolean celebrity = celebrityRegistry.isCelebrity(authorId);
+        // 셀럽 글은 본인 타임라인에만 넣고, 팔로워는 읽을 때 가져간다
+        if (!celebrity) {
+            ownerIds.addAll(followRepository.findFromUserIdsByToUserId(authorId));
+        }
+        ownerIds.add(authorId);
+        timelineStore.pushAll(ownerIds, event.getFeedId(), authorId);
+        timelineMetrics.recordFanout(ownerIds.size(), celebrity);
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFeedDeleted(FeedDeletedEvent event) {
+        timelineStore.removeFeed(event.getFeedId());
+    }
+
+    // 팔로우 : 상대의 최근 글 백필, 언팔로우 : 상대 글 제거
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFollow(FollowEvent event) {
+        Long ownerId = event.getFromUserId();
+        if (!event.isFollow()) {
+            timelineStore.removeAuthor(ownerId, event.getToUserId());
+            return;
+        }
+        // 아직 없는 타임라인은 처음 읽을 때 새 팔로우까지 포함해서 채워지고, 셀럽 글은 읽을 때 가져온다
+        if (!timelineStore.isLoaded(ownerId) || celebrityRegistry.isCelebrity(event.getToUserId())) return;
+
+        List<TimelineItem> items = feedRepository.findRecentItems(
+                Collections.singletonList(event.getToUserId()), backfillSize);
+        timelineStore.pushItems(ownerId, items);
+    }
+
+    // 셀럽에서 빠진 유저 : 그동안은 읽을 때만 가져오던 글이라 팔로워 타임라인에 없다. 만들어진 타임라인에 최근 글을 채운다
+    @Async
+    @EventListener
+    public void onCelebrityDemoted(CelebrityDemotedEvent event) {
+        Long authorId = event.getUserId();
+        List<TimelineItem> items = feedRepository.findRecentItems(Collections.singletonList(authorId), inboxSize);
+        if (items.isEmpty()) return;
+
+        for (Long followerId : followRepository.findFromUserIdsByToUserId(authorId)) {
+            // 아직 없는 타임라인은 처음 읽을 때 이 유저 글까지 포함해서 채워진다
+            if (timelineStore.isLoaded(followerId)) timelineStore.pushItems(followerId, items);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.domain.newsfeed.FeedCategory;
+import com.ssafy.sns.event.FeedClapEvent;
+import com.ssafy.sns.event.FeedDeletedEvent;
+import com.ssafy.sns.repository.FeedClapRepositoryImpl;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * 카테고리별 인기 피드 (최근 trending.window-hours 시간 동안 받은 박수 수).
+ * 피드마다 시간 단위 칸(long 배열 링 버퍼)에 박수를 센다. 박수 취소는 그 박수를 친 시간 칸에서 뺀다.
+ * trending.half-life-hours 를 주면 오래된 박수일수록 가중치를 줄인다. (0 이면 단순 합)
+ * 순위는 조회마다 매기지 않고 trending.refresh-interval 마다 카테고리별 상위 trending.top-size 개를 다시 계산해 둔다.
+ * 서버 시작 시 DB 에서 새로 채워 바꿔 끼운다. 채우는 동안 이벤트가 온 피드는 DB 에서 읽은 값과 겹칠 수 있으므로 바꿔 끼운 뒤 다시 읽는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TrendingCounter {
+
+    public static final Logger logger = LoggerFactory.getLogger(TrendingCounter.class);
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    private final FeedClapRepositoryImpl feedClapRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${trending.window-hours:72}")
+    private int windowHours;
+
+    @Value("${trending.half-life-hours:0}")
+    private double halfLifeHours;
+
+    @Value("${trending.top-size:100}")
+    private int topSize;
+
+    private volatile Map<FeedCategory, ConcurrentHashMap<Long, Window>> windows;
+    private volatile Map<FeedCategory, long[]> tops = new EnumMap<>(FeedCategory.class); // 점수 높은 순 피드 id
+    private double[] weights; // 경과 시간별 가중치
+
+    // 이벤트는 읽기 락, 바꿔 끼우기는 쓰기 락 (Window 자체는 따로 동기화)
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Long> touched = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    @PostConstruct
+    public void init() {
+        windows = emptyWindows();
+        weights = new double[windowHours];
+        for (int age = 0; age < windowHours; age++) {
+            weights[age] = halfLifeHours > 0 ? Math.pow(0.5, age / halfLifeHours) : 1.0;
+        }
+    }
+
+    // 서버 시작 시 최근 박수로 채우기
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuilding = true;
+        LocalDateTime since = LocalDateTime.now().minusHours(windowHours);
+        Map<FeedCategory, ConcurrentHashMap<Long, Window>> fresh = emptyWindows();
+        // 스트림은 트랜잭션 안에서 읽고, 다시 읽기는 그 스냅샷 밖에서 한다
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = feedClapRepository.streamClapsAfter(since)) {
+                    rows.forEach(row -> addRow(fresh, row));
+                }
+            });
+        } catch (Exception e) {
+            logger.warn("인기 피드 집계 구성 실패 : {}", e.getMessage());
+            rebuilding = false;
+            touched.clear();
+            return;
+        }
+
+        List<Long> changed;
+        lock.writeLock().lock();
+        try {
+            windows = fresh;
+            rebuilding = false;
+            changed = new ArrayList<>(touched);
+            touched.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // 구성 중에 박수가 바뀐 피드는 커밋된 박수로 다시 센다
+        if (!changed.isEmpty()) {
+            Map<FeedCategory, ConcurrentHashMap<Long, Window>> reread = emptyWindows();
+            for (Object[] row : feedClapRepository.findClapsAfter(changed, since)) {
+                addRow(reread, row);
+            }
+            lock.writeLock().lock();
+            try {
+                for (ConcurrentHashMap<Long, Window> category : windows.values()) {
+                    category.keySet().removeAll(changed);
+                }
+                reread.forEach((category, read) -> windows.get(category).putAll(read));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        refreshTops();
+        logger.info("인기 피드 집계 구성 (다시 읽음 {})", changed.size());
+    }
+
+    // 카테고리 인기 피드 id n 개 (점수 높은 순, 최대 trending.top-size 개)
+    public List<Long> top(FeedCategory category, int n) {
+        long[] ids = tops.get(category);
+        if (ids == null) return new ArrayList<>();
+        List<Long> result = new ArrayList<>(Math.min(n, ids.length));
+        for (int i = 0; i < ids.length && i < n; i++) {
+            result.add(ids[i]);
+        }
+        return result;
+    }
+
+    // 카테고리마다 전체 피드를 한 번 훑어 상위 topSize 개를 다시 계산
+    @Scheduled(initialDelayString = "${trending.refresh-interval:60000}", fixedDelayString = "${trending.refresh-interval:60000}")
+    public void refreshTops() {
+        long nowHour = System.currentTimeMillis() / HOUR_MILLIS;
+        Map<FeedCategory, long[]> fresh = new EnumMap<>(FeedCategory.class);
+        for (Map.Entry<FeedCategory, ConcurrentHashMap<Long, Window>> category : windows.entrySet()) {
+            PriorityQueue<Scored> heap = new PriorityQueue<>(topSize + 1);
+            for (Map.Entry<Long, Window> entry : category.getValue().entrySet()) {
+                double score = entry.getValue().score(nowHour, weights);
+                if (score <= 0) continue;
+                heap.add(new Scored(entry.getKey(), score));
+                if (heap.size() > topSize) heap.poll();
+            }
+
+            long[] ids = new long[heap.size()];
+            for (int i = ids.length - 1; i >= 0; i--) {
+                ids[i] = heap.poll().id;
+            }
+            fresh.put(category.getKey(), ids);
+        }
+        tops = fresh;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFeedClap(FeedClapEvent event) {
+        long nowHour = System.currentTimeMillis() / HOUR_MILLIS;
+        long hour = event.getClapDate() == null ? nowHour : toHour(event.getClapDate());
+        lock.readLock().lock();
+        try {
+            if (rebuilding) touched.add(event.getFeedId());
+            ConcurrentHashMap<Long, Window> category = windows.get(event.getCategory());
+            if (event.isClap()) {
+                category.computeIfAbsent(event.getFeedId(), id -> new Window(windowHours)).add(hour, 1);
+            } else {
+                Window window = category.get(event.getFeedId());
+                if (window != null) window.remove(hour, nowHour);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFeedDeleted(FeedDeletedEvent event) {
+        lock.readLock().lock();
+        try {
+            if (rebuilding) touched.add(event.getFeedId());
+            windows.get(event.getCategory()).remove(event.getFeedId());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 기간 안에 박수가 하나도 없는 피드 정리
+    @Scheduled(fixedDelayString = "${trending.evict-interval:600000}")
+    public void evictIdle() {
+        long nowHour = System.currentTimeMillis() / HOUR_MILLIS;
+        for (ConcurrentHashMap<Long, Window> category : windows.values()) {
+            category.values().removeIf(window -> window.isIdle(nowHour));
+        }
+    }
+
+    // [feed_id, 피드 타입(Class), 박수 시간] 한 줄 더하기
+    private void addRow(Map<FeedCategory, ConcurrentHashMap<Long, Window>> target, Object[] row) {
+        FeedCategory category = FeedCategory.of((Class<?>) row[1]);
+        long hour = toHour((LocalDateTime) row[2]);
+        target.get(category).computeIfAbsent((Long) row[0], id -> new Window(windowHours)).add(hour, 1);
+    }
+
+    private static Map<FeedCategory, ConcurrentHashMap<Long, Window>> emptyWindows() {
+        Map<FeedCategory, ConcurrentHashMap<Long, Window>> result = new EnumMap<>(FeedCategory.class);
+        for (FeedCategory category : FeedCategory.values()) {
+            result.put(category, new ConcurrentHashMap<>());
+        }
+        return result;
+    }
+
+    private long toHour(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() / HOUR_MILLIS;
+    }
+
+    /**
+     * 시간 칸 링 버퍼. hour % size 칸에 그 시간의 박수 수를 둔다.
+     * lastHour 보다 새로운 시간이 들어오면 그 사이 칸들을 비우고 앞으로 민다.
+     */
+    private static class Window {
+
+        private final long[] counts;
+        private long lastHour = Long.MIN_VALUE;
+
+        Window(int size) {
+            this.counts = new long[size];
+        }
+
+        synchronized void add(long hour, long delta) {
+            advance(hour);
+            if (lastHour - hour >= counts.length) return; // 기간 밖
+            counts[(int) Math.floorMod(hour, (long) counts.length)] += delta;
+        }
+
+        // 박수 취소 : 그 박수를 친 시간 칸에서 뺀다 (기간 밖이면 이미 빠졌다)
+        synchronized void remove(long hour, long nowHour) {
+            advance(nowHour);
+            if (hour > lastHour || lastHour - hour >= counts.length) return;
+            int slot = (int) Math.floorMod(hour, (long) counts.length);
+            if (counts[slot] > 0) counts[slot]--;
+        }
+
+        synchronized double score(long nowHour, double[] weights) {
+            double score = 0;
+            for (int age = 0; age < counts.length; age++) {
+                long hour = nowHour - age;
+                if (hour > lastHour) continue; // 아직 기록되지 않은 시간
+                if (lastHour - hour >= counts.length) break;
+                score += counts[(int) Math.floorMod(hour, (long) counts.length)] * weights[age];
+            }
+            return score;
+        }
+
+        synchronized boolean isIdle(long nowHour) {
+            advance(nowHour);
+            for (long count : counts) {
+                if (count > 0) return false;
+            }
+            return true;
+        }
+
+        private void advance(long hour) {
+            if (lastHour == Long.MIN_VALUE) {
+                lastHour = hour;
+                return;
+            }
+            if (hour <= lastHour) return;
+            long gap = Math.min(hour - lastHour, counts.length);
+            for (long h = hour - gap + 1; h <= hour; h++) {
+                counts[(int) Math.floorMod(h, (long) counts.length)] = 0;
+            }
+            lastHour = hour;
+        }
+    }
+
+    // 점수 낮은 것이 머리에 오는 힙용 (같으면 id 작은 것)
+    private static class Scored implements Comparable<Scored> {
+
+        private final long id;
+        private final double score;
+
+        Scored(long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Scored other) {
+            int c = Double.compare(score, other.score);
+            return c != 0 ? c : Long.compare(id, other.id);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.ssafy.sns.service;
+
+import com.ssafy.sns.dto.search.SearchUserDto;
+import com.ssafy.sns.event.FollowEvent;
+import com.ssafy.sns.event.SearchTextEvent;
+import com.ssafy.sns.repository.FollowRepository;
+import com.ssafy.sns.repository.UserRepositoryImpl;
+import com.ssafy.sns.util.AutocompleteTrie;
+import com.ssafy.sns.util.AutocompleteTrie.Entry;
+import com.ssafy.sns.util.UnicodeHandler;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * 전체 유저 닉네임 자동완성. 자모로 푼 닉네임을 키로, 팔로워 수를 사용 수로 AutocompleteTrie 에 넣는다.
+ * 점수 = ln(1 + 팔로워 수) + (내가 팔로우하면 autocomplete.user.follow-boost)
+ * 후보는 트라이의 팔로워 수 상위 size * 2 (+ 나) 명과 내 팔로잉 중 접두어가 맞는 사람이다.
+ * (팔로잉이 아닌 사람은 팔로워 수 순서가 곧 점수 순서라 size * 2 명이면 상위 size 명이 빠지지 않는다)
+ * 가입 / 닉네임 변경 / 탈퇴는 SearchTextEvent, 팔로워 수는 FollowEvent 로 커밋 이후 반영한다.
+ * 새로 만드는 동안 이벤트로 바뀐 유저는 바꿔 끼운 뒤 DB 에서 다시 읽어 맞춘다.
+ * 내 팔로잉 목록은 키 입력마다 읽지 않도록 최근 유저 autocomplete.user.follow-cache-size 명 것만 들고 FollowEvent 로 고친다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserAutocomplete {
+
+    public static final Logger logger = LoggerFactory.getLogger(UserAutocomplete.class);
+
+    private final UserRepositoryImpl userRepositoryImpl;
+    private final FollowRepository followRepository;
+    private final UnicodeHandler unicodeHandler;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${autocomplete.size:5}")
+    private int size;
+
+    @Value("${autocomplete.user.follow-boost:3.0}")
+    private double followBoost;
+
+    @Value("${autocomplete.user.follow-cache-size:10000}")
+    private int followCacheSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Long> touched = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private Users users;
+
+    // 유저 id -> 팔로잉 id (접근 순서 LRU). 읽기와 FollowEvent 는 유저별 락으로 순서를 맞춘다
+    private Map<Long, Set<Long>> followCache;
+    private final Object[] followLocks = new Object[64];
+
+    @PostConstruct
+    public void init() {
+        followCache = Collections.synchronizedMap(new LinkedHashMap<Long, Set<Long>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Set<Long>> eldest) {
+                return size() > followCacheSize;
+            }
+        });
+        for (int i = 0; i < followLocks.length; i++) {
+            followLocks[i] = new Object();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${autocomplete.rebuild-interval:86400000}",
+            fixedDelayString = "${autocomplete.rebuild-interval:86400000}")
+    public void rebuild() {
+        rebuilding = true;
+        Users fresh = new Users(size * 2 + 1); // 나 자신이 낄 수 있으므로 +1
+        // 스트림은 트랜잭션 안에서 읽고, 다시 읽기는 그 스냅샷 밖에서 한다
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = userRepositoryImpl.streamNicknameFollowers()) {
+                    rows.forEach(row -> fresh.put(new Entry((Long) row[0], (String) row[1], ((Long) row[2]).intValue())));
+                }
+            });
+        } catch (Exception e) {
+            logger.warn("닉네임 자동완성 구성 실패 : {}", e.getMessage());
+            rebuilding = false;
+            touched.clear();
+            return;
+        }
+
+        List<Long> changed;
+        lock.writeLock().lock();
+        try {
+            users = fresh;
+            rebuilding = false;
+            changed = new ArrayList<>(touched);
+            touched.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // 구성 중에 바뀐 유저는 커밋된 값으로 다시 맞춘다 (없으면 탈퇴)
+        if (!changed.isEmpty()) {
+            List<Object[]> rows = userRepositoryImpl.findNicknameFollowers(changed);
+            lock.writeLock().lock();
+            try {
+                Set<Long> found = new HashSet<>();
+                for (Object[] row : rows) {
+                    found.add((Long) row[0]);
+                    users.remove((Long) row[0]);
+                    users.put(new Entry((Long) row[0], (String) row[1], ((Long) row[2]).intValue()));
+                }
+                for (Long id : changed) {
+                    if (!found.contains(id)) users.remove(id);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        logger.info("닉네임 자동완성 구성 : {} (다시 읽음 {})", fresh.entries.size(), changed.size());
+    }
+
+    public List<SearchUserDto> complete(Long viewerId, String text) {
+        String key = unicodeHandler.splitHangeulToConsonant(text.trim().toLowerCase(Locale.ROOT));
+        if (key.isEmpty()) return new ArrayList<>();
+        Set<Long> followings = followingsOf(viewerId);
+
+        List<Object[]> scored = new ArrayList<>(); // [점수, 닉네임]
+        lock.readLock().lock();
+        try {
+            if (users == null) return new ArrayList<>();
+            Set<Long> seen = new HashSet<>();
+            for (Entry entry : users.trie.top(key)) {
+                seen.add(entry.getId());
+                if (entry.getId() != viewerId) scored.add(score(entry, followings.contains(entry.getId())));
+            }
+            for (Long followingId : followings) {
+                Entry entry = users.entries.get(followingId);
+                if (entry != null && !seen.contains(followingId) && users.keys.get(followingId).startsWith(key)) {
+                    scored.add(score(entry, true));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        scored.sort(Comparator.comparingDouble((Object[] e) -> -(double) e[0]).thenComparing(e -> (String) e[1]));
+        List<SearchUserDto> result = new ArrayList<>();
+        for (int i = 0; i < scored.size() && i < size; i++) {
+            result.add(new SearchUserDto((String) scored.get(i)[1]));
+        }
+        return result;
+    }
+
+    // 가입, 닉네임 변경, 탈퇴
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUser(SearchTextEvent event) {
+        if (event.getTarget() != SearchTextEvent.Target.USER) return;
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) touched.add(event.getId());
+            if (users == null) return;
+            Entry old = users.remove(event.getId());
+            if (event.getText() != null) {
+                users.put(new Entry(event.getId(), event.getText(), old == null ? 0 : old.getCount()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFollow(FollowEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) touched.add(event.getToUserId());
+            if (users != null) users.addFollowers(event.getToUserId(), event.isFollow() ? 1 : -1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        synchronized (followLock(event.getFromUserId())) {
+            Set<Long> cached = followCache.get(event.getFromUserId());
+            if (cached == null) return;
+            if (event.isFollow()) cached.add(event.getToUserId());
+            else cached.remove(event.getToUserId());
+        }
+    }
+
+    /**
+     * 캐시에 없으면 DB 에서 읽어 넣는다. 같은 유저의 FollowEvent 와 같은 락을 잡으므로
+     * 읽기 전에 커밋된 변경은 읽은 목록에, 읽은 뒤의 변경은 이벤트로 들어간다. (추가 / 삭제라 두 번 반영돼도 같다)
+     */
+    private Set<Long> followingsOf(Long viewerId) {
+        synchronized (followLock(viewerId)) {
+            Set<Long> cached = followCache.get(viewerId);
+            if (cached == null) {
+                cached = ConcurrentHashMap.newKeySet();
+                cached.addAll(followRepository.findToUserIdsByFromUserId(viewerId));
+                followCache.put(viewerId, cached);
+            }
+            return cached;
+        }
+    }
+
+    private Object followLock(Long userId) {
+        return followLocks[(int) Math.floorMod(userId, (long) followLocks.length)];
+    }
+
+    private Object[] score(Entry entry, boolean following) {
+        return new Object[]{Math.log1p(entry.getCount()) + (following ? followBoost : 0), entry.getName()};
+    }
+
+    private class Users {
+
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private final Map<Long, String> keys = new HashMap<>();
+        private final AutocompleteTrie trie;
+
+        Users(int candidates) {
+            trie = new AutocompleteTrie(candidates, false);
+        }
+
+        void put(Entry entry) {
+            String key = unicodeHandler.splitHangeulToConsonant(entry.getName().toLowerCase(Locale.ROOT));
+            entries.put(entry.getId(), entry);
+            keys.put(entry.getId(), key);
+            trie.add(key, entry);
+        }
+
+        Entry remove(Long id) {
+            Entry entry = entries.remove(id);
+            if (entry != null) trie.remove(keys.remove(id), entry);
+            return entry;
+        }
+
+        void addFollowers(Long id, int delta) {
+            Entry entry = entries.get(id);
+            if (entry == null) return;
+            entry.addCount(delta);
+            trie.update(keys.get(id));
+        }
+    }
+}
@@ -7,10 +7,12 @@ import com.ssafy.sns.dto.mypage.ProfileRequestDto;
 import com.ssafy.sns.dto.mypage.UserProfileDto;
 import com.ssafy.sns.dto.user.KakaoRequestDto;
 import com.ssafy.sns.dto.user.UserGroupsDto;
+import com.ssafy.sns.event.SearchTextEvent;
 import com.ssafy.sns.repository.GroupMemberRepository;
 import com.ssafy.sns.repository.UserRepository;
 import com.ssafy.sns.util.UnicodeHandler;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -30,6 +32,7 @@ public class UserServiceImpl implements UserService {
     private final UnicodeHandler unicodeHandler;
     private final FollowServiceImpl followService;
     private final GroupMemberRepository groupMemberRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public User findUserById(Long id) {
         Optional<User> user = userRepository.findById(id);
@@ -82,6 +85,7 @@ public class UserServiceImpl implements UserService {
         if (dto.getNickname() != null) {
             user.setNickname(dto.getNickname());
             user.setNicknameSplit(unicodeHandler.splitHangeulToConsonant(dto.getNickname()));
+            eventPublisher.publishEvent(new SearchTextEvent(SearchTextEvent.Target.USER, id, dto.getNickname()));
         }
 
         // file 업로드는 exception 날 수 있다.
@@ -98,6 +102,7 @@ public class UserServiceImpl implements UserService {
             return;
         }
         userRepository.delete(user);
+        eventPublisher.publishEvent(new SearchTextEvent(SearchTextEvent.Target.USER, id, null));
     }
 
     public boolean isDuplicate(String username) {
@@ -119,7 +124,9 @@ public class UserServiceImpl implements UserService {
         }
         user.setIntroduce("");
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new SearchTextEvent(SearchTextEvent.Target.USER, saved.getId(), saved.getNickname()));
+        return saved;
     }
 
     public List<UserProfileDto> findAllUser() {
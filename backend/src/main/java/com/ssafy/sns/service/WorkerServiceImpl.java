@@ -3,11 +3,17 @@ package com.ssafy.sns.service;
 import com.ssafy.sns.domain.hashtag.FeedHashtag;
 import com.ssafy.sns.domain.hashtag.Hashtag;
 import com.ssafy.sns.domain.newsfeed.Feed;
+import com.ssafy.sns.domain.newsfeed.FeedCategory;
 import com.ssafy.sns.domain.newsfeed.Worker;
 import com.ssafy.sns.domain.user.User;
 import com.ssafy.sns.dto.newsfeed.*;
 import com.ssafy.sns.repository.*;
+import com.ssafy.sns.util.FeedCursor;
+import com.ssafy.sns.event.FeedDeletedEvent;
+import com.ssafy.sns.event.FeedContentEvent;
+import com.ssafy.sns.event.FeedWrittenEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -25,53 +31,84 @@ public class WorkerServiceImpl implements FeedService {
 
     private final FeedRepositoryImpl feedRepository;
     private final HashtagRepositoryImpl hashtagRepository;
-    private final FeedClapRepositoryImpl feedClapRepository;
-    private final CommentRepositoryImpl commentRepository;
     private final UserRepository userRepository;
     private final S3Service s3Service;
     private final FileServiceImpl fileService;
-    private final FollowServiceImpl followService;
+    private final FeedCardAssembler feedCardAssembler;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public FeedListResponseDto findMyList(Long userId, Long targetId, int num) {
-        User user = userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
         List<Feed> workerList = feedRepository.findMyList(targetId, num, Worker.class);
+        FeedCards cards = feedCardAssembler.assemble(userId, workerList);
         List<WorkerResponseDto> workerResponseDtoList = new ArrayList<>();
         for (Feed feed : workerList) {
             workerResponseDtoList.add(new WorkerResponseDto((Worker) feed,
-                    (int) commentRepository.findListById(feed).count(),
-                    feedClapRepository.findClapAll(feed).size(),
-                    feedClapRepository.findClap(user, feed).isPresent(),
-                    followService.isFollow(userId, feed)));
+                    cards.getCommentCnt(feed),
+                    cards.getLikeCnt(feed),
+                    cards.isClap(feed),
+                    cards.isFollow(feed)));
         }
         return new FeedListResponseDto<>(workerResponseDtoList, num + workerList.size());
     }
 
     @Override
     public FeedListResponseDto readList(Long userId, int num) {
-        User user = userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
         List<Feed> workerList = feedRepository.findList(num, Worker.class);
+        FeedCards cards = feedCardAssembler.assemble(userId, workerList);
         List<WorkerResponseDto> workerResponseDtoList = new ArrayList<>();
         for (Feed feed : workerList) {
             workerResponseDtoList.add(new WorkerResponseDto((Worker) feed,
-                    (int) commentRepository.findListById(feed).count(),
-                    feedClapRepository.findClapAll(feed).size(),
-                    feedClapRepository.findClap(user, feed).isPresent(),
-                    followService.isFollow(userId, feed)));
+                    cards.getCommentCnt(feed),
+                    cards.getLikeCnt(feed),
+                    cards.isClap(feed),
+                    cards.isFollow(feed)));
         }
         return new FeedListResponseDto<>(workerResponseDtoList, num + workerList.size());
     }
 
+    @Override
+    public FeedSliceResponseDto findMySlice(Long userId, Long targetId, String cursor) {
+        FeedCursor after = FeedCursor.decode(cursor);
+        return toSlice(userId, feedRepository.findMyListAfter(targetId, Worker.class,
+                after.getCreatedDate(), after.getId(), FeedCursor.PAGE_SIZE + 1));
+    }
+
+    @Override
+    public FeedSliceResponseDto readSlice(Long userId, String cursor) {
+        FeedCursor after = FeedCursor.decode(cursor);
+        return toSlice(userId, feedRepository.findListAfter(Worker.class,
+                after.getCreatedDate(), after.getId(), FeedCursor.PAGE_SIZE + 1));
+    }
+
+    // 한 개 더 읽어서 다음 페이지 여부 판단
+    private FeedSliceResponseDto toSlice(Long userId, List<Feed> workerList) {
+        boolean hasNext = workerList.size() > FeedCursor.PAGE_SIZE;
+        if (hasNext) workerList = workerList.subList(0, FeedCursor.PAGE_SIZE);
+
+        FeedCards cards = feedCardAssembler.assemble(userId, workerList);
+        List<WorkerResponseDto> workerResponseDtoList = new ArrayList<>();
+        for (Feed feed : workerList) {
+            workerResponseDtoList.add(new WorkerResponseDto((Worker) feed,
+                    cards.getCommentCnt(feed),
+                    cards.getLikeCnt(feed),
+                    cards.isClap(feed),
+                    cards.isFollow(feed)));
+        }
+        String nextCursor = workerList.isEmpty() ? null : FeedCursor.next(workerList.get(workerList.size() - 1));
+        return new FeedSliceResponseDto<>(workerResponseDtoList, nextCursor, hasNext);
+    }
+
     @Override
     public FeedResponseDto read(Long userId, Long feedId) {
-        User user = userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
         Feed feed = feedRepository.findById(feedId);
         if (!(feed instanceof Worker)) throw new NoSuchElementException();
+        FeedCards cards = feedCardAssembler.assemble(userId, feed);
         return new WorkerResponseDto((Worker) feed,
-                (int) commentRepository.findListById(feed).count(),
-                feedClapRepository.findClapAll(feed).size(),
-                feedClapRepository.findClap(user, feed).isPresent(),
-                followService.isFollow(userId, feed));
+                cards.getCommentCnt(feed),
+                cards.getLikeCnt(feed),
+                cards.isClap(feed),
+                cards.isFollow(feed));
     }
 
     @Override
@@ -104,6 +141,8 @@ public class WorkerServiceImpl implements FeedService {
             hashtag.addFeedHashtag(feedHashtag);
         }
 
+        eventPublisher.publishEvent(new FeedWrittenEvent(worker.getId(), userId, FeedCategory.WORKER));
+        eventPublisher.publishEvent(new FeedContentEvent(worker.getId(), worker.getContent(), worker.getCreatedDate()));
         return worker.getId();
     }
 
@@ -134,6 +173,7 @@ public class WorkerServiceImpl implements FeedService {
 
         user.deleteFeed(worker);
         feedRepository.remove(worker);
+        eventPublisher.publishEvent(new FeedDeletedEvent(feedId, userId, FeedCategory.WORKER));
     }
 
     @Override
@@ -148,6 +188,7 @@ public class WorkerServiceImpl implements FeedService {
 
         // 글 수정
         worker.update((WorkerRequestDto) feedRequestDto);
+        eventPublisher.publishEvent(new FeedContentEvent(worker.getId(), worker.getContent(), worker.getCreatedDate()));
 
         // 태그 찾고 삭제
         List<FeedHashtag> feedHashtags = hashtagRepository.findFeedHashTag(worker);
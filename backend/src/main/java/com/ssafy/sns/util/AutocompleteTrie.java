@@ -0,0 +1,179 @@
+package com.ssafy.sns.util;
+
+import java.util.*;
+
+/**
+ * 자동완성용 radix trie (간선에 문자열을 두는 압축 trie).
+ * 노드마다 그 아래(자신 포함) 항목 중 사용 수 상위 k 개를 미리 계산해 둔다.
+ * 그래서 조회는 접두어 길이만큼 내려가서 목록을 그대로 꺼내는 것으로 끝나고, 전체 항목 수와 상관이 없다.
+ * 사용 수가 바뀌면 그 키의 경로만 아래에서 위로 다시 계산한다. (자식들의 상위 k 개를 합쳐서)
+ * 동기화는 호출하는 쪽에서 한다.
+ */
+public class AutocompleteTrie {
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingInt((Entry e) -> -e.count)
+            .thenComparing(e -> e.name);
+
+    // 트라이에 들어가는 항목. 같은 Entry 를 여러 트라이에 넣고 count 를 같이 쓴다
+    public static class Entry {
+
+        private final long id;
+        private final String name;
+        private int count;
+
+        public Entry(long id, String name, int count) {
+            this.id = id;
+            this.name = name;
+            this.count = count;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void addCount(int delta) {
+            count = Math.max(0, count + delta);
+        }
+    }
+
+    private static class Node {
+
+        private String label;
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final List<Entry> entries = new ArrayList<>(1); // 키가 여기서 끝나는 항목
+        private List<Entry> top = Collections.emptyList();
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private final int k;
+    private final boolean skipZero;
+    private final Node root = new Node("");
+
+    public AutocompleteTrie(int k) {
+        this(k, true);
+    }
+
+    // skipZero : 사용 수가 0 인 항목은 목록에 넣지 않는다
+    public AutocompleteTrie(int k, boolean skipZero) {
+        this.k = k;
+        this.skipZero = skipZero;
+    }
+
+    public void add(String key, Entry entry) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i));
+                node.children.put(key.charAt(i), child);
+                path.add(child);
+                node = child;
+                break;
+            }
+
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                // 간선을 나눈다 : node -(앞부분)- mid -(뒷부분)- child
+                Node mid = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                mid.children.put(child.label.charAt(0), child);
+                mid.top = child.top;
+                node.children.put(mid.label.charAt(0), mid);
+                child = mid;
+            }
+            node = child;
+            path.add(node);
+            i += common;
+        }
+        if (!node.entries.contains(entry)) node.entries.add(entry);
+        refresh(path);
+    }
+
+    public void remove(String key, Entry entry) {
+        List<Node> path = find(key);
+        if (path == null) return;
+        Node node = path.get(path.size() - 1);
+        node.entries.remove(entry);
+
+        // 비어 버린 끝 노드는 떼어낸다
+        if (node.entries.isEmpty() && node.children.isEmpty() && path.size() > 1) {
+            path.get(path.size() - 2).children.remove(node.label.charAt(0));
+            path.remove(path.size() - 1);
+        }
+        refresh(path);
+    }
+
+    // entry 의 count 가 바뀐 뒤 호출
+    public void update(String key) {
+        List<Node> path = find(key);
+        if (path != null) refresh(path);
+    }
+
+    // prefix 로 시작하는 키의 상위 k 개 (사용 수 많은 순, 같으면 이름 순)
+    public List<Entry> top(String prefix) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node child = node.children.get(prefix.charAt(i));
+            if (child == null) return Collections.emptyList();
+            int common = commonPrefix(child.label, prefix, i);
+            if (i + common == prefix.length()) return child.top; // 접두어가 간선 중간에서 끝남
+            if (common < child.label.length()) return Collections.emptyList();
+            node = child;
+            i += common;
+        }
+        return node.top;
+    }
+
+    private List<Node> find(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null || !key.startsWith(child.label, i)) return null;
+            node = child;
+            path.add(node);
+            i += child.label.length();
+        }
+        return path;
+    }
+
+    // 아래 노드부터 : 자기 항목 + 자식들의 상위 k 개 중 상위 k 개
+    private void refresh(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            List<Entry> candidates = new ArrayList<>(node.entries);
+            for (Node child : node.children.values()) {
+                candidates.addAll(child.top);
+            }
+            if (skipZero) candidates.removeIf(entry -> entry.count <= 0);
+            candidates.sort(ORDER);
+            node.top = candidates.isEmpty() ? Collections.emptyList()
+                    : new ArrayList<>(candidates.subList(0, Math.min(k, candidates.size())));
+        }
+    }
+
+    private static int commonPrefix(String label, String key, int from) {
+        int n = 0;
+        while (n < label.length() && from + n < key.length() && label.charAt(n) == key.charAt(from + n)) {
+            n++;
+        }
+        return n;
+    }
+}
@@ -0,0 +1,47 @@
+package com.ssafy.sns.util;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 같은 크기의 direct ByteBuffer 를 최대 maxBuffers 개까지만 만들어 돌려 쓴다.
+ * 다 빌려 갔으면 take 는 하나가 돌아올 때까지 timeout 만큼 기다리고, 그래도 없으면 null. (전체 메모리 = bufferSize * maxBuffers)
+ * 빌린 버퍼는 실패해도 반드시 release 해야 한다. 새로 만드는 수가 maxBuffers 로 막혀 있으므로 새면 다시 생기지 않는다.
+ */
+public class ByteBufferPool {
+
+    private final int bufferSize;
+    private final int maxBuffers;
+    private final AtomicInteger created = new AtomicInteger();
+    private final BlockingQueue<ByteBuffer> idle = new LinkedBlockingQueue<>();
+
+    public ByteBufferPool(int bufferSize, int maxBuffers) {
+        this.bufferSize = bufferSize;
+        this.maxBuffers = maxBuffers;
+    }
+
+    public ByteBuffer take(long timeout, TimeUnit unit) throws InterruptedException {
+        ByteBuffer buffer = idle.poll();
+        if (buffer != null) return buffer;
+
+        // 아직 다 만들지 않았으면 새로 만든다
+        int count = created.get();
+        while (count < maxBuffers) {
+            if (created.compareAndSet(count, count + 1)) return ByteBuffer.allocateDirect(bufferSize);
+            count = created.get();
+        }
+        return idle.poll(timeout, unit);
+    }
+
+    public void release(ByteBuffer buffer) {
+        buffer.clear();
+        idle.offer(buffer);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+}
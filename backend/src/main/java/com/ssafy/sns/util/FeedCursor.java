@@ -0,0 +1,57 @@
+package com.ssafy.sns.util;
+
+import com.ssafy.sns.domain.comment.Comment;
+import com.ssafy.sns.domain.newsfeed.Feed;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 목록 스크롤용 커서 (작성시간, id).
+ * 클라이언트에는 base64 문자열로만 내려주고, 다음 요청에서 그대로 받는다.
+ * 작성시간이 같은 글은 id 로 순서를 정하기 때문에 새 글이 올라와도 중복, 누락이 없다.
+ */
+@Getter
+public class FeedCursor {
+
+    // 한 번에 내려주는 개수
+    public static final int PAGE_SIZE = 10;
+
+    // 첫 페이지 : 모든 글보다 뒤
+    public static final FeedCursor FIRST = new FeedCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private final LocalDateTime createdDate;
+    private final Long id;
+
+    public FeedCursor(LocalDateTime createdDate, Long id) {
+        this.createdDate = createdDate;
+        this.id = id;
+    }
+
+    public static FeedCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) return FIRST;
+
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            return new FeedCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서 : " + cursor);
+        }
+    }
+
+    // 마지막으로 내려준 글 다음부터
+    public static String next(Feed feed) {
+        return encode(feed.getCreatedDate(), feed.getId());
+    }
+
+    public static String next(Comment comment) {
+        return encode(comment.getCreatedDate(), comment.getId());
+    }
+
+    public static String encode(LocalDateTime createdDate, Long id) {
+        String raw = createdDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
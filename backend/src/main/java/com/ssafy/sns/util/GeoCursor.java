@@ -0,0 +1,31 @@
+package com.ssafy.sns.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 거리순 목록용 커서 (거리, 작성시간, id). FeedCursor 처럼 base64 문자열로만 주고받는다.
+ * 거리는 같은 위치로 다시 계산하면 똑같이 나오므로 그대로 비교한다.
+ */
+public class GeoCursor {
+
+    private GeoCursor() {
+    }
+
+    // 첫 페이지는 null
+    public static GeoGridIndex.Hit decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) return null;
+
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            return new GeoGridIndex.Hit(Long.parseLong(parts[2]), Double.parseDouble(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서 : " + cursor);
+        }
+    }
+
+    public static String next(GeoGridIndex.Hit hit) {
+        String raw = hit.getDistance() + "|" + hit.getCreated() + "|" + hit.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,191 @@
+package com.ssafy.sns.util;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 위치 검색용 격자 색인. 위도 / 경도를 cellDeg 도 크기의 칸으로 나누고, 칸마다 글 id, 좌표, 작성시간을 기본형 배열로 둔다.
+ * 반경 검색은 반경을 덮는 칸들만 보고 실제 거리(haversine)로 거른다. 그래서 비용은 반경 안(근처 칸)의 글 수에만 비례한다.
+ * 결과는 가까운 순, 같으면 최신 글 (작성시간, id 내림차순).
+ */
+public class GeoGridIndex {
+
+    private static final double EARTH_RADIUS = 6_371_000d; // m
+    private static final Comparator<Hit> ORDER = Comparator.comparingDouble((Hit h) -> h.distance)
+            .thenComparingLong(h -> -h.created)
+            .thenComparingLong(h -> -h.id);
+
+    // 검색 결과 한 건 (다음 페이지 커서로도 쓴다)
+    public static class Hit {
+
+        private final long id;
+        private final double distance; // m
+        private final long created;    // epoch millis
+
+        public Hit(long id, double distance, long created) {
+            this.id = id;
+            this.distance = distance;
+            this.created = created;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public double getDistance() {
+            return distance;
+        }
+
+        public long getCreated() {
+            return created;
+        }
+    }
+
+    private final double cellDeg;
+    private final int rows;
+    private final int cols;
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final Map<Long, Long> cellOf = new HashMap<>(); // 글 id -> 칸
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public GeoGridIndex(double cellDeg) {
+        this.cellDeg = cellDeg;
+        this.rows = (int) Math.ceil(180 / cellDeg);
+        this.cols = (int) Math.ceil(360 / cellDeg);
+    }
+
+    public void put(long id, double lat, double lng, long created) {
+        long key = cellKey(row(lat), col(lng));
+        lock.writeLock().lock();
+        try {
+            Long old = cellOf.put(id, key);
+            if (old != null) removeFromCell(old, id);
+            cells.computeIfAbsent(key, k -> new Cell()).add(id, lat, lng, created);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Long key = cellOf.remove(id);
+            if (key != null) removeFromCell(key, id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return cellOf.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // (lat, lng) 에서 radius m 안의 글 중 after 다음 limit 개 (after 가 null 이면 처음부터)
+    public List<Hit> nearby(double lat, double lng, double radius, Hit after, int limit) {
+        double dLat = Math.toDegrees(radius / EARTH_RADIUS);
+        int rowFrom = row(Math.max(-90, lat - dLat));
+        int rowTo = row(Math.min(90, lat + dLat));
+
+        // 극 근처는 경도 폭이 커지므로 한 바퀴 전체
+        double cos = Math.cos(Math.toRadians(Math.min(90, Math.abs(lat) + dLat)));
+        int colSpan = cos <= 1e-9 ? cols : (int) Math.ceil(dLat / cos / cellDeg) + 1;
+        int center = col(lng);
+        int colFrom = colSpan * 2 + 1 >= cols ? 0 : center - colSpan;
+        int colTo = colSpan * 2 + 1 >= cols ? cols - 1 : center + colSpan;
+
+        // 뒤에서부터 빼기 위해 가장 나쁜 것이 머리에 오는 힙
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, ORDER.reversed());
+        lock.readLock().lock();
+        try {
+            for (int r = rowFrom; r <= rowTo; r++) {
+                for (int c = colFrom; c <= colTo; c++) {
+                    Cell cell = cells.get(cellKey(r, Math.floorMod(c, cols)));
+                    if (cell == null) continue;
+                    for (int i = 0; i < cell.size; i++) {
+                        double distance = distance(lat, lng, cell.lats[i], cell.lngs[i]);
+                        if (distance > radius) continue;
+                        Hit hit = new Hit(cell.ids[i], distance, cell.created[i]);
+                        if (after != null && ORDER.compare(hit, after) <= 0) continue;
+                        best.add(hit);
+                        if (best.size() > limit) best.poll();
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> result = new ArrayList<>(best);
+        result.sort(ORDER);
+        return result;
+    }
+
+    public static double distance(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private int row(double lat) {
+        return Math.min(rows - 1, Math.max(0, (int) Math.floor((lat + 90) / cellDeg)));
+    }
+
+    private int col(double lng) {
+        return Math.floorMod((int) Math.floor((lng + 180) / cellDeg), cols);
+    }
+
+    private long cellKey(int row, int col) {
+        return (long) row * cols + col;
+    }
+
+    private void removeFromCell(long key, long id) {
+        Cell cell = cells.get(key);
+        if (cell != null && cell.remove(id)) cells.remove(key);
+    }
+
+    // 칸 하나. 지울 때는 마지막 것을 빈자리로 옮긴다 (순서 상관 없음)
+    private static class Cell {
+
+        private long[] ids = new long[4];
+        private double[] lats = new double[4];
+        private double[] lngs = new double[4];
+        private long[] created = new long[4];
+        private int size;
+
+        void add(long id, double lat, double lng, long createdAt) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                lats = Arrays.copyOf(lats, size * 2);
+                lngs = Arrays.copyOf(lngs, size * 2);
+                created = Arrays.copyOf(created, size * 2);
+            }
+            ids[size] = id;
+            lats[size] = lat;
+            lngs[size] = lng;
+            created[size] = createdAt;
+            size++;
+        }
+
+        // 비었으면 true
+        boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] != id) continue;
+                size--;
+                ids[i] = ids[size];
+                lats[i] = lats[size];
+                lngs[i] = lngs[size];
+                created[i] = created[size];
+                break;
+            }
+            return size == 0;
+        }
+    }
+}
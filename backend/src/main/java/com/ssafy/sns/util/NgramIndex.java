@@ -0,0 +1,174 @@
+package com.ssafy.sns.util;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 부분 문자열 검색용 n-gram 역색인. (LIKE '%keyword%' 대신)
+ * 문서(id, 문자열)마다 길이 1 ~ 3 인 조각을 모두 뽑아 조각 -> 정렬된 int id 배열로 둔다.
+ * - 3 글자 이하 검색어 : 검색어 자체가 조각이므로 목록 하나로 끝난다.
+ * - 더 긴 검색어 : 3-gram 목록들을 짧은 것부터 교집합한 뒤 원문에 실제로 들어 있는지 확인한다.
+ * 대소문자는 구분하지 않는다. (MySQL 기본 collation 의 LIKE 와 같게)
+ */
+public class NgramIndex {
+
+    private static final int MAX_GRAM = 3;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Integer, String> texts = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(long id, String text) {
+        int key = Math.toIntExact(id);
+        String normalized = normalize(text);
+        lock.writeLock().lock();
+        try {
+            String old = texts.put(key, normalized);
+            if (normalized.equals(old)) return;
+            if (old != null) {
+                for (String gram : grams(old)) {
+                    Postings list = postings.get(gram);
+                    if (list != null && list.remove(key)) postings.remove(gram);
+                }
+            }
+            for (String gram : grams(normalized)) {
+                postings.computeIfAbsent(gram, g -> new Postings()).add(key);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        int key = Math.toIntExact(id);
+        lock.writeLock().lock();
+        try {
+            String old = texts.remove(key);
+            if (old == null) return;
+            for (String gram : grams(old)) {
+                Postings list = postings.get(gram);
+                if (list != null && list.remove(key)) postings.remove(gram);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // keyword 를 포함하는 id (작은 것부터 최대 limit 개)
+    public List<Long> search(String keyword, int limit) {
+        String normalized = normalize(keyword);
+        if (normalized.isEmpty()) return Collections.emptyList();
+
+        lock.readLock().lock();
+        try {
+            if (normalized.length() <= MAX_GRAM) {
+                Postings list = postings.get(normalized);
+                return list == null ? Collections.emptyList() : list.head(limit);
+            }
+
+            List<Postings> lists = new ArrayList<>();
+            for (String gram : grams(normalized, MAX_GRAM)) {
+                Postings list = postings.get(gram);
+                if (list == null) return Collections.emptyList();
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+
+            int[] candidates = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+            int count = candidates.length;
+            for (int i = 1; i < lists.size() && count > 0; i++) {
+                count = lists.get(i).retain(candidates, count);
+            }
+
+            List<Long> result = new ArrayList<>(Math.min(count, limit));
+            for (int i = 0; i < count && result.size() < limit; i++) {
+                if (texts.get(candidates[i]).contains(normalized)) result.add((long) candidates[i]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return texts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> result = new HashSet<>();
+        for (int n = 1; n <= MAX_GRAM; n++) {
+            result.addAll(grams(text, n));
+        }
+        return result;
+    }
+
+    private static Set<String> grams(String text, int n) {
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i + n <= text.length(); i++) {
+            result.add(text.substring(i, i + n));
+        }
+        return result;
+    }
+
+    // 정렬된 id 목록. id 는 대부분 증가하는 순서로 들어오므로 뒤에 붙이는 경우가 흔하다
+    private static class Postings {
+
+        private int[] ids = new int[2];
+        private int size;
+
+        void add(int id) {
+            int index = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0 && index < size) return; // 이미 있음
+            if (index < 0) index = -index - 1;
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        // 비었으면 true
+        boolean remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+                size--;
+                if (size > 0 && size * 4 < ids.length) ids = Arrays.copyOf(ids, size * 2);
+            }
+            return size == 0;
+        }
+
+        // candidates[0, count) 중 이 목록에 있는 것만 앞으로 모으고 개수를 돌려준다
+        int retain(int[] candidates, int count) {
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < count; i++) {
+                int index = Arrays.binarySearch(ids, from, size, candidates[i]);
+                if (index >= 0) {
+                    candidates[kept++] = candidates[i];
+                    from = index + 1;
+                } else {
+                    from = -index - 1;
+                }
+            }
+            return kept;
+        }
+
+        List<Long> head(int limit) {
+            List<Long> result = new ArrayList<>(Math.min(size, limit));
+            for (int i = 0; i < size && i < limit; i++) {
+                result.add((long) ids[i]);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.ssafy.sns.util;
+
+import java.util.*;
+
+/**
+ * 지도 핀 묶음(클러스터)용 다단계 격자. 지도 타일(Web Mercator, 줌 z 에서 2^z x 2^z 칸)과 같은 방식으로 나눈다.
+ * 글 하나는 줌 0 ~ maxZoom 각 단계에서 자기가 속한 칸 하나씩에 더해진다.
+ * 칸마다 글 수, 좌표 합(평균 위치용), 박수가 가장 많은 글을 들고 있다.
+ * 대표 글은 가장 아래 칸은 속한 글에서, 위 칸은 자식 4 칸의 대표 글에서 다시 고른다. 그래서 바뀐 글의 경로만 다시 계산하면 된다.
+ * 조회는 화면에 걸친 칸 수에만 비례하고 전체 글 수와는 상관이 없다. 동기화는 호출하는 쪽에서 한다.
+ */
+public class TileClusterIndex {
+
+    private static final double MAX_LAT = 85.05112878; // Web Mercator 범위
+
+    // 조회 결과 칸 하나
+    public static class Cluster {
+
+        private final double lat;
+        private final double lng;
+        private final int count;
+        private final long topId;
+        private final int topClap;
+
+        Cluster(double lat, double lng, int count, long topId, int topClap) {
+            this.lat = lat;
+            this.lng = lng;
+            this.count = count;
+            this.topId = topId;
+            this.topClap = topClap;
+        }
+
+        public double getLat() {
+            return lat;
+        }
+
+        public double getLng() {
+            return lng;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getTopId() {
+            return topId;
+        }
+
+        public int getTopClap() {
+            return topClap;
+        }
+    }
+
+    private static class Member {
+
+        private final long id;
+        private final double lat;
+        private final double lng;
+        private final int x; // 가장 아래 단계의 칸
+        private final int y;
+        private int clap;
+
+        Member(long id, double lat, double lng, int x, int y, int clap) {
+            this.id = id;
+            this.lat = lat;
+            this.lng = lng;
+            this.x = x;
+            this.y = y;
+            this.clap = clap;
+        }
+    }
+
+    private static class Cell {
+
+        private int count;
+        private double sumLat;
+        private double sumLng;
+        private long topId;
+        private int topClap;
+        private List<Member> members; // 가장 아래 단계만
+    }
+
+    private final int maxZoom;
+    private final List<Map<Long, Cell>> levels = new ArrayList<>();
+    private final Map<Long, Member> members = new HashMap<>();
+
+    public TileClusterIndex(int maxZoom) {
+        this.maxZoom = maxZoom;
+        for (int z = 0; z <= maxZoom; z++) {
+            levels.add(new HashMap<>());
+        }
+    }
+
+    public int getMaxZoom() {
+        return maxZoom;
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    public void put(long id, double lat, double lng, int clap) {
+        remove(id);
+        Member member = new Member(id, lat, lng, tileX(lng, maxZoom), tileY(lat, maxZoom), clap);
+        members.put(id, member);
+        for (int z = maxZoom; z >= 0; z--) {
+            int shift = maxZoom - z;
+            Cell cell = levels.get(z).computeIfAbsent(key(member.x >> shift, member.y >> shift), k -> new Cell());
+            cell.count++;
+            cell.sumLat += lat;
+            cell.sumLng += lng;
+            if (z == maxZoom) {
+                if (cell.members == null) cell.members = new ArrayList<>(2);
+                cell.members.add(member);
+            }
+        }
+        refresh(member);
+    }
+
+    public void remove(long id) {
+        Member member = members.remove(id);
+        if (member == null) return;
+        for (int z = maxZoom; z >= 0; z--) {
+            int shift = maxZoom - z;
+            long key = key(member.x >> shift, member.y >> shift);
+            Cell cell = levels.get(z).get(key);
+            cell.count--;
+            cell.sumLat -= member.lat;
+            cell.sumLng -= member.lng;
+            if (z == maxZoom) cell.members.remove(member);
+            if (cell.count == 0) levels.get(z).remove(key);
+        }
+        refresh(member);
+    }
+
+    public void addClap(long id, int delta) {
+        Member member = members.get(id);
+        if (member == null) return;
+        member.clap = Math.max(0, member.clap + delta);
+        refresh(member);
+    }
+
+    // 화면 (south, west) ~ (north, east) 에 걸친 zoom 단계 칸들. 칸이 maxCells 보다 많으면 IllegalArgumentException
+    public List<Cluster> clusters(double south, double west, double north, double east, int zoom, int maxCells) {
+        int z = Math.max(0, Math.min(maxZoom, zoom));
+        int n = 1 << z;
+        int yFrom = tileY(north, z);
+        int yTo = tileY(south, z);
+        int xFrom = tileX(west, z);
+        int xTo = tileX(east, z);
+        int width = xFrom <= xTo ? xTo - xFrom + 1 : n - xFrom + xTo + 1; // 날짜 변경선을 걸치면 두 번에 나눠서
+        if ((long) width * (yTo - yFrom + 1) > maxCells) {
+            throw new IllegalArgumentException("화면이 너무 넓음 : " + width + " x " + (yTo - yFrom + 1));
+        }
+
+        List<Cluster> result = new ArrayList<>();
+        Map<Long, Cell> level = levels.get(z);
+        for (int i = 0; i < width; i++) {
+            int x = (xFrom + i) % n;
+            for (int y = yFrom; y <= yTo; y++) {
+                Cell cell = level.get(key(x, y));
+                if (cell == null) continue;
+                result.add(new Cluster(cell.sumLat / cell.count, cell.sumLng / cell.count,
+                        cell.count, cell.topId, cell.topClap));
+            }
+        }
+        return result;
+    }
+
+    // member 가 속한 칸들의 대표 글을 아래에서부터 다시 고른다
+    private void refresh(Member member) {
+        for (int z = maxZoom; z >= 0; z--) {
+            int shift = maxZoom - z;
+            int x = member.x >> shift;
+            int y = member.y >> shift;
+            Cell cell = levels.get(z).get(key(x, y));
+            if (cell == null) continue;
+
+            cell.topId = -1;
+            cell.topClap = -1;
+            if (z == maxZoom) {
+                for (Member m : cell.members) {
+                    pick(cell, m.id, m.clap);
+                }
+            } else {
+                Map<Long, Cell> below = levels.get(z + 1);
+                for (int dx = 0; dx < 2; dx++) {
+                    for (int dy = 0; dy < 2; dy++) {
+                        Cell child = below.get(key(x * 2 + dx, y * 2 + dy));
+                        if (child != null) pick(cell, child.topId, child.topClap);
+                    }
+                }
+            }
+        }
+    }
+
+    // 박수 많은 글, 같으면 최신 글 (id 큰 것)
+    private static void pick(Cell cell, long id, int clap) {
+        if (clap > cell.topClap || (clap == cell.topClap && id > cell.topId)) {
+            cell.topId = id;
+            cell.topClap = clap;
+        }
+    }
+
+    private static int tileX(double lng, int z) {
+        int n = 1 << z;
+        int x = (int) Math.floor((lng + 180) / 360 * n);
+        return Math.floorMod(x, n);
+    }
+
+    private static int tileY(double lat, int z) {
+        int n = 1 << z;
+        double rad = Math.toRadians(Math.max(-MAX_LAT, Math.min(MAX_LAT, lat)));
+        int y = (int) Math.floor((1 - Math.log(Math.tan(rad) + 1 / Math.cos(rad)) / Math.PI) / 2 * n);
+        return Math.max(0, Math.min(n - 1, y));
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+}
@@ -31,4 +31,28 @@ public class UnicodeHandler {
 
         return result.toString();
     }
+
+    // 초성만 뽑기 (한글 음절이 아닌 글자는 그대로)
+    public String extractChosung(String text) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char uniVal = text.charAt(i);
+            if (uniVal >= 0xAC00 && uniVal <= 0xD7A3) {
+                result.append(CHO[(uniVal - 0xAC00) / 28 / 21]);
+            } else {
+                result.append(uniVal);
+            }
+        }
+        return result.toString();
+    }
+
+    // ㄱ ~ ㅎ 자음만으로 된 글자인지 ("ㅅㅍ" 같은 초성 검색어)
+    public boolean isChosungOnly(String text) {
+        if (text.isEmpty()) return false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x3131 || c > 0x314E) return false;
+        }
+        return true;
+    }
 }